@@ -4,22 +4,60 @@
 package com.avispl.symphony.dal.infrastructure.management.qsc.qsysreflect;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
+import java.util.EnumMap;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
+import org.apache.http.HttpHost;
+import org.apache.http.auth.AuthScheme;
+import org.apache.http.auth.AuthScope;
+import org.apache.http.auth.Credentials;
+import org.apache.http.auth.NTCredentials;
+import org.apache.http.auth.UsernamePasswordCredentials;
+import org.apache.http.client.AuthCache;
+import org.apache.http.client.CredentialsProvider;
+import org.apache.http.impl.auth.BasicScheme;
+import org.apache.http.impl.auth.DigestScheme;
+import org.apache.http.impl.auth.NTLMScheme;
+import org.apache.http.impl.client.BasicAuthCache;
+import org.apache.http.impl.client.BasicCredentialsProvider;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.xml.Jaxb2RootElementHttpMessageConverter;
+import org.springframework.http.converter.xml.MappingJackson2XmlHttpMessageConverter;
+import org.springframework.web.client.RestTemplate;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -34,9 +72,28 @@ import com.avispl.symphony.dal.aggregator.parser.AggregatedDeviceProcessor;
 import com.avispl.symphony.dal.aggregator.parser.PropertiesMapping;
 import com.avispl.symphony.dal.aggregator.parser.PropertiesMappingParser;
 import com.avispl.symphony.dal.communicator.RestCommunicator;
+import com.avispl.symphony.dal.infrastructure.management.qsc.qsysreflect.dto.CycleRecord;
+import com.avispl.symphony.dal.infrastructure.management.qsc.qsysreflect.dto.DeviceDelta;
+import com.avispl.symphony.dal.infrastructure.management.qsc.qsysreflect.dto.StatusTransition;
 import com.avispl.symphony.dal.infrastructure.management.qsc.qsysreflect.dto.SystemResponse;
+import com.avispl.symphony.dal.infrastructure.management.qsc.qsysreflect.utils.CircuitBreaker;
+import com.avispl.symphony.dal.infrastructure.management.qsc.qsysreflect.utils.CollectionStage;
+import com.avispl.symphony.dal.infrastructure.management.qsc.qsysreflect.utils.CollectionWorkQueue;
+import com.avispl.symphony.dal.infrastructure.management.qsc.qsysreflect.utils.CycleStatistics;
+import com.avispl.symphony.dal.infrastructure.management.qsc.qsysreflect.utils.DeviceChangeJournal;
+import com.avispl.symphony.dal.infrastructure.management.qsc.qsysreflect.utils.DeviceIndex;
+import com.avispl.symphony.dal.infrastructure.management.qsc.qsysreflect.utils.MappedDeviceCache;
+import com.avispl.symphony.dal.infrastructure.management.qsc.qsysreflect.utils.PooledHttpTransport;
+import com.avispl.symphony.dal.infrastructure.management.qsc.qsysreflect.utils.QSysReflectCollectorMetric;
 import com.avispl.symphony.dal.infrastructure.management.qsc.qsysreflect.utils.QSysReflectConstant;
+import com.avispl.symphony.dal.infrastructure.management.qsc.qsysreflect.utils.QSysReflectFleetMetric;
 import com.avispl.symphony.dal.infrastructure.management.qsc.qsysreflect.utils.QSysReflectSystemMetric;
+import com.avispl.symphony.dal.infrastructure.management.qsc.qsysreflect.utils.RequestCoalescer;
+import com.avispl.symphony.dal.infrastructure.management.qsc.qsysreflect.utils.RequestHedger;
+import com.avispl.symphony.dal.infrastructure.management.qsc.qsysreflect.utils.ResponseCache;
+import com.avispl.symphony.dal.infrastructure.management.qsc.qsysreflect.utils.StatusTransitionJournal;
+import com.avispl.symphony.dal.infrastructure.management.qsc.qsysreflect.utils.TimeSeries;
+import com.avispl.symphony.dal.infrastructure.management.qsc.qsysreflect.utils.UptimeCache;
 import com.avispl.symphony.dal.util.StringUtils;
 
 /**
@@ -93,77 +150,37 @@ public class QSysReflectCommunicator extends RestCommunicator implements Aggrega
 					logger.debug("Fetching Q-Sys core devices and system information list");
 				}
 				long currentTimestamp = System.currentTimeMillis();
-				retrieveInfo(currentTimestamp);
+				cycleDeadlineTimestamp = currentTimestamp + cycleDeadline;
+				cycleStatistics.startCycle();
+				boolean collected = retrieveInfo(currentTimestamp);
 				if (logger.isDebugEnabled()) {
 					logger.debug("Fetching other than Q-SYS Core device list");
 				}
-				if (!systemResponseList.isEmpty() && validDeviceMetaDataRetrievalPeriodTimestamp <= currentTimestamp) {
-					validDeviceMetaDataRetrievalPeriodTimestamp = currentTimestamp + deviceMetaDataRetrievalTimeout;
-					filterBySystemName();
-					List<SystemResponse> systemResponseFilter = systemResponseFilterList;
-					if (StringUtils.isNullOrEmpty(filterSystemName)) {
-						systemResponseFilter = systemResponseList;
-					}
-					for (SystemResponse systemResponse : systemResponseFilter) {
-						devicesExecutionPool.add(executorService.submit(() -> {
-							try {
-								populateDeviceDetails(systemResponse);
-							} catch (Exception e) {
-								logger.error(String.format("Exception during retrieve '%s' data processing.", systemResponse.getName()), e);
-							}
-						}));
-					}
-					do {
-						try {
-							TimeUnit.MILLISECONDS.sleep(500);
-						} catch (InterruptedException e) {
-							if (!inProgress) {
-								break;
-							}
-						}
-						devicesExecutionPool.removeIf(Future::isDone);
-					} while (!devicesExecutionPool.isEmpty());
-				}
+				collected |= retrieveSystemItems(currentTimestamp, this);
 				if (!inProgress) {
 					break mainloop;
 				}
-
-				int aggregatedDevicesCount = aggregatedDeviceList.size();
-				if (aggregatedDevicesCount == 0) {
+				if (!collected && !filtersChanged) {
 					continue mainloop;
 				}
+				filtersChanged = false;
 
-				nextDevicesCollectionIterationTimestamp = System.currentTimeMillis();
-				while (nextDevicesCollectionIterationTimestamp > System.currentTimeMillis()) {
-					try {
-						TimeUnit.MILLISECONDS.sleep(1000);
-					} catch (InterruptedException e) {
-						//
-					}
+				if (logger.isDebugEnabled()) {
+					logger.debug("Applying filter options");
 				}
-
-				if (!aggregatedDeviceList.isEmpty()) {
-					if (logger.isDebugEnabled()) {
-						logger.debug("Applying filter options");
-					}
-
-					if (StringUtils.isNullOrEmpty(filterSystemName) || !systemResponseFilterList.isEmpty()) {
-						getFilteredAggregatedDeviceList();
-					} else {
-						aggregatedDeviceList.clear();
-					}
-					if (logger.isDebugEnabled()) {
-						logger.debug("Aggregated devices after applying filter: " + aggregatedDeviceList);
-					}
+				long filteringStartNanos = System.nanoTime();
+				populateAggregatedDeviceList();
+				cycleStatistics.record(CollectionStage.FILTERING, filteringStartNanos);
+				if (logger.isDebugEnabled()) {
+					logger.debug("Aggregated devices after applying filter: " + aggregatedDeviceList);
 				}
-
-				// We don't want to fetch devices statuses too often, so by default it's currentTime + 30s
-				// otherwise - the variable is reset by the retrieveMultipleStatistics() call, which
-				// launches devices detailed statistics collection
-				nextDevicesCollectionIterationTimestamp = System.currentTimeMillis() + 30000;
+				recordPublishedDevices();
+				sampleTrends(currentTimestamp);
+				cycleStatistics.finishCycle(aggregatedDeviceList.size());
 
 				if (logger.isDebugEnabled()) {
 					logger.debug("Finished collecting devices statistics cycle at " + new Date());
+					logger.debug("Collection cycle timings: " + cycleStatistics.getHistory());
 				}
 			}
 			// Finished collecting
@@ -178,15 +195,15 @@ public class QSysReflectCommunicator extends RestCommunicator implements Aggrega
 	}
 
 	/**
-	 * Executor that runs all the async operations, that {@link #deviceDataLoader} is posting and
+	 * Bounded work queue that runs all the async operations, that {@link #deviceDataLoader} is posting and
 	 * {@link #devicesExecutionPool} is keeping track of
 	 */
-	private static ExecutorService executorService;
+	private volatile CollectionWorkQueue collectionWorkQueue;
 
 	/**
-	 * Pool for keeping all the async operations in, to track any operations in progress and cancel them if needed
+	 * Pool for keeping all the async operations in, by system id, to track any operations in progress and cancel them if needed
 	 */
-	private List<Future> devicesExecutionPool = new ArrayList<>();
+	private final Map<String, Future<?>> devicesExecutionPool = new ConcurrentHashMap<>();
 
 	/**
 	 * Update the status of the device.
@@ -201,7 +218,7 @@ public class QSysReflectCommunicator extends RestCommunicator implements Aggrega
 	 * Uptime time stamp to valid one
 	 */
 	private synchronized void updateValidRetrieveStatisticsTimestamp() {
-		validRetrieveStatisticsTimestamp = System.currentTimeMillis() + retrieveStatisticsTimeOut;
+		validRetrieveStatisticsTimestamp = System.currentTimeMillis() + idlePauseTimeout;
 		updateAggregatorStatus();
 	}
 
@@ -220,14 +237,15 @@ public class QSysReflectCommunicator extends RestCommunicator implements Aggrega
 	private volatile boolean devicePaused = true;
 
 	/**
-	 * Aggregator inactivity timeout. If the {@link QSysReflectCommunicator#retrieveMultipleStatistics()}  method is not
-	 * called during this period of time - device is considered to be paused, thus the Cloud API
+	 * Adapter Properties - (Optional) aggregator inactivity timeout. If the {@link QSysReflectCommunicator#retrieveMultipleStatistics()}
+	 * method is not called during this period of time - device is considered to be paused, thus the Cloud API
 	 * is not supposed to be called
 	 */
-	private static final long retrieveStatisticsTimeOut = 3 * 60 * 1000;
+	private long idlePauseTimeout = QSysReflectConstant.DEFAULT_IDLE_PAUSE_TIMEOUT;
 
 	/**
-	 * Device metadata retrieval timeout. The general devices list is retrieved once during this time period.
+	 * Device metadata retrieval timeout. The general devices list is retrieved once during this time period,
+	 * unless a dedicated interval is set for the /systems, /cores or /items endpoints.
 	 */
 	private long deviceMetaDataRetrievalTimeout = 60 * 1000 / 2;
 
@@ -239,47 +257,321 @@ public class QSysReflectCommunicator extends RestCommunicator implements Aggrega
 
 
 	/**
-	 * Time period within which the device metadata (basic devices information) cannot be refreshed.
-	 * Ignored if device list is not yet retrieved or the cached device list is empty {@link QSysReflectCommunicator#aggregatedDeviceList}
+	 * Adapter Properties - (Optional) refresh interval of the /systems summary, in ms.
+	 * {@link #deviceMetaDataRetrievalTimeout} is used when not set.
+	 */
+	private long systemsRetrievalInterval;
+
+	/**
+	 * Adapter Properties - (Optional) refresh interval of the /cores list, in ms.
+	 * {@link #deviceMetaDataRetrievalTimeout} is used when not set.
+	 */
+	private long coresRetrievalInterval;
+
+	/**
+	 * Adapter Properties - (Optional) refresh interval of the /systems/{id}/items list of every system, in ms.
+	 * {@link #deviceMetaDataRetrievalTimeout} is used when not set.
+	 */
+	private long itemsRetrievalInterval;
+
+	/**
+	 * Adapter Properties - (Optional) when enabled, items are refreshed every {@link #itemsRetrievalInterval} only for systems
+	 * that own devices requested through {@link #retrieveMultipleStatistics(List)}, other systems are refreshed every
+	 * {@link #backgroundRetrievalInterval}
+	 */
+	private boolean demandMode;
+
+	/**
+	 * Adapter Properties - (Optional) refresh interval of the items of systems without demanded devices, in ms.
+	 * Only used in {@link #demandMode}, 10 minutes when not set.
+	 */
+	private long backgroundRetrievalInterval;
+
+	/**
+	 * Map of device id and timestamp of the last {@link #retrieveMultipleStatistics(List)} call that requested the device.
+	 * A device is considered demanded during {@link #idlePauseTimeout} after the last request.
+	 */
+	private final Map<String, Long> deviceDemandTimestamps = new ConcurrentHashMap<>();
+
+	/**
+	 * Map of device id and id of the system that owns the device
+	 */
+	private final Map<String, String> deviceSystemMap = new ConcurrentHashMap<>();
+
+	/**
+	 * Adapter Properties - (Optional) index of the shard of systems collected by this adapter, from 0 to {@link #shardCount} - 1
+	 */
+	private int shardIndex;
+
+	/**
+	 * Adapter Properties - (Optional) number of adapters the systems of the account are partitioned between, 1 to disable sharding
+	 */
+	private int shardCount = 1;
+
+	/**
+	 * Timestamp of the next /systems retrieval
+	 */
+	private volatile long nextSystemsRetrievalTimestamp;
+
+	/**
+	 * Timestamp of the next /cores retrieval
+	 */
+	private volatile long nextCoresRetrievalTimestamp;
+
+	/**
+	 * Map of system id and timestamp of the next /systems/{id}/items retrieval.
+	 * Systems without an entry are retrieved on the next loader iteration.
+	 */
+	private final Map<String, Long> nextItemsRetrievalTimestamps = new ConcurrentHashMap<>();
+
+	/**
+	 * Map of system id and circuit breaker of the /systems/{id}/items endpoint of that system
+	 */
+	private final Map<String, CircuitBreaker> itemsCircuitBreakers = new ConcurrentHashMap<>();
+
+	/**
+	 * Map of system id and fault alerts of that system sampled on /systems retrievals
+	 */
+	private final Map<String, TimeSeries> systemFaultTrends = new ConcurrentHashMap<>();
+
+	/**
+	 * Map of system id and running status of that system sampled on /systems retrievals, 100 when running and 0 otherwise
+	 */
+	private final Map<String, TimeSeries> systemAvailabilityTrends = new ConcurrentHashMap<>();
+
+	/**
+	 * Fault alerts of the fleet sampled on /systems retrievals
+	 */
+	private final TimeSeries fleetFaultTrend = new TimeSeries(QSysReflectConstant.TREND_CAPACITY);
+
+	/**
+	 * Percentage of online devices of the fleet sampled on /systems retrievals
+	 */
+	private final TimeSeries fleetOnlineRatioTrend = new TimeSeries(QSysReflectConstant.TREND_CAPACITY);
+
+	/**
+	 * Adapter Properties - (Optional) number of consecutive failed /systems/{id}/items retrievals that open the circuit of a system, 3 by default
+	 */
+	private int circuitBreakerFailureThreshold = QSysReflectConstant.DEFAULT_CIRCUIT_BREAKER_FAILURE_THRESHOLD;
+
+	/**
+	 * Adapter Properties - (Optional) max time an open circuit waits before the next probe of the system, in ms, 30 minutes by default
+	 */
+	private long circuitBreakerMaxBackoff = QSysReflectConstant.DEFAULT_CIRCUIT_BREAKER_MAX_BACKOFF;
+
+	/**
+	 * Adapter Properties - (Optional) duplicate /systems/{id}/items requests slower than {@link #hedgingPercentile}
+	 * of the recent response times and take the first response, false by default
+	 */
+	private boolean hedgedRequests;
+
+	/**
+	 * Adapter Properties - (Optional) send /systems/{id}/items requests on the request threads of the HTTP transport,
+	 * one per connection to the API host, and map the responses on the collection workers once they arrive, false by default
+	 */
+	private boolean asyncRequests;
+
+	/**
+	 * Adapter Properties - (Optional) percentile of the recent /systems/{id}/items response times after which a request is duplicated, 95 by default
+	 */
+	private int hedgingPercentile = QSysReflectConstant.DEFAULT_HEDGING_PERCENTILE;
+
+	/**
+	 * Adapter Properties - (Optional) max percentage of /systems/{id}/items requests that may be duplicated, 5 by default
+	 */
+	private int hedgingBudget = QSysReflectConstant.DEFAULT_HEDGING_BUDGET;
+
+	/**
+	 * Hedging layer of the /systems/{id}/items requests
+	 */
+	private final RequestHedger requestHedger = new RequestHedger();
+
+	/**
+	 * Executor running the hedged requests and their duplicates, created on the first hedged request and shut down on destroy.
+	 * Its threads and queue are bounded to two per collection worker: a request it rejects runs on the worker, and a duplicate it rejects is not sent.
+	 */
+	private ExecutorService hedgingExecutorService;
+
+	/**
+	 * Pooled HTTP transport of the API requests, created on the first request and closed on destroy
+	 */
+	private volatile PooledHttpTransport httpTransport;
+
+	/**
+	 * Copy of the enableCompression property of {@link RestCommunicator}, which keeps it private, applied to {@link #httpTransport}
+	 */
+	private boolean enableCompression;
+
+	/**
+	 * Copy of the compressionMinSize property of {@link RestCommunicator}, which keeps it private, applied to {@link #httpTransport}
+	 */
+	private int compressionMinSize;
+
+	/**
+	 * Adapter Properties - (Optional) max duration of a data collection cycle in ms, 5 minutes by default.
+	 * Requests are given the time left before the deadline as timeout, and retrievals still running at the deadline are cancelled,
+	 * so the devices retrieved in time are published and the others keep their last known state.
+	 */
+	private long cycleDeadline = QSysReflectConstant.DEFAULT_CYCLE_DEADLINE;
+
+	/**
+	 * Adapter Properties - (Optional) min number of items of a system mapped in parallel chunks, 1024 by default.
+	 * Smaller item lists are mapped on the worker thread that retrieved them.
+	 * The default is a placeholder, not a measured crossover: it has to be tuned per host, e.g. with testParallelMappingCrossover on the target hardware.
+	 */
+	private int parallelMappingThreshold = QSysReflectConstant.DEFAULT_PARALLEL_MAPPING_THRESHOLD;
+
+	/**
+	 * Adapter Properties - (Optional) max number of collection tasks waiting for a worker, 1024 by default.
+	 * Systems that do not fit in the work queue stay due and are retrieved once the queued work is done.
+	 */
+	private int workQueueCapacity = QSysReflectConstant.DEFAULT_WORK_QUEUE_CAPACITY;
+
+	/**
+	 * Pool mapping the large item lists in parallel chunks, null if there is a single processor
+	 */
+	private volatile ForkJoinPool mappingPool;
+
+	/**
+	 * Adapter Properties - (Optional) directory of the on-disk journal of device and system status transitions, the journal is disabled if not set.
+	 * Every account and shard writes to its own subdirectory.
+	 */
+	private String statusJournalDirectory;
+
+	/**
+	 * Adapter Properties - (Optional) number of 4 MB segment files kept by the status transition journal, 8 by default
+	 */
+	private int statusJournalMaxSegments = QSysReflectConstant.DEFAULT_STATUS_JOURNAL_MAX_SEGMENTS;
+
+	/**
+	 * Adapter Properties - (Optional) names of the device properties to keep (separated by commas), every mapped property is kept if not set.
+	 * Other properties are neither extracted from the responses nor stored. deviceType and deviceStatusMessage are always kept,
+	 * the device filters rely on them.
+	 */
+	private String retainedDeviceProperties;
+
+	/**
+	 * Names of the device properties kept by the mapping, null if every property is kept
+	 */
+	private volatile Set<String> retainedDevicePropertyNames;
+
+	/**
+	 * Journal of status transitions, null if it is disabled
+	 */
+	private volatile StatusTransitionJournal statusJournal;
+
+
+	/**
+	 * Timestamp the current data collection cycle must complete by, 0 once the adapter is destroyed
+	 */
+	private volatile long cycleDeadlineTimestamp = Long.MAX_VALUE;
+
+	/**
+	 * Number of data collection cycles that were cut short by {@link #cycleDeadline}
+	 */
+	private final AtomicLong deadlineExceededCycles = new AtomicLong();
+
+	private final Map<String, PropertiesMapping> mapping;
+	private final Map<String, PropertiesMapping> mappingSecond;
+	private volatile List<AggregatedDeviceProcessor> aggregatedDeviceProcessor;
+	private volatile List<AggregatedDeviceProcessor> aggregatedDeviceProcessorSecond;
+
+	/**
+	 * Cache of mapped devices, used to skip YAML mapping of device records that did not change since the previous cycle
 	 */
-	private volatile long validDeviceMetaDataRetrievalPeriodTimestamp;
+	private final MappedDeviceCache mappedDeviceCache = new MappedDeviceCache();
 
 	/**
-	 * We don't want the statistics to be collected constantly, because if there's not a big list of devices -
-	 * new devices' statistics loop will be launched before the next monitoring iteration. To avoid that -
-	 * this variable stores a timestamp which validates it, so when the devices' statistics is done collecting, variable
-	 * is set to currentTime + 30s, at the same time, calling {@link #retrieveMultipleStatistics()} and updating the
-	 * {@link #aggregatedDeviceList} resets it to the currentTime timestamp, which will re-activate data collection.
+	 * Rendered uptime of the devices, keyed by the raw start time of the device properties
 	 */
-	private long nextDevicesCollectionIterationTimestamp;
+	private final UptimeCache<String> deviceUptimeCache = new UptimeCache<>(Long::parseLong, this::renderUptime);
 
-	private AggregatedDeviceProcessor aggregatedDeviceProcessor;
-	private AggregatedDeviceProcessor aggregatedDeviceProcessorSecond;
+	/**
+	 * Rendered uptime of the systems, keyed by the start time of the system response
+	 */
+	private final UptimeCache<Long> systemUptimeCache = new UptimeCache<>(Long::longValue, this::renderUptime);
+
+	/**
+	 * Journal of published device changes, used by {@link #retrieveMultipleStatisticsSince(long)}
+	 */
+	private final DeviceChangeJournal deviceChangeJournal = new DeviceChangeJournal(QSysReflectConstant.DEVICE_CHANGE_JOURNAL_CAPACITY);
+
+	/**
+	 * Per-stage timings of the data collection cycles
+	 */
+	private final CycleStatistics cycleStatistics = new CycleStatistics(QSysReflectConstant.CYCLE_HISTORY_SIZE);
 
 	/**
 	 * Runner service responsible for collecting data
 	 */
 	private QSysDeviceDataLoader deviceDataLoader;
 
+	/**
+	 * Thread running {@link #deviceDataLoader}, apart from {@link #collectionWorkQueue} so the loader takes no worker and no queue slot
+	 */
+	private Thread deviceDataLoaderThread;
+
 	/**
 	 * Q-Sys Reflect API Token
 	 */
 	private String apiToken;
 
 	/**
-	 * List of aggregated device
+	 * SHA-256 hash of {@link #apiToken}, used to identify the account in keys shared between adapters
+	 */
+	private String apiTokenHash;
+
+	/**
+	 * Single-flight layer that collapses identical concurrent API requests
+	 */
+	private final RequestCoalescer requestCoalescer = new RequestCoalescer();
+
+	/**
+	 * Cache of API responses shared with other adapters of the same account
+	 */
+	private final ResponseCache responseCache = new ResponseCache();
+
+	/**
+	 * Adapter Properties - (Optional) time to live of the API responses shared between adapters of the same account, in ms.
+	 * 0 (default) disables the shared response cache.
+	 */
+	private long responseCacheTtl;
+
+	/**
+	 * List of aggregated devices published to the platform, a view of {@link #deviceIndex} rebuilt with the filter options on every cycle
 	 */
 	private List<AggregatedDevice> aggregatedDeviceList = Collections.synchronizedList(new ArrayList<>());
 
+	/**
+	 * List of core devices mapped from the last /cores response
+	 */
+	private volatile List<AggregatedDevice> coreDeviceList = Collections.emptyList();
+
+	/**
+	 * Inverted indexes of the core devices and of the devices mapped from the last /systems/{id}/items response of every system
+	 */
+	private final DeviceIndex deviceIndex = new DeviceIndex();
+
 	/**
 	 * List of System Response
 	 */
 	private List<SystemResponse> systemResponseList = Collections.synchronizedList(new ArrayList<>());
 
 	/**
-	 * List of System Response filter
+	 * Normal, warning, fault and unknown alerts summed over the systems of {@link #systemResponseList} in the shard of this adapter
+	 * when it is retrieved, replaced as a whole so the totals are always read together
+	 */
+	private volatile long[] fleetAlertTotals = new long[4];
+
+	/**
+	 * Number of systems of {@link #systemResponseList} in the shard of this adapter, counted when it is retrieved
 	 */
-	private List<SystemResponse> systemResponseFilterList = Collections.synchronizedList(new ArrayList<>());
+	private volatile int shardSystemCount;
+
+	/**
+	 * Number of systems that own a device requested during {@link #idlePauseTimeout}, counted at the last items retrieval
+	 */
+	private volatile int demandedSystemCount;
 
 	/**
 	 * List of error message occur while fetching system information
@@ -289,29 +581,42 @@ public class QSysReflectCommunicator extends RestCommunicator implements Aggrega
 	private final ObjectMapper objectMapper = new ObjectMapper();
 
 	/**
-	 * Map of device id and status message
+	 * Map of device id and status message, written by the collection workers and read when the devices are published
 	 */
-	private Map<String, String> deviceStatusMessageMap = new HashMap<>();
+	private final Map<String, String> deviceStatusMessageMap = new ConcurrentHashMap<>();
 
 	/**
 	 * Adapter Properties - (Optional) filter option: string of model names (separated by commas)
 	 */
-	private String filterModel;
+	private volatile String filterModel;
 
 	/**
 	 * Adapter Properties - (Optional) filter option: string of status messages (separated by commas)
 	 */
-	private String filterDeviceStatusMessage;
+	private volatile String filterDeviceStatusMessage;
 
 	/**
 	 * Adapter Properties - (Optional) filter option: string of system name (separated by commas)
 	 */
-	private String filterSystemName;
+	private volatile String filterSystemName;
 
 	/**
 	 * Adapter Properties - (Optional) filter option: string of type (separated by commas)
 	 */
-	private String filterType;
+	private volatile String filterType;
+
+	/**
+	 * True when a filter option changed on the running adapter, so the published list is rebuilt from {@link #deviceIndex}
+	 * on the next loop of {@link #deviceDataLoader}, without waiting for new data
+	 */
+	private volatile boolean filtersChanged;
+
+	/**
+	 * Protocol, host, port, API token hash and shard the collected devices and systems belong to.
+	 * The collected data and the retrieval schedules are kept across destroy and init as long as these do not change,
+	 * so a change of any other property only rebuilds the published list instead of starting a new crawl.
+	 */
+	private String collectedAccountKey;
 
 	/**
 	 * Retrieves {@code {@link #filterSystemName}}
@@ -328,6 +633,7 @@ public class QSysReflectCommunicator extends RestCommunicator implements Aggrega
 	 * @param filterSystemName the {@code java.lang.String} field
 	 */
 	public void setFilterSystemName(String filterSystemName) {
+		filtersChanged |= !Objects.equals(this.filterSystemName, filterSystemName);
 		this.filterSystemName = filterSystemName;
 	}
 
@@ -346,6 +652,7 @@ public class QSysReflectCommunicator extends RestCommunicator implements Aggrega
 	 * @param filterType the {@code java.lang.String} field
 	 */
 	public void setFilterType(String filterType) {
+		filtersChanged |= !Objects.equals(this.filterType, filterType);
 		this.filterType = filterType;
 	}
 
@@ -364,6 +671,7 @@ public class QSysReflectCommunicator extends RestCommunicator implements Aggrega
 	 * @param filterModel the {@code java.lang.String} field
 	 */
 	public void setFilterModel(String filterModel) {
+		filtersChanged |= !Objects.equals(this.filterModel, filterModel);
 		this.filterModel = filterModel;
 	}
 
@@ -382,6 +690,7 @@ public class QSysReflectCommunicator extends RestCommunicator implements Aggrega
 	 * @param filterDeviceStatusMessage the {@code java.lang.String} field
 	 */
 	public void setFilterDeviceStatusMessage(String filterDeviceStatusMessage) {
+		filtersChanged |= !Objects.equals(this.filterDeviceStatusMessage, filterDeviceStatusMessage);
 		this.filterDeviceStatusMessage = filterDeviceStatusMessage;
 	}
 
@@ -401,304 +710,1363 @@ public class QSysReflectCommunicator extends RestCommunicator implements Aggrega
 	 */
 	public void setDeviceMetaDataRetrievalTimeout(long deviceMetaDataRetrievalTimeout) {
 		this.deviceMetaDataRetrievalTimeout = Math.max(defaultMetaDataTimeout, deviceMetaDataRetrievalTimeout);
+		rescheduleRetrievals();
 	}
 
 	/**
-	 * Build instance of QSysReflectCommunicator
-	 * Setup aggregated devices processor
+	 * Retrieves {@code {@link #systemsRetrievalInterval}}
 	 *
-	 * @throws IOException if unable to locate mapping ymp file or properties file
+	 * @return value of {@link #systemsRetrievalInterval}
 	 */
-	public QSysReflectCommunicator() throws IOException {
-		Map<String, PropertiesMapping> mapping = new PropertiesMappingParser().loadYML(QSysReflectConstant.MODEL_MAPPING_QSYS_CORE, getClass());
-		aggregatedDeviceProcessor = new AggregatedDeviceProcessor(mapping);
+	public long getSystemsRetrievalInterval() {
+		return systemsRetrievalInterval;
+	}
 
-		Map<String, PropertiesMapping> mappingSecond = new PropertiesMappingParser().loadYML(QSysReflectConstant.MODEL_MAPPING_OTHER_THAN_QSYS_CORE, getClass());
-		aggregatedDeviceProcessorSecond = new AggregatedDeviceProcessor(mappingSecond);
+	/**
+	 * Sets {@code systemsRetrievalInterval}
+	 *
+	 * @param systemsRetrievalInterval the {@code long} field, 0 to use {@link #deviceMetaDataRetrievalTimeout}
+	 */
+	public void setSystemsRetrievalInterval(long systemsRetrievalInterval) {
+		this.systemsRetrievalInterval = validateRetrievalInterval("systemsRetrievalInterval", systemsRetrievalInterval);
+		rescheduleRetrievals();
 	}
 
 	/**
-	 * {@inheritDoc}
+	 * Retrieves {@code {@link #coresRetrievalInterval}}
+	 *
+	 * @return value of {@link #coresRetrievalInterval}
 	 */
-	@Override
-	protected void internalInit() throws Exception {
-		this.setTrustAllCertificates(true);
-		if (logger.isDebugEnabled()) {
-			logger.debug("Internal init is called.");
-		}
-		apiToken = this.getPassword();
-		this.setBaseUri(QSysReflectConstant.QSYS_BASE_URL);
-		if (checkValidApiToken()) {
-			executorService = Executors.newFixedThreadPool(8);
-			executorService.submit(deviceDataLoader = new QSysDeviceDataLoader());
-			validDeviceMetaDataRetrievalPeriodTimestamp = System.currentTimeMillis();
-		}
-		super.internalInit();
+	public long getCoresRetrievalInterval() {
+		return coresRetrievalInterval;
 	}
 
 	/**
-	 * {@inheritDoc}
+	 * Sets {@code coresRetrievalInterval}
+	 *
+	 * @param coresRetrievalInterval the {@code long} field, 0 to use {@link #deviceMetaDataRetrievalTimeout}
 	 */
-	@Override
-	protected void internalDestroy() {
-		if (logger.isDebugEnabled()) {
-			logger.debug("Internal destroy is called.");
-		}
+	public void setCoresRetrievalInterval(long coresRetrievalInterval) {
+		this.coresRetrievalInterval = validateRetrievalInterval("coresRetrievalInterval", coresRetrievalInterval);
+		rescheduleRetrievals();
+	}
 
-		if (deviceDataLoader != null) {
-			deviceDataLoader.stop();
-			deviceDataLoader = null;
-		}
+	/**
+	 * Retrieves {@code {@link #itemsRetrievalInterval}}
+	 *
+	 * @return value of {@link #itemsRetrievalInterval}
+	 */
+	public long getItemsRetrievalInterval() {
+		return itemsRetrievalInterval;
+	}
 
-		if (executorService != null) {
-			executorService.shutdownNow();
-			executorService = null;
-		}
+	/**
+	 * Sets {@code itemsRetrievalInterval}
+	 *
+	 * @param itemsRetrievalInterval the {@code long} field, 0 to use {@link #deviceMetaDataRetrievalTimeout}
+	 */
+	public void setItemsRetrievalInterval(long itemsRetrievalInterval) {
+		this.itemsRetrievalInterval = validateRetrievalInterval("itemsRetrievalInterval", itemsRetrievalInterval);
+		rescheduleRetrievals();
+	}
 
-		devicesExecutionPool.forEach(future -> future.cancel(true));
-		devicesExecutionPool.clear();
+	/**
+	 * Retrieves {@code {@link #demandMode}}
+	 *
+	 * @return value of {@link #demandMode}
+	 */
+	public boolean isDemandMode() {
+		return demandMode;
+	}
 
-		aggregatedDeviceList.clear();
-		systemResponseList.clear();
-		systemErrorMessagesList.clear();
-		super.internalDestroy();
+	/**
+	 * Sets {@code demandMode}
+	 *
+	 * @param demandMode the {@code boolean} field
+	 */
+	public void setDemandMode(boolean demandMode) {
+		this.demandMode = demandMode;
 	}
 
 	/**
-	 * {@inheritDoc}
+	 * Retrieves {@code {@link #backgroundRetrievalInterval}}
+	 *
+	 * @return value of {@link #backgroundRetrievalInterval}
 	 */
-	@Override
-	protected void authenticate() {
-		// Q-Sys Reflect only require API token for each request.
+	public long getBackgroundRetrievalInterval() {
+		return backgroundRetrievalInterval;
 	}
 
 	/**
-	 * {@inheritDoc}
+	 * Sets {@code backgroundRetrievalInterval}
+	 *
+	 * @param backgroundRetrievalInterval the {@code long} field, 0 to use the default of 10 minutes
 	 */
-	@Override
-	protected HttpHeaders putExtraRequestHeaders(HttpMethod httpMethod, String uri, HttpHeaders headers) {
-		headers.setBearerAuth(apiToken);
-		return headers;
+	public void setBackgroundRetrievalInterval(long backgroundRetrievalInterval) {
+		this.backgroundRetrievalInterval = validateRetrievalInterval("backgroundRetrievalInterval", backgroundRetrievalInterval);
+	}
+
+	/**
+	 * Retrieves {@code {@link #shardIndex}}
+	 *
+	 * @return value of {@link #shardIndex}
+	 */
+	public int getShardIndex() {
+		return shardIndex;
+	}
+
+	/**
+	 * Sets {@code shardIndex}
+	 *
+	 * @param shardIndex the {@code int} field
+	 */
+	public void setShardIndex(int shardIndex) {
+		this.shardIndex = (int) clamp("shardIndex", shardIndex, 0, QSysReflectConstant.MAX_SHARD_COUNT - 1);
+	}
+
+	/**
+	 * Retrieves {@code {@link #shardCount}}
+	 *
+	 * @return value of {@link #shardCount}
+	 */
+	public int getShardCount() {
+		return shardCount;
+	}
+
+	/**
+	 * Sets {@code shardCount}
+	 *
+	 * @param shardCount the {@code int} field
+	 */
+	public void setShardCount(int shardCount) {
+		this.shardCount = (int) clamp("shardCount", shardCount, 1, QSysReflectConstant.MAX_SHARD_COUNT);
+	}
+
+	/**
+	 * Retrieves {@code {@link #responseCacheTtl}}
+	 *
+	 * @return value of {@link #responseCacheTtl}
+	 */
+	public long getResponseCacheTtl() {
+		return responseCacheTtl;
+	}
+
+	/**
+	 * Sets {@code responseCacheTtl}
+	 *
+	 * @param responseCacheTtl the {@code long} field, 0 to disable the shared response cache
+	 */
+	public void setResponseCacheTtl(long responseCacheTtl) {
+		this.responseCacheTtl = responseCacheTtl <= 0 ? 0 : clamp("responseCacheTtl", responseCacheTtl, 0, QSysReflectConstant.MAX_RESPONSE_CACHE_TTL);
+	}
+
+	/**
+	 * Retrieves {@code {@link #circuitBreakerFailureThreshold}}
+	 *
+	 * @return value of {@link #circuitBreakerFailureThreshold}
+	 */
+	public int getCircuitBreakerFailureThreshold() {
+		return circuitBreakerFailureThreshold;
+	}
+
+	/**
+	 * Sets {@code circuitBreakerFailureThreshold}
+	 *
+	 * @param circuitBreakerFailureThreshold the {@code int} field, 0 to use the default of 3 failures
+	 */
+	public void setCircuitBreakerFailureThreshold(int circuitBreakerFailureThreshold) {
+		if (circuitBreakerFailureThreshold <= 0) {
+			this.circuitBreakerFailureThreshold = QSysReflectConstant.DEFAULT_CIRCUIT_BREAKER_FAILURE_THRESHOLD;
+			return;
+		}
+		this.circuitBreakerFailureThreshold = (int) clamp("circuitBreakerFailureThreshold", circuitBreakerFailureThreshold, 1,
+				QSysReflectConstant.MAX_CIRCUIT_BREAKER_FAILURE_THRESHOLD);
+	}
+
+	/**
+	 * Retrieves {@code {@link #circuitBreakerMaxBackoff}}
+	 *
+	 * @return value of {@link #circuitBreakerMaxBackoff}
+	 */
+	public long getCircuitBreakerMaxBackoff() {
+		return circuitBreakerMaxBackoff;
+	}
+
+	/**
+	 * Sets {@code circuitBreakerMaxBackoff}
+	 *
+	 * @param circuitBreakerMaxBackoff the {@code long} field, 0 to use the default of 30 minutes
+	 */
+	public void setCircuitBreakerMaxBackoff(long circuitBreakerMaxBackoff) {
+		if (circuitBreakerMaxBackoff <= 0) {
+			this.circuitBreakerMaxBackoff = QSysReflectConstant.DEFAULT_CIRCUIT_BREAKER_MAX_BACKOFF;
+			return;
+		}
+		this.circuitBreakerMaxBackoff = clamp("circuitBreakerMaxBackoff", circuitBreakerMaxBackoff, QSysReflectConstant.CIRCUIT_BREAKER_BASE_BACKOFF,
+				QSysReflectConstant.MAX_CIRCUIT_BREAKER_MAX_BACKOFF);
+	}
+
+	/**
+	 * Retrieves {@code {@link #hedgedRequests}}
+	 *
+	 * @return value of {@link #hedgedRequests}
+	 */
+	public boolean isHedgedRequests() {
+		return hedgedRequests;
+	}
+
+	/**
+	 * Sets {@code hedgedRequests}
+	 *
+	 * @param hedgedRequests the {@code boolean} field
+	 */
+	public void setHedgedRequests(boolean hedgedRequests) {
+		this.hedgedRequests = hedgedRequests;
+	}
+
+	/**
+	 * Retrieves {@code {@link #asyncRequests}}
+	 *
+	 * @return value of {@link #asyncRequests}
+	 */
+	public boolean isAsyncRequests() {
+		return asyncRequests;
+	}
+
+	/**
+	 * Sets {@code asyncRequests}
+	 *
+	 * @param asyncRequests the {@code boolean} field
+	 */
+	public void setAsyncRequests(boolean asyncRequests) {
+		this.asyncRequests = asyncRequests;
+	}
+
+	/**
+	 * Retrieves {@code {@link #hedgingPercentile}}
+	 *
+	 * @return value of {@link #hedgingPercentile}
+	 */
+	public int getHedgingPercentile() {
+		return hedgingPercentile;
+	}
+
+	/**
+	 * Sets {@code hedgingPercentile}
+	 *
+	 * @param hedgingPercentile the {@code int} field, 0 to use the default of 95
+	 */
+	public void setHedgingPercentile(int hedgingPercentile) {
+		if (hedgingPercentile <= 0) {
+			this.hedgingPercentile = QSysReflectConstant.DEFAULT_HEDGING_PERCENTILE;
+			return;
+		}
+		this.hedgingPercentile = (int) clamp("hedgingPercentile", hedgingPercentile, QSysReflectConstant.MIN_HEDGING_PERCENTILE,
+				QSysReflectConstant.MAX_HEDGING_PERCENTILE);
+	}
+
+	/**
+	 * Retrieves {@code {@link #hedgingBudget}}
+	 *
+	 * @return value of {@link #hedgingBudget}
+	 */
+	public int getHedgingBudget() {
+		return hedgingBudget;
+	}
+
+	/**
+	 * Sets {@code hedgingBudget}
+	 *
+	 * @param hedgingBudget the {@code int} field, 0 to use the default of 5 percent
+	 */
+	public void setHedgingBudget(int hedgingBudget) {
+		if (hedgingBudget <= 0) {
+			this.hedgingBudget = QSysReflectConstant.DEFAULT_HEDGING_BUDGET;
+			return;
+		}
+		this.hedgingBudget = (int) clamp("hedgingBudget", hedgingBudget, 1, QSysReflectConstant.MAX_HEDGING_BUDGET);
+	}
+
+	/**
+	 * Retrieves {@code {@link #cycleDeadline}}
+	 *
+	 * @return value of {@link #cycleDeadline}
+	 */
+	public long getCycleDeadline() {
+		return cycleDeadline;
+	}
+
+	/**
+	 * Sets {@code cycleDeadline}
+	 *
+	 * @param cycleDeadline the {@code long} field, 0 to use the default of 5 minutes
+	 */
+	public void setCycleDeadline(long cycleDeadline) {
+		if (cycleDeadline <= 0) {
+			this.cycleDeadline = QSysReflectConstant.DEFAULT_CYCLE_DEADLINE;
+			return;
+		}
+		this.cycleDeadline = clamp("cycleDeadline", cycleDeadline, QSysReflectConstant.MIN_CYCLE_DEADLINE, QSysReflectConstant.MAX_CYCLE_DEADLINE);
+	}
+
+	/**
+	 * Retrieves {@code {@link #statusJournalDirectory}}
+	 *
+	 * @return value of {@link #statusJournalDirectory}
+	 */
+	public String getStatusJournalDirectory() {
+		return statusJournalDirectory;
+	}
+
+	/**
+	 * Sets {@code statusJournalDirectory}
+	 *
+	 * @param statusJournalDirectory the {@code java.lang.String} field
+	 */
+	public void setStatusJournalDirectory(String statusJournalDirectory) {
+		this.statusJournalDirectory = statusJournalDirectory;
+	}
+
+	/**
+	 * Retrieves {@code {@link #workQueueCapacity}}
+	 *
+	 * @return value of {@link #workQueueCapacity}
+	 */
+	public int getWorkQueueCapacity() {
+		return workQueueCapacity;
+	}
+
+	/**
+	 * Sets {@code workQueueCapacity}
+	 *
+	 * @param workQueueCapacity the {@code int} field, 0 to use the default of 1024
+	 */
+	public void setWorkQueueCapacity(int workQueueCapacity) {
+		if (workQueueCapacity <= 0) {
+			this.workQueueCapacity = QSysReflectConstant.DEFAULT_WORK_QUEUE_CAPACITY;
+			return;
+		}
+		this.workQueueCapacity = (int) clamp("workQueueCapacity", workQueueCapacity, QSysReflectConstant.MIN_WORK_QUEUE_CAPACITY,
+				QSysReflectConstant.MAX_WORK_QUEUE_CAPACITY);
+	}
+
+	/**
+	 * Retrieves {@code {@link #parallelMappingThreshold}}
+	 *
+	 * @return value of {@link #parallelMappingThreshold}
+	 */
+	public int getParallelMappingThreshold() {
+		return parallelMappingThreshold;
+	}
+
+	/**
+	 * Sets {@code parallelMappingThreshold}
+	 *
+	 * @param parallelMappingThreshold the {@code int} field, 0 to use the default of 1024
+	 */
+	public void setParallelMappingThreshold(int parallelMappingThreshold) {
+		if (parallelMappingThreshold <= 0) {
+			this.parallelMappingThreshold = QSysReflectConstant.DEFAULT_PARALLEL_MAPPING_THRESHOLD;
+			return;
+		}
+		this.parallelMappingThreshold = (int) clamp("parallelMappingThreshold", parallelMappingThreshold, QSysReflectConstant.MIN_PARALLEL_MAPPING_THRESHOLD,
+				Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Retrieves {@code {@link #retainedDeviceProperties}}
+	 *
+	 * @return value of {@link #retainedDeviceProperties}
+	 */
+	public String getRetainedDeviceProperties() {
+		return retainedDeviceProperties;
+	}
+
+	/**
+	 * Sets {@code retainedDeviceProperties}
+	 * The model mappings are projected on the retained properties, and devices are mapped again on their next retrieval.
+	 *
+	 * @param retainedDeviceProperties the {@code java.lang.String} field
+	 */
+	public void setRetainedDeviceProperties(String retainedDeviceProperties) {
+		this.retainedDeviceProperties = retainedDeviceProperties;
+		Set<String> propertyNames = null;
+		if (!StringUtils.isNullOrEmpty(retainedDeviceProperties) && !QSysReflectConstant.DOUBLE_QUOTES.equals(retainedDeviceProperties)) {
+			propertyNames = new HashSet<>(handleListExtractFilter(retainedDeviceProperties));
+			propertyNames.add(QSysReflectConstant.DEVICE_TYPE);
+			propertyNames.add(QSysReflectConstant.DEVICE_STATUS_MESSAGE);
+		}
+		retainedDevicePropertyNames = propertyNames;
+		aggregatedDeviceProcessor = MappedDeviceCache.createModelProcessors(MappedDeviceCache.projectProperties(mapping, propertyNames));
+		aggregatedDeviceProcessorSecond = MappedDeviceCache.createModelProcessors(MappedDeviceCache.projectProperties(mappingSecond, propertyNames));
+	}
+
+	/**
+	 * Retrieves {@code {@link #statusJournalMaxSegments}}
+	 *
+	 * @return value of {@link #statusJournalMaxSegments}
+	 */
+	public int getStatusJournalMaxSegments() {
+		return statusJournalMaxSegments;
+	}
+
+	/**
+	 * Sets {@code statusJournalMaxSegments}
+	 *
+	 * @param statusJournalMaxSegments the {@code int} field, 0 to use the default of 8
+	 */
+	public void setStatusJournalMaxSegments(int statusJournalMaxSegments) {
+		if (statusJournalMaxSegments <= 0) {
+			this.statusJournalMaxSegments = QSysReflectConstant.DEFAULT_STATUS_JOURNAL_MAX_SEGMENTS;
+			return;
+		}
+		this.statusJournalMaxSegments = (int) clamp("statusJournalMaxSegments", statusJournalMaxSegments, 1, QSysReflectConstant.MAX_STATUS_JOURNAL_MAX_SEGMENTS);
+	}
+
+	/**
+	 * Retrieves {@code {@link #idlePauseTimeout}}
+	 *
+	 * @return value of {@link #idlePauseTimeout}
+	 */
+	public long getIdlePauseTimeout() {
+		return idlePauseTimeout;
+	}
+
+	/**
+	 * Sets {@code idlePauseTimeout}
+	 *
+	 * @param idlePauseTimeout the {@code long} field, 0 to use the default of 3 minutes
+	 */
+	public void setIdlePauseTimeout(long idlePauseTimeout) {
+		if (idlePauseTimeout <= 0) {
+			this.idlePauseTimeout = QSysReflectConstant.DEFAULT_IDLE_PAUSE_TIMEOUT;
+			return;
+		}
+		this.idlePauseTimeout = clamp("idlePauseTimeout", idlePauseTimeout, QSysReflectConstant.MIN_IDLE_PAUSE_TIMEOUT, QSysReflectConstant.MAX_IDLE_PAUSE_TIMEOUT);
+	}
+
+	/**
+	 * Build instance of QSysReflectCommunicator
+	 * Setup aggregated devices processor
+	 *
+	 * @throws IOException if unable to locate mapping ymp file or properties file
+	 */
+	public QSysReflectCommunicator() throws IOException {
+		mapping = new PropertiesMappingParser().loadYML(QSysReflectConstant.MODEL_MAPPING_QSYS_CORE, getClass());
+		aggregatedDeviceProcessor = MappedDeviceCache.createModelProcessors(mapping);
+
+		mappingSecond = new PropertiesMappingParser().loadYML(QSysReflectConstant.MODEL_MAPPING_OTHER_THAN_QSYS_CORE, getClass());
+		aggregatedDeviceProcessorSecond = MappedDeviceCache.createModelProcessors(mappingSecond);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected void internalInit() throws Exception {
+		this.setTrustAllCertificates(true);
+		if (logger.isDebugEnabled()) {
+			logger.debug("Internal init is called.");
+		}
+		apiToken = this.getPassword();
+		apiTokenHash = hashApiToken(apiToken);
+		this.setBaseUri(QSysReflectConstant.QSYS_BASE_URL);
+		if (!checkValidShard()) {
+			logger.error(String.format("shardIndex %s is out of the range of shardCount %s, data collection is not started", shardIndex, shardCount));
+		}
+		if (checkValidApiToken() && checkValidShard()) {
+			String accountKey = String.format("%s://%s:%s/%s/%s-%s", getProtocol(), getHost(), getPort(), apiTokenHash, shardIndex, shardCount);
+			if (!accountKey.equals(collectedAccountKey)) {
+				// nothing was collected before the first init
+				if (collectedAccountKey != null) {
+					clearCollectedData();
+				}
+				collectedAccountKey = accountKey;
+			}
+			// filters and mapping properties may have changed while the adapter was destroyed
+			filtersChanged = true;
+			openStatusJournal();
+			int processors = Runtime.getRuntime().availableProcessors();
+			mappingPool = processors > 1 ? new ForkJoinPool(processors) : null;
+			collectionWorkQueue = new CollectionWorkQueue(QSysReflectConstant.COLLECTION_WORKERS, workQueueCapacity);
+			cycleDeadlineTimestamp = Long.MAX_VALUE;
+			startDeviceDataLoader();
+		}
+		super.internalInit();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected void internalDestroy() {
+		if (logger.isDebugEnabled()) {
+			logger.debug("Internal destroy is called.");
+		}
+
+		if (deviceDataLoader != null) {
+			deviceDataLoader.stop();
+			deviceDataLoader = null;
+		}
+		if (deviceDataLoaderThread != null) {
+			// wakes the loader up from its sleep or from the wait for the system retrievals
+			deviceDataLoaderThread.interrupt();
+			deviceDataLoaderThread = null;
+		}
+		// requests check the deadline before they are sent, so the queued ones are dropped instead of waiting for the shutdown
+		cycleDeadlineTimestamp = 0;
+
+		if (collectionWorkQueue != null) {
+			collectionWorkQueue.shutdownNow();
+			collectionWorkQueue = null;
+		}
+		if (mappingPool != null) {
+			mappingPool.shutdownNow();
+			mappingPool = null;
+		}
+
+		httpClientLock.writeLock().lock();
+		try {
+			if (httpTransport != null) {
+				httpTransport.close();
+				httpTransport = null;
+			}
+		} catch (IOException e) {
+			logger.warn("Failed to close the HTTP transport", e);
+		} finally {
+			httpClientLock.writeLock().unlock();
+		}
+
+		synchronized (requestHedger) {
+			if (hedgingExecutorService != null) {
+				hedgingExecutorService.shutdownNow();
+				hedgingExecutorService = null;
+			}
+		}
+
+		// the systems whose retrieval is cut short are retrieved first once the adapter is initialized again
+		cancelSystemRetrievals();
+
+		if (statusJournal != null) {
+			statusJournal.close();
+			statusJournal = null;
+		}
+
+		// collected data is kept for the next init, see collectedAccountKey
+		systemErrorMessagesList.clear();
+		super.internalDestroy();
+	}
+
+	/**
+	 * Drop the collected devices and systems and their retrieval schedules, so the next cycles crawl the account from scratch
+	 */
+	private void clearCollectedData() {
+		nextSystemsRetrievalTimestamp = 0;
+		nextCoresRetrievalTimestamp = 0;
+		aggregatedDeviceList.clear();
+		coreDeviceList = Collections.emptyList();
+		deviceIndex.clear();
+		deviceSystemMap.clear();
+		deviceDemandTimestamps.clear();
+		nextItemsRetrievalTimestamps.clear();
+		itemsCircuitBreakers.clear();
+		systemFaultTrends.clear();
+		systemAvailabilityTrends.clear();
+		systemResponseList.clear();
+		fleetAlertTotals = new long[4];
+		shardSystemCount = 0;
+		demandedSystemCount = 0;
+		mappedDeviceCache.clear();
+		deviceStatusMessageMap.clear();
+		deviceUptimeCache.clear();
+		systemUptimeCache.clear();
+		deviceChangeJournal.clear();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected void authenticate() {
+		// Q-Sys Reflect only require API token for each request.
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected HttpHeaders putExtraRequestHeaders(HttpMethod httpMethod, String uri, HttpHeaders headers) {
+		headers.setBearerAuth(apiToken);
+		return headers;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * The API is requested through {@link #httpTransport} instead of the default client, which is limited to 2 connections per host.
+	 * maxConnectionsPerRoute, maxConnectionsTotal, timeout and connectionsMaxIdleTime adapter properties apply to the transport,
+	 * and its rest template is set up the way {@link RestCommunicator} sets up the default one: authentication scheme and credentials,
+	 * request compression and XML message converters.
+	 */
+	@Override
+	protected RestTemplate obtainRestTemplate() throws Exception {
+		return obtainHttpTransport().getRestTemplate();
+	}
+
+	/**
+	 * Retrieves HTTP transport of the adapter, created on first use. The asynchronous requests waiting for a connection
+	 * are bounded by the workQueueCapacity adapter property.
+	 *
+	 * @return HTTP transport
+	 * @throws Exception if the transport cannot be created
+	 */
+	private PooledHttpTransport obtainHttpTransport() throws Exception {
+		PooledHttpTransport transport = httpTransport;
+		if (transport == null) {
+			httpClientLock.writeLock().lock();
+			try {
+				if (httpTransport == null) {
+					long keepAlive = getConnectionsMaxIdleTime() > 0 ? getConnectionsMaxIdleTime() : QSysReflectConstant.DEFAULT_CONNECTION_KEEP_ALIVE;
+					boolean authenticated = getAuthenticationScheme() != null && getAuthenticationScheme() != AuthenticationScheme.None
+							&& !StringUtils.isNullOrEmpty(getLogin(), true);
+					PooledHttpTransport createdTransport = new PooledHttpTransport(resolveMaxConnectionsPerRoute(), getMaxConnectionsTotal(), getTimeout(), keepAlive,
+							getTrustAllCertificates(), authenticated ? createCredentialsProvider() : null, authenticated ? createAuthCache() : null, workQueueCapacity);
+					configureRestTemplate(createdTransport.getRestTemplate());
+					httpTransport = createdTransport;
+				}
+				transport = httpTransport;
+			} finally {
+				httpClientLock.writeLock().unlock();
+			}
+		}
+		return transport;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void setEnableCompression(boolean enableCompression) {
+		super.setEnableCompression(enableCompression);
+		this.enableCompression = enableCompression;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void setCompressionMinSize(int compressionMinSize) {
+		super.setCompressionMinSize(compressionMinSize);
+		this.compressionMinSize = compressionMinSize;
+	}
+
+	/**
+	 * Set up the rest template of {@link #httpTransport} like {@link RestCommunicator#obtainRestTemplate()} sets up the default one:
+	 * request bodies are compressed when enableCompression is set, and XML is mapped with JAXB unless jacksonDataformatXMLSupported is set
+	 *
+	 * @param restTemplate rest template of the transport
+	 */
+	private void configureRestTemplate(RestTemplate restTemplate) {
+		if (enableCompression) {
+			RestCommunicator.GzipHttpRequestInterceptor gzipInterceptor = new RestCommunicator.GzipHttpRequestInterceptor();
+			if (compressionMinSize > 0) {
+				gzipInterceptor.setCompressionMinSize(compressionMinSize);
+			}
+			restTemplate.getInterceptors().add(gzipInterceptor);
+		}
+		if (!isJacksonDataformatXMLSupported()) {
+			List<HttpMessageConverter<?>> messageConverters = restTemplate.getMessageConverters();
+			messageConverters.removeIf(MappingJackson2XmlHttpMessageConverter.class::isInstance);
+			messageConverters.add(new Jaxb2RootElementHttpMessageConverter());
+		}
+	}
+
+	/**
+	 * Create the credentials of the API host from the login and password, NTLM logins may be prefixed by the domain
+	 *
+	 * @return credentials provider of the API host
+	 */
+	private CredentialsProvider createCredentialsProvider() {
+		Credentials credentials;
+		if (getAuthenticationScheme() == AuthenticationScheme.NTLM) {
+			int domainSeparator = getLogin().indexOf('\\');
+			credentials = domainSeparator > 0
+					? new NTCredentials(getLogin().substring(domainSeparator + 1), getPassword(), null, getLogin().substring(0, domainSeparator))
+					: new NTCredentials(getLogin(), getPassword(), null, null);
+		} else {
+			credentials = new UsernamePasswordCredentials(getLogin(), getPassword());
+		}
+		CredentialsProvider credentialsProvider = new BasicCredentialsProvider();
+		credentialsProvider.setCredentials(new AuthScope(resolveHostName(), getPort()), credentials);
+		return credentialsProvider;
+	}
+
+	/**
+	 * Create the cache of the authentication scheme sent preemptively to the API host
+	 *
+	 * @return auth cache of the API host
+	 */
+	private AuthCache createAuthCache() {
+		AuthScheme authScheme;
+		switch (getAuthenticationScheme()) {
+			case Digest:
+				DigestScheme digestScheme = new DigestScheme();
+				byte[] nonce = new byte[16];
+				new SecureRandom().nextBytes(nonce);
+				StringBuilder hexNonce = new StringBuilder();
+				for (byte value : nonce) {
+					hexNonce.append(String.format("%02x", value));
+				}
+				digestScheme.overrideParamter("realm", getRealm());
+				digestScheme.overrideParamter("nonce", hexNonce.toString());
+				authScheme = digestScheme;
+				break;
+			case NTLM:
+				authScheme = new NTLMScheme();
+				break;
+			default:
+				authScheme = new BasicScheme();
+				break;
+		}
+		AuthCache authCache = new BasicAuthCache();
+		authCache.put(new HttpHost(resolveHostName(), getPort(), getProtocol()), authScheme);
+		return authCache;
+	}
+
+	/**
+	 * Retrieves host name of the API host, IPv6 literals enclosed in brackets
+	 *
+	 * @return host name
+	 */
+	private String resolveHostName() {
+		return getHost().indexOf(':') >= 0 && !getHost().startsWith("[") ? "[" + getHost() + "]" : getHost();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public List<Statistics> getMultipleStatistics() {
+		if (!checkValidApiToken()) {
+			throw new ResourceNotReachableException("API Token cannot be null or empty, please enter valid API token in the password field.");
+		}
+		if (!checkValidShard()) {
+			throw new ResourceNotReachableException(String.format("shardIndex %s is out of the range of shardCount %s, please enter a shardIndex from 0 to %s.",
+					shardIndex, shardCount, shardCount - 1));
+		}
+		Map<String, String> statistics = new HashMap<>();
+		ExtendedStatistics extendedStatistics = new ExtendedStatistics();
+		populateSystemData(statistics);
+		populateFleetData(statistics);
+		populateCollectorData(statistics);
+		extendedStatistics.setStatistics(statistics);
+		if (!systemErrorMessagesList.isEmpty()) {
+			synchronized (systemErrorMessagesList) {
+				String errorMessage = systemErrorMessagesList.stream().map(Object::toString)
+						.collect(Collectors.joining("\n"));
+				systemErrorMessagesList.clear();
+				throw new ResourceNotReachableException(errorMessage);
+			}
+		}
+		return Collections.singletonList(extendedStatistics);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public List<AggregatedDevice> retrieveMultipleStatistics() {
+		keepDataCollectionActive();
+		if (aggregatedDeviceList.isEmpty()) {
+			return aggregatedDeviceList;
+		}
+		List<AggregatedDevice> resultAggregatedDeviceList = cloneAggregatedDeviceList();
+		populateDeviceUptime(resultAggregatedDeviceList);
+		return resultAggregatedDeviceList;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public List<AggregatedDevice> retrieveMultipleStatistics(List<String> listDeviceId) {
+		recordDeviceDemand(listDeviceId);
+		Set<String> deviceIds = new HashSet<>(listDeviceId);
+		return retrieveMultipleStatistics().stream().filter(aggregatedDevice -> deviceIds.contains(aggregatedDevice.getDeviceId())).collect(Collectors.toList());
+	}
+
+	/**
+	 * Retrieve the latest device and system status transitions written to the status transition journal
+	 *
+	 * @param count max number of transitions
+	 * @return latest transitions, oldest first, empty if the journal is disabled
+	 */
+	public List<StatusTransition> retrieveStatusTransitions(int count) {
+		StatusTransitionJournal journal = statusJournal;
+		if (journal == null) {
+			return Collections.emptyList();
+		}
+		try {
+			return journal.readLast(count);
+		} catch (IOException e) {
+			logger.warn("Failed to read the status transition journal", e);
+			return Collections.emptyList();
+		}
+	}
+
+	/**
+	 * Retrieve aggregated devices that changed since the given snapshot version.
+	 * If the change journal no longer covers the given version, the full list of aggregated devices is returned
+	 * and {@link DeviceDelta#isFullSnapshot()} is set.
+	 *
+	 * @param version snapshot version received with the previous delta, 0 to request a full snapshot
+	 * @return delta of aggregated devices
+	 */
+	public DeviceDelta retrieveMultipleStatisticsSince(long version) {
+		keepDataCollectionActive();
+		DeviceDelta deviceDelta = new DeviceDelta();
+		Map<String, Boolean> changes;
+		synchronized (deviceChangeJournal) {
+			deviceDelta.setVersion(deviceChangeJournal.getSnapshotVersion());
+			changes = version <= 0 ? null : deviceChangeJournal.changesSince(version);
+		}
+		List<AggregatedDevice> resultAggregatedDeviceList;
+		if (changes == null) {
+			deviceDelta.setFullSnapshot(true);
+			resultAggregatedDeviceList = cloneAggregatedDeviceList();
+		} else {
+			resultAggregatedDeviceList = new ArrayList<>();
+			for (Map.Entry<String, Boolean> change : changes.entrySet()) {
+				if (change.getValue()) {
+					deviceDelta.getRemovedDeviceIds().add(change.getKey());
+				}
+			}
+			if (changes.size() > deviceDelta.getRemovedDeviceIds().size()) {
+				synchronized (aggregatedDeviceList) {
+					for (AggregatedDevice aggregatedDevice : aggregatedDeviceList) {
+						if (aggregatedDevice != null && Boolean.FALSE.equals(changes.get(aggregatedDevice.getDeviceId()))) {
+							resultAggregatedDeviceList.add(cloneAggregatedDevice(aggregatedDevice));
+						}
+					}
+				}
+			}
+		}
+		populateDeviceUptime(resultAggregatedDeviceList);
+		deviceDelta.setChangedDevices(resultAggregatedDeviceList);
+		return deviceDelta;
+	}
+
+	/**
+	 * Retrieves current snapshot version of the published aggregated devices
+	 *
+	 * @return snapshot version
+	 */
+	public long getSnapshotVersion() {
+		return deviceChangeJournal.getSnapshotVersion();
+	}
+
+	/**
+	 * Retrieves timings of the most recent data collection cycles, oldest first
+	 *
+	 * @return list of cycle records
+	 */
+	public List<CycleRecord> getCycleHistory() {
+		return cycleStatistics.getHistory();
+	}
+
+	/**
+	 * Record the devices requested by the platform. Systems that start owning a demanded device are scheduled for
+	 * an immediate items refresh, so they do not wait for the background sweep.
+	 *
+	 * @param deviceIds ids of the requested devices
+	 */
+	private void recordDeviceDemand(List<String> deviceIds) {
+		long currentTimestamp = System.currentTimeMillis();
+		for (String deviceId : deviceIds) {
+			Long lastDemandTimestamp = deviceDemandTimestamps.put(deviceId, currentTimestamp);
+			if (demandMode && (lastDemandTimestamp == null || lastDemandTimestamp + idlePauseTimeout < currentTimestamp)) {
+				String systemId = deviceSystemMap.get(deviceId);
+				if (systemId != null) {
+					nextItemsRetrievalTimestamps.remove(systemId);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Retrieves ids of the systems that own at least one device requested during {@link #idlePauseTimeout},
+	 * and drops demand entries that expired
+	 *
+	 * @param currentTimestamp current timestamp
+	 * @return set of system ids
+	 */
+	private Set<String> retrieveDemandedSystemIds(long currentTimestamp) {
+		Set<String> demandedSystemIds = new HashSet<>();
+		Iterator<Map.Entry<String, Long>> iterator = deviceDemandTimestamps.entrySet().iterator();
+		while (iterator.hasNext()) {
+			Map.Entry<String, Long> deviceDemand = iterator.next();
+			if (deviceDemand.getValue() + idlePauseTimeout < currentTimestamp) {
+				iterator.remove();
+				continue;
+			}
+			String systemId = deviceSystemMap.get(deviceDemand.getKey());
+			if (systemId != null) {
+				demandedSystemIds.add(systemId);
+			}
+		}
+		return demandedSystemIds;
+	}
+
+	/**
+	 * Start {@link #deviceDataLoader} on its own thread
+	 */
+	private void startDeviceDataLoader() {
+		deviceDataLoader = new QSysDeviceDataLoader();
+		deviceDataLoaderThread = new Thread(deviceDataLoader, "QSysReflect data loader");
+		deviceDataLoaderThread.setDaemon(true);
+		deviceDataLoaderThread.start();
+	}
+
+	/**
+	 * Make sure data collection is running and postpone the aggregator pause, called on every aggregated devices retrieval
+	 */
+	private void keepDataCollectionActive() {
+		if (checkValidApiToken() && checkValidShard()) {
+			if (collectionWorkQueue == null) {
+				// Due to the bug that after changing properties on fly - the adapter is destroyed but adapter is not initialized properly,
+				// so work queue is not running. We need to make sure collectionWorkQueue exists
+				collectionWorkQueue = new CollectionWorkQueue(QSysReflectConstant.COLLECTION_WORKERS, workQueueCapacity);
+				startDeviceDataLoader();
+			}
+			updateValidRetrieveStatisticsTimestamp();
+		}
+	}
+
+	/**
+	 * Record the currently published aggregated devices in the change journal
+	 */
+	private void recordPublishedDevices() {
+		List<AggregatedDevice> publishedDevices;
+		synchronized (aggregatedDeviceList) {
+			publishedDevices = new ArrayList<>(aggregatedDeviceList);
+		}
+		deviceChangeJournal.record(publishedDevices);
+	}
+
+	/**
+	 * Clone an aggregated device list that based on aggregatedDeviceList variable
+	 *
+	 * @return List<AggregatedDevice>
+	 */
+	private List<AggregatedDevice> cloneAggregatedDeviceList() {
+		try {
+			List<AggregatedDevice> resultAggregatedDeviceList = new ArrayList<>();
+			synchronized (aggregatedDeviceList) {
+				for (AggregatedDevice aggregatedDevice : aggregatedDeviceList) {
+					if (aggregatedDevice == null) {
+						this.logger.warn("Found null AggregatedDevice in aggregatedDeviceList, skipping");
+						continue;
+					}
+					resultAggregatedDeviceList.add(cloneAggregatedDevice(aggregatedDevice));
+				}
+			}
+			return resultAggregatedDeviceList;
+		} catch (Exception e) {
+			this.logger.error("Failed to cloneAggregatedDeviceList", e);
+			return new ArrayList<>();
+		}
+	}
+
+	/**
+	 * Clone a single aggregated device and set its online status
+	 *
+	 * @param aggregatedDevice aggregated device to clone
+	 * @return cloned aggregated device
+	 */
+	private AggregatedDevice cloneAggregatedDevice(AggregatedDevice aggregatedDevice) {
+		AggregatedDevice newClonedAggregatedDevice = new AggregatedDevice();
+		newClonedAggregatedDevice.setDeviceId(aggregatedDevice.getDeviceId());
+		newClonedAggregatedDevice.setDeviceModel(aggregatedDevice.getDeviceModel());
+		newClonedAggregatedDevice.setDeviceName(aggregatedDevice.getDeviceName());
+		newClonedAggregatedDevice.setSerialNumber(aggregatedDevice.getSerialNumber());
+		Map<String, String> newProperties = new HashMap<>();
+		for (Map.Entry<String, String> entry : aggregatedDevice.getProperties().entrySet()) {
+			newProperties.put(entry.getKey(), entry.getValue());
+		}
+		String statusMessage = deviceStatusMessageMap.get(aggregatedDevice.getDeviceId());
+		boolean deviceOnline = QSysReflectConstant.RUNNING.equals(statusMessage) || QSysReflectConstant.OK.equals(statusMessage);
+		newClonedAggregatedDevice.setDeviceOnline(deviceOnline);
+		newClonedAggregatedDevice.setProperties(newProperties);
+		return newClonedAggregatedDevice;
+	}
+
+	/**
+	 * Populate device uptime from the API
+	 *
+	 * @param resultAggregatedDeviceList list of aggregated device that need to update device uptime
+	 */
+	private void populateDeviceUptime(List<AggregatedDevice> resultAggregatedDeviceList) {
+		long currentTimestamp = System.currentTimeMillis();
+		for (int i = 0; i < resultAggregatedDeviceList.size(); i++) {
+			AggregatedDevice aggregatedDevice = resultAggregatedDeviceList.get(i);
+			Map<String, String> properties = aggregatedDevice.getProperties();
+			String startAt = properties.get(QSysReflectConstant.START_AT);
+			String uptime = properties.get(QSysReflectConstant.DEVICE_UPTIME);
+
+			if (!StringUtils.isNullOrEmpty(uptime)) {
+				properties.put(QSysReflectConstant.DEVICE_UPTIME, deviceUptimeCache.get(uptime, currentTimestamp));
+			} else if (!StringUtils.isNullOrEmpty(startAt)) {
+				properties.put(QSysReflectConstant.START_AT, deviceUptimeCache.get(startAt, currentTimestamp));
+			} else if (retainedDevicePropertyNames == null || retainedDevicePropertyNames.contains(QSysReflectConstant.START_AT)) {
+				properties.put(QSysReflectConstant.START_AT, QSysReflectConstant.NONE);
+			}
+			resultAggregatedDeviceList.set(i, aggregatedDevice);
+		}
+	}
+
+	/**
+	 * Retrieve system information and core devices data when their refresh interval has elapsed,
+	 * and schedule the next retrieval of each
+	 *
+	 * @param currentTimestamp current timestamp
+	 * @return true if any of the data was retrieved
+	 */
+	private boolean retrieveInfo(long currentTimestamp) {
+		boolean retrieved = false;
+		if (nextSystemsRetrievalTimestamp <= currentTimestamp) {
+			nextSystemsRetrievalTimestamp = scheduleNextRetrieval(currentTimestamp, systemsRetrievalInterval);
+			long startNanos = System.nanoTime();
+			retrieveSystemInfo();
+			cycleStatistics.record(CollectionStage.RETRIEVE_SYSTEM_INFO, startNanos);
+			removeStaleSystemDevices();
+			if (logger.isDebugEnabled()) {
+				logger.debug(String.format("New fetched system information list: %s", systemResponseList));
+			}
+			retrieved = true;
+		}
+		if (nextCoresRetrievalTimestamp <= currentTimestamp) {
+			nextCoresRetrievalTimestamp = scheduleNextRetrieval(currentTimestamp, coresRetrievalInterval);
+			long startNanos = System.nanoTime();
+			retrieveDevices();
+			cycleStatistics.record(CollectionStage.RETRIEVE_DEVICES, startNanos);
+			if (logger.isDebugEnabled()) {
+				logger.debug(String.format("New fetched devices list: %s", coreDeviceList));
+			}
+			retrieved = true;
+		}
+		if (retrieved) {
+			mapCoreDevicesToSystems();
+		}
+		if (!retrieved && logger.isDebugEnabled()) {
+			logger.debug(String.format("Aggregated devices data and system information retrieval is in cool down. %s seconds left",
+					(Math.min(nextSystemsRetrievalTimestamp, nextCoresRetrievalTimestamp) - currentTimestamp) / 1000));
+		}
+		return retrieved;
+	}
+
+	/**
+	 * Record the systems that own each core device, matched by the core name of the system, and index the core devices
+	 * of the shard of this adapter, so the index only holds devices of the systems this adapter collects
+	 */
+	private void mapCoreDevicesToSystems() {
+		Map<String, List<String>> coreNameSystemMap = new HashMap<>();
+		Map<String, List<String>> coreNameShardSystemMap = new HashMap<>();
+		synchronized (systemResponseList) {
+			for (SystemResponse systemResponse : systemResponseList) {
+				String systemId = String.valueOf(systemResponse.getId());
+				coreNameSystemMap.computeIfAbsent(systemResponse.getCoreName(), coreName -> new ArrayList<>()).add(systemId);
+				if (isInShard(systemResponse.getId())) {
+					coreNameShardSystemMap.computeIfAbsent(systemResponse.getCoreName(), coreName -> new ArrayList<>()).add(systemId);
+				}
+			}
+		}
+		List<AggregatedDevice> coreDevices = coreDeviceList;
+		for (AggregatedDevice aggregatedDevice : coreDevices) {
+			List<String> systemIds = coreNameSystemMap.get(aggregatedDevice.getDeviceName());
+			if (systemIds != null) {
+				deviceSystemMap.put(aggregatedDevice.getDeviceId(), systemIds.get(systemIds.size() - 1));
+			}
+		}
+		// ownership is recorded for every core above, so cores of the systems of other shards can be told apart here
+		List<AggregatedDevice> shardCoreDevices = shardCount > 1 ? coreDevices.stream().filter(this::isCoreDeviceInShard).collect(Collectors.toList()) : coreDevices;
+		deviceIndex.update(QSysReflectConstant.CORES_SCOPE, shardCoreDevices,
+				aggregatedDevice -> coreNameShardSystemMap.getOrDefault(aggregatedDevice.getDeviceName(), Collections.emptyList()));
 	}
 
 	/**
-	 * {@inheritDoc}
+	 * Retrieve devices of every system whose items refresh interval has elapsed, and wait for the retrieval to finish
+	 *
+	 * @param currentTimestamp current timestamp
+	 * @param loader loader that runs the retrieval, the wait stops once it is stopped
+	 * @return true if devices of any system were retrieved
 	 */
-	@Override
-	public List<Statistics> getMultipleStatistics() {
-		if (!checkValidApiToken()) {
-			throw new ResourceNotReachableException("API Token cannot be null or empty, please enter valid API token in the password field.");
+	private boolean retrieveSystemItems(long currentTimestamp, QSysDeviceDataLoader loader) {
+		if (systemResponseList.isEmpty()) {
+			return false;
 		}
-		Map<String, String> statistics = new HashMap<>();
-		ExtendedStatistics extendedStatistics = new ExtendedStatistics();
-		populateSystemData(statistics);
-		extendedStatistics.setStatistics(statistics);
-		if (!systemErrorMessagesList.isEmpty()) {
-			synchronized (systemErrorMessagesList) {
-				String errorMessage = systemErrorMessagesList.stream().map(Object::toString)
-						.collect(Collectors.joining("\n"));
-				systemErrorMessagesList.clear();
-				throw new ResourceNotReachableException(errorMessage);
+		long itemsStartNanos = System.nanoTime();
+		List<SystemResponse> systemResponseFilter = filterBySystemName(filterSystemName);
+		// expired demand is dropped on every cycle, the demanded systems only change the schedule in demand mode
+		Set<String> demandedSystemIds = retrieveDemandedSystemIds(currentTimestamp);
+		demandedSystemCount = demandedSystemIds.size();
+		if (!demandMode) {
+			demandedSystemIds = null;
+		}
+		long backgroundInterval = backgroundRetrievalInterval > 0 ? backgroundRetrievalInterval : QSysReflectConstant.DEFAULT_BACKGROUND_RETRIEVAL_INTERVAL;
+		synchronized (systemResponseFilter) {
+			for (SystemResponse systemResponse : systemResponseFilter) {
+				String systemId = String.valueOf(systemResponse.getId());
+				Long nextItemsRetrievalTimestamp = nextItemsRetrievalTimestamps.get(systemId);
+				if (!isInShard(systemResponse.getId()) || nextItemsRetrievalTimestamp != null && nextItemsRetrievalTimestamp > currentTimestamp) {
+					continue;
+				}
+				// systems with an open circuit keep their last known devices and are not given a worker until the backoff elapses
+				CircuitBreaker circuitBreaker = itemsCircuitBreakers.computeIfAbsent(systemId, id -> new CircuitBreaker());
+				if (!circuitBreaker.allowRequest(currentTimestamp)) {
+					continue;
+				}
+				long retrievalInterval = demandedSystemIds == null || demandedSystemIds.contains(systemId) ? itemsRetrievalInterval : backgroundInterval;
+				nextItemsRetrievalTimestamps.put(systemId, scheduleNextRetrieval(currentTimestamp, retrievalInterval));
+				try {
+					if (asyncRequests) {
+						devicesExecutionPool.put(systemId, retrieveDeviceDetailsAsync(systemId));
+						continue;
+					}
+					devicesExecutionPool.put(systemId, collectionWorkQueue.submit(() -> {
+						try {
+							populateDeviceDetails(systemResponse);
+						} catch (Exception e) {
+							logger.error(String.format("Exception during retrieve '%s' data processing.", systemResponse.getName()), e);
+						}
+					}));
+				} catch (RejectedExecutionException e) {
+					// the work queue, or the request queue of the transport, is full: this system and the next ones stay due,
+					// and are submitted once the queued work is done.
+					// A half-open probe that was let through is given back, so the circuit does not stay half-open
+					nextItemsRetrievalTimestamps.remove(systemId);
+					circuitBreaker.recordCancellation();
+					if (logger.isDebugEnabled()) {
+						logger.debug(String.format("Work queue is full, retrieval of system %s and the next systems is postponed", systemId));
+					}
+					break;
+				}
 			}
 		}
-		return Collections.singletonList(extendedStatistics);
+		if (devicesExecutionPool.isEmpty()) {
+			return false;
+		}
+		do {
+			try {
+				TimeUnit.MILLISECONDS.sleep(Math.max(1, Math.min(500, cycleDeadlineTimestamp - System.currentTimeMillis())));
+			} catch (InterruptedException e) {
+				if (!loader.inProgress) {
+					break;
+				}
+			}
+			devicesExecutionPool.values().removeIf(Future::isDone);
+			if (!devicesExecutionPool.isEmpty() && System.currentTimeMillis() >= cycleDeadlineTimestamp) {
+				logger.warn(String.format("Cycle deadline of %s ms exceeded, publishing the devices retrieved in time and cancelling %s system retrievals",
+						cycleDeadline, devicesExecutionPool.size()));
+				deadlineExceededCycles.incrementAndGet();
+				cancelSystemRetrievals();
+			}
+		} while (!devicesExecutionPool.isEmpty());
+		cycleStatistics.record(CollectionStage.RETRIEVE_ITEMS, itemsStartNanos);
+		return true;
 	}
 
 	/**
-	 * {@inheritDoc}
+	 * Drop devices, device ownership, status messages and items schedule of the systems that are no longer part of the system information list
 	 */
-	@Override
-	public List<AggregatedDevice> retrieveMultipleStatistics() {
-		if (checkValidApiToken()) {
-			if (executorService == null) {
-				// Due to the bug that after changing properties on fly - the adapter is destroyed but adapter is not initialized properly,
-				// so executor service is not running. We need to make sure executorService exists
-				executorService = Executors.newFixedThreadPool(8);
-				executorService.submit(deviceDataLoader = new QSysDeviceDataLoader());
+	private void removeStaleSystemDevices() {
+		Set<String> systemIds = new HashSet<>();
+		synchronized (systemResponseList) {
+			for (SystemResponse systemResponse : systemResponseList) {
+				systemIds.add(String.valueOf(systemResponse.getId()));
 			}
-			nextDevicesCollectionIterationTimestamp = System.currentTimeMillis();
-			updateValidRetrieveStatisticsTimestamp();
 		}
-		if (aggregatedDeviceList.isEmpty()) {
-			return aggregatedDeviceList;
+		Set<String> scopes = new HashSet<>();
+		scopes.add(QSysReflectConstant.CORES_SCOPE);
+		for (String systemId : systemIds) {
+			scopes.add(QSysReflectConstant.SYSTEM_SCOPE + systemId);
 		}
-		List<AggregatedDevice> resultAggregatedDeviceList = cloneAggregatedDeviceList();
-		populateDeviceUptime(resultAggregatedDeviceList);
-		return resultAggregatedDeviceList;
+		deviceIndex.retainScopes(scopes);
+		mappedDeviceCache.retainScopes(scopes);
+		StatusTransitionJournal journal = statusJournal;
+		if (journal != null) {
+			Set<String> statusScopes = new HashSet<>(scopes);
+			statusScopes.add(QSysReflectConstant.SYSTEM_STATUS_SCOPE);
+			journal.retainScopes(statusScopes);
+			journal.retainIds(QSysReflectConstant.SYSTEM_STATUS_SCOPE, systemIds);
+		}
+		nextItemsRetrievalTimestamps.keySet().retainAll(systemIds);
+		itemsCircuitBreakers.keySet().retainAll(systemIds);
+		systemFaultTrends.keySet().retainAll(systemIds);
+		systemAvailabilityTrends.keySet().retainAll(systemIds);
+		Set<String> coreDeviceIds = new HashSet<>();
+		for (AggregatedDevice coreDevice : coreDeviceList) {
+			coreDeviceIds.add(coreDevice.getDeviceId());
+		}
+		deviceSystemMap.entrySet().removeIf(deviceSystem -> {
+			if (systemIds.contains(deviceSystem.getValue())) {
+				return false;
+			}
+			// the status of a core still listed by /cores is kept along with the core
+			if (!coreDeviceIds.contains(deviceSystem.getKey())) {
+				deviceStatusMessageMap.remove(deviceSystem.getKey());
+			}
+			return true;
+		});
 	}
 
 	/**
-	 * {@inheritDoc}
+	 * Publish the view of the collected devices that matches the filter options in Adapter Properties
 	 */
-	@Override
-	public List<AggregatedDevice> retrieveMultipleStatistics(List<String> listDeviceId) {
-		return retrieveMultipleStatistics().stream().filter(aggregatedDevice -> listDeviceId.contains(aggregatedDevice.getDeviceId())).collect(Collectors.toList());
+	private void populateAggregatedDeviceList() {
+		aggregatedDeviceList = selectDevices(filterSystemName, filterModel, filterDeviceStatusMessage, filterType);
 	}
 
 	/**
-	 * Clone an aggregated device list that based on aggregatedDeviceList variable
+	 * Select the devices of {@link #deviceIndex} that match the given filter options: the core devices and devices of every system
+	 * that passes the system name filter and belongs to the shard of this adapter, filtered as an intersection
+	 * of the {@link #deviceIndex} postings of the filter values. The collected devices are left untouched,
+	 * so any number of views can be selected from the same collected data.
 	 *
-	 * @return List<AggregatedDevice>
+	 * @param filterSystemName system names separated by commas, null for every system
+	 * @param filterModel model names separated by commas, null for every model
+	 * @param filterDeviceStatusMessage status messages separated by commas, null for every status message
+	 * @param filterType device types separated by commas, null for every type
+	 * @return selected devices, in the order they were collected
 	 */
-	private List<AggregatedDevice> cloneAggregatedDeviceList() {
-		try {
-			List<AggregatedDevice> resultAggregatedDeviceList = new ArrayList<>();
-			synchronized (aggregatedDeviceList) {
-				for (AggregatedDevice aggregatedDevice : aggregatedDeviceList) {
-					if (aggregatedDevice == null) {
-						this.logger.warn("Found null AggregatedDevice in aggregatedDeviceList, skipping");
-						continue;
-					}
-					AggregatedDevice newClonedAggregatedDevice = new AggregatedDevice();
-					newClonedAggregatedDevice.setDeviceId(aggregatedDevice.getDeviceId());
-					newClonedAggregatedDevice.setDeviceModel(aggregatedDevice.getDeviceModel());
-					newClonedAggregatedDevice.setDeviceName(aggregatedDevice.getDeviceName());
-					newClonedAggregatedDevice.setSerialNumber(aggregatedDevice.getSerialNumber());
-					Map<String, String> newProperties = new HashMap<>();
-					for (Map.Entry<String, String> entry : aggregatedDevice.getProperties().entrySet()) {
-						newProperties.put(entry.getKey(), entry.getValue());
-					}
-					boolean deviceOnline =
-							deviceStatusMessageMap.get(aggregatedDevice.getDeviceId()).equals(QSysReflectConstant.RUNNING) || deviceStatusMessageMap.get(aggregatedDevice.getDeviceId())
-									.equals(QSysReflectConstant.OK);
-					newClonedAggregatedDevice.setDeviceOnline(deviceOnline);
-					newClonedAggregatedDevice.setProperties(newProperties);
-					resultAggregatedDeviceList.add(newClonedAggregatedDevice);
+	private List<AggregatedDevice> selectDevices(String filterSystemName, String filterModel, String filterDeviceStatusMessage, String filterType) {
+		boolean systemNameFiltered = !StringUtils.isNullOrEmpty(filterSystemName);
+		List<SystemResponse> systemResponseFilter = filterBySystemName(filterSystemName);
+		Map<String, Integer> scopeRanks = new HashMap<>();
+		scopeRanks.put(QSysReflectConstant.CORES_SCOPE, 0);
+		List<String> filteredSystemIds = new ArrayList<>();
+		synchronized (systemResponseFilter) {
+			for (SystemResponse systemResponse : systemResponseFilter) {
+				String systemId = String.valueOf(systemResponse.getId());
+				filteredSystemIds.add(systemId);
+				if (isInShard(systemResponse.getId())) {
+					scopeRanks.putIfAbsent(QSysReflectConstant.SYSTEM_SCOPE + systemId, scopeRanks.size());
 				}
 			}
-			return resultAggregatedDeviceList;
-		} catch (Exception e) {
-			this.logger.error("Failed to cloneAggregatedDeviceList", e);
-			return new ArrayList<>();
 		}
+		Map<DeviceIndex.Attribute, Collection<String>> criteria = new EnumMap<>(DeviceIndex.Attribute.class);
+		if (systemNameFiltered) {
+			criteria.put(DeviceIndex.Attribute.SYSTEM, filteredSystemIds);
+		}
+		putFilterCriterion(criteria, DeviceIndex.Attribute.MODEL, filterModel);
+		putFilterCriterion(criteria, DeviceIndex.Attribute.STATUS, filterDeviceStatusMessage);
+		putFilterCriterion(criteria, DeviceIndex.Attribute.TYPE, filterType);
+		return deviceIndex.select(criteria, scopeRanks, shardCount > 1 ? this::isCoreDeviceInShard : null);
 	}
 
 	/**
-	 * Populate filter list of aggregated devices based
+	 * Add the values of the filter option to the criteria of the device selection, if the filter option is set
 	 *
-	 * @param filterName the filterName is name of filter
-	 * @param propertiesName the propertiesName is type filter
+	 * @param criteria criteria of the device selection
+	 * @param attribute indexed attribute the filter option applies to
+	 * @param filter value of the filter option in Adapter Properties
 	 */
-	private void populateFilter(String filterName, String propertiesName) {
-		try {
-			if (!StringUtils.isNullOrEmpty(filterName) && !QSysReflectConstant.DOUBLE_QUOTES.equals(filterName)) {
-				List<String> filterTypeValues = handleListExtractFilter(filterName);
-				if (logger.isDebugEnabled()) {
-					logger.debug(String.format("Applying device filter with values(s): %s", filterName));
-				}
-				List<AggregatedDevice> filteredAggregatedDevice = new ArrayList<>();
-				synchronized (aggregatedDeviceList) {
-					for (AggregatedDevice aggregatedDevice : aggregatedDeviceList) {
-						Map<String, String> properties = aggregatedDevice.getProperties();
-						for (String type : filterTypeValues) {
-							if (type.equals(properties.get(propertiesName))) {
-								filteredAggregatedDevice.add(aggregatedDevice);
-							}
-						}
-					}
-				}
-				aggregatedDeviceList = filteredAggregatedDevice;
+	private void putFilterCriterion(Map<DeviceIndex.Attribute, Collection<String>> criteria, DeviceIndex.Attribute attribute, String filter) {
+		if (!StringUtils.isNullOrEmpty(filter) && !QSysReflectConstant.DOUBLE_QUOTES.equals(filter)) {
+			if (logger.isDebugEnabled()) {
+				logger.debug(String.format("Applying device %s filter with values(s): %s", attribute.name().toLowerCase(), filter));
 			}
-		} catch (Exception e) {
-			this.logger.error("Failed to populateFilter", e);
+			criteria.put(attribute, handleListExtractFilter(filter));
 		}
 	}
 
 	/**
-	 * Filter list of aggregated devices based on device model
+	 * Check whether the system or device with the given id belongs to the shard of this adapter.
+	 * Ids are spread between the shards by a stable multiplicative hash, so every adapter of the fleet
+	 * computes the same partition.
+	 *
+	 * @param id system id, or device id of a core that does not belong to any known system
+	 * @return true if sharding is disabled or the id belongs to {@link #shardIndex}
 	 */
-	private void filterDeviceModel() {
-		try {
-			if (!StringUtils.isNullOrEmpty(filterModel) && !QSysReflectConstant.DOUBLE_QUOTES.equals(filterModel)) {
-				List<String> filterDeviceModelValues = handleListExtractFilter(filterModel);
-				if (logger.isDebugEnabled()) {
-					logger.debug(String.format("Applying device model filter with values(s): %s", filterModel));
-				}
-				List<AggregatedDevice> filteredAggregatedDevice = new ArrayList<>();
-				synchronized (aggregatedDeviceList) {
-					for (AggregatedDevice aggregatedDevice : aggregatedDeviceList) {
-						for (String modelName : filterDeviceModelValues) {
-							if (modelName.equals(aggregatedDevice.getDeviceModel())) {
-								filteredAggregatedDevice.add(aggregatedDevice);
-							}
-						}
-					}
-				}
-				aggregatedDeviceList = filteredAggregatedDevice;
-			}
-		} catch (Exception e) {
-			this.logger.error("Failed to filterDeviceModel", e);
+	private boolean isInShard(long id) {
+		if (shardCount <= 1) {
+			return true;
 		}
+		long hash = id * QSysReflectConstant.SHARD_HASH_MULTIPLIER;
+		hash ^= hash >>> 32;
+		return Math.floorMod(hash, (long) shardCount) == shardIndex;
 	}
 
 	/**
-	 * Populate status message from the API
+	 * Check whether the core device belongs to the shard of this adapter, based on the system that owns it
+	 *
+	 * @param aggregatedDevice core device
+	 * @return true if the core belongs to {@link #shardIndex}
 	 */
-	private void populateDeviceStatusMessage() {
+	private boolean isCoreDeviceInShard(AggregatedDevice aggregatedDevice) {
+		if (shardCount <= 1) {
+			return true;
+		}
+		String ownerId = deviceSystemMap.getOrDefault(aggregatedDevice.getDeviceId(), aggregatedDevice.getDeviceId());
 		try {
-			synchronized (aggregatedDeviceList) {
-				for (int i = 0; i < aggregatedDeviceList.size(); i++) {
-					AggregatedDevice aggregatedDevice = aggregatedDeviceList.get(i);
-					Map<String, String> properties = aggregatedDevice.getProperties();
-					properties.put(QSysReflectConstant.DEVICE_STATUS_MESSAGE, deviceStatusMessageMap.get(aggregatedDevice.getDeviceId()));
-					aggregatedDeviceList.set(i, aggregatedDevice);
-				}
-			}
-		} catch (Exception e) {
-			logger.error("Failed to populateDeviceStatusMessage", e);
+			return isInShard(Long.parseLong(ownerId));
+		} catch (NumberFormatException e) {
+			return isInShard(ownerId.hashCode());
 		}
 	}
 
 	/**
-	 * Populate device uptime from the API
+	 * Calculate timestamp of the next retrieval, spread by a random jitter so the requests of
+	 * different systems and adapters do not line up
 	 *
-	 * @param resultAggregatedDeviceList list of aggregated device that need to update device uptime
+	 * @param currentTimestamp current timestamp
+	 * @param retrievalInterval configured refresh interval, 0 to use {@link #deviceMetaDataRetrievalTimeout}
+	 * @return timestamp of the next retrieval
 	 */
-	private void populateDeviceUptime(List<AggregatedDevice> resultAggregatedDeviceList) {
-		for (int i = 0; i < resultAggregatedDeviceList.size(); i++) {
-			AggregatedDevice aggregatedDevice = resultAggregatedDeviceList.get(i);
-			Map<String, String> properties = aggregatedDevice.getProperties();
-			String startAt = properties.get(QSysReflectConstant.START_AT);
-			String uptime = properties.get(QSysReflectConstant.DEVICE_UPTIME);
+	private long scheduleNextRetrieval(long currentTimestamp, long retrievalInterval) {
+		long interval = retrievalInterval > 0 ? retrievalInterval : deviceMetaDataRetrievalTimeout;
+		long jitter = interval * QSysReflectConstant.RETRIEVAL_JITTER_PERCENT / 100;
+		return currentTimestamp + interval + ThreadLocalRandom.current().nextLong(jitter + 1);
+	}
 
-			if (!StringUtils.isNullOrEmpty(uptime)) {
-				properties.put(QSysReflectConstant.DEVICE_UPTIME, handleNormalizeUptime(Long.parseLong(uptime)));
-			} else if (!StringUtils.isNullOrEmpty(startAt)) {
-				properties.put(QSysReflectConstant.START_AT, handleNormalizeUptime(Long.parseLong(startAt)));
-			} else {
-				properties.put(QSysReflectConstant.START_AT, QSysReflectConstant.NONE);
-			}
-			resultAggregatedDeviceList.set(i, aggregatedDevice);
-		}
+	/**
+	 * Bring the scheduled retrievals forward to the refresh intervals set on the running adapter,
+	 * so a shorter interval applies without waiting for the retrievals scheduled with the previous one
+	 */
+	private void rescheduleRetrievals() {
+		long currentTimestamp = System.currentTimeMillis();
+		nextSystemsRetrievalTimestamp = Math.min(nextSystemsRetrievalTimestamp, scheduleNextRetrieval(currentTimestamp, systemsRetrievalInterval));
+		nextCoresRetrievalTimestamp = Math.min(nextCoresRetrievalTimestamp, scheduleNextRetrieval(currentTimestamp, coresRetrievalInterval));
+		nextItemsRetrievalTimestamps.replaceAll((systemId, timestamp) -> Math.min(timestamp, scheduleNextRetrieval(currentTimestamp, itemsRetrievalInterval)));
 	}
 
 	/**
-	 * Retrieve aggregated devices and system information data -
-	 * and set next device/system collection iteration timestamp
+	 * Validate refresh interval set in the adapter properties
+	 *
+	 * @param name name of the adapter property
+	 * @param retrievalInterval refresh interval in ms
+	 * @return interval within the supported range, 0 if the interval is not set
 	 */
-	private void retrieveInfo(long currentTimestamp) {
-		if (validDeviceMetaDataRetrievalPeriodTimestamp > currentTimestamp) {
-			if (logger.isDebugEnabled()) {
-				logger.debug(String.format("Aggregated devices data and system information retrieval is in cool down. %s seconds left",
-						(validDeviceMetaDataRetrievalPeriodTimestamp - currentTimestamp) / 1000));
-				if (!aggregatedDeviceList.isEmpty()) {
-					logger.debug(String.format("Old fetched devices list: %s", aggregatedDeviceList));
-				}
-				if (!systemResponseList.isEmpty()) {
-					logger.debug(String.format("Old system information list: %s", systemResponseList));
-				}
-			}
-			return;
-		}
-		retrieveSystemInfo();
-		if (logger.isDebugEnabled()) {
-			logger.debug(String.format("New fetched system information list: %s", systemResponseList));
+	private long validateRetrievalInterval(String name, long retrievalInterval) {
+		if (retrievalInterval <= 0) {
+			return 0;
 		}
+		return clamp(name, retrievalInterval, QSysReflectConstant.MIN_RETRIEVAL_INTERVAL, QSysReflectConstant.MAX_RETRIEVAL_INTERVAL);
+	}
 
-		retrieveDevices();
-		if (logger.isDebugEnabled()) {
-			logger.debug(String.format("New fetched devices list: %s", aggregatedDeviceList));
+	/**
+	 * Clamp the adapter property value to the given range
+	 *
+	 * @param name name of the adapter property
+	 * @param value value set in the adapter properties
+	 * @param min min supported value
+	 * @param max max supported value
+	 * @return value within the range
+	 */
+	private long clamp(String name, long value, long min, long max) {
+		long result = Math.min(max, Math.max(min, value));
+		if (result != value) {
+			logger.warn(String.format("%s value %s is out of the supported range [%s, %s], %s is used instead", name, value, min, max, result));
 		}
+		return result;
 	}
 
 	/**
@@ -708,38 +2076,26 @@ public class QSysReflectCommunicator extends RestCommunicator implements Aggrega
 	 */
 	private void retrieveDevices() {
 		try {
-			String responseDeviceList = this.fetchData(QSysReflectConstant.QSYS_URL_CORES, String.class);
-			JsonNode devices = objectMapper.readTree(responseDeviceList);
+			JsonNode devices = this.fetchData(QSysReflectConstant.QSYS_URL_CORES, JsonNode.class);
+			Map<String, String> statusMessages = new HashMap<>();
 			for (int i = 0; i < devices.size(); i++) {
 				JsonNode currentDevice = devices.get(i);
-				deviceStatusMessageMap.put(currentDevice.get(QSysReflectConstant.ID).asText(), currentDevice.get(QSysReflectConstant.STATUS)
-						.get(QSysReflectConstant.MESSAGE).asText());
-			}
-			aggregatedDeviceList = new ArrayList<>(aggregatedDeviceProcessor.extractDevices(devices));
-			if (!StringUtils.isNullOrEmpty(filterSystemName)) {
-				List<AggregatedDevice> aggregatedDevices = new ArrayList<>();
-				List<String> filterSystemNameValues = handleListExtractFilter(filterSystemName);
-				synchronized (systemResponseList) {
-					//filter aggregatedDevice is cores by systemName
-					for (SystemResponse systemResponse : systemResponseList) {
-						for (AggregatedDevice aggregatedDevice : aggregatedDeviceList) {
-							if (aggregatedDevice == null) {
-								this.logger.warn("Found null AggregatedDevice in aggregatedDeviceList, skipping");
-								continue;
-							}
-							if (filterSystemNameValues.contains(systemResponse.getName()) && aggregatedDevice.getDeviceName().equals(systemResponse.getCoreName())) {
-								aggregatedDevices.add(aggregatedDevice);
-							}
-						}
-					}
-				}
-				aggregatedDeviceList = aggregatedDevices;
+				String statusMessage = currentDevice.get(QSysReflectConstant.STATUS).get(QSysReflectConstant.MESSAGE).asText();
+				statusMessages.put(currentDevice.get(QSysReflectConstant.ID).asText(), statusMessage);
+				recordStatusTransition(false, QSysReflectConstant.CORES_SCOPE, currentDevice.get(QSysReflectConstant.ID).asText(), statusMessage);
+				deviceStatusMessageMap.put(currentDevice.get(QSysReflectConstant.ID).asText(), statusMessage);
 			}
-			for (AggregatedDevice aggregatedDevice : aggregatedDeviceList) {
+			long mappingStartNanos = System.nanoTime();
+			List<AggregatedDevice> coreDevices = mappedDeviceCache.extractDevices(QSysReflectConstant.CORES_SCOPE, devices, aggregatedDeviceProcessor, mappingPool,
+					parallelMappingThreshold);
+			cycleStatistics.record(CollectionStage.MAPPING, mappingStartNanos);
+			for (AggregatedDevice aggregatedDevice : coreDevices) {
 				Map<String, String> stats = aggregatedDevice.getProperties();
 				stats.put(QSysReflectConstant.DEVICE_TYPE, QSysReflectConstant.CORE);
+				stats.put(QSysReflectConstant.DEVICE_STATUS_MESSAGE, statusMessages.get(aggregatedDevice.getDeviceId()));
 				aggregatedDevice.setProperties(stats);
 			}
+			coreDeviceList = coreDevices;
 		} catch (Exception e) {
 			String errorMessage = String.format("Aggregated Device Data Retrieval-Error: %s", e.getMessage());
 			if (logger.isDebugEnabled()) {
@@ -757,16 +2113,16 @@ public class QSysReflectCommunicator extends RestCommunicator implements Aggrega
 	private void populateDeviceDetails(SystemResponse deviceSystem) {
 		try {
 			String deviceId = String.valueOf(deviceSystem.getId());
-			JsonNode responseDeviceList = this.fetchData(QSysReflectConstant.QSYS_URL_SYSTEMS + "/" + deviceId + QSysReflectConstant.QSYS_URL_ITEMS, JsonNode.class);
-			for (int i = 0; i < responseDeviceList.size(); i++) {
-				JsonNode currentDevice = responseDeviceList.get(i);
-				deviceStatusMessageMap.put(currentDevice.get(QSysReflectConstant.ID).asText(), currentDevice.get(QSysReflectConstant.STATUS)
-						.get(QSysReflectConstant.MESSAGE).asText());
-			}
-			aggregatedDeviceList.addAll(aggregatedDeviceProcessorSecond.extractDevices(responseDeviceList));
-			if (logger.isDebugEnabled()) {
-				logger.debug(String.format("New fetched aggregated device list: %s", aggregatedDeviceList));
+			CircuitBreaker circuitBreaker = itemsCircuitBreakers.computeIfAbsent(deviceId, id -> new CircuitBreaker());
+			JsonNode responseDeviceList;
+			try {
+				responseDeviceList = this.fetchData(buildDeviceDetailsUrl(deviceId), JsonNode.class, hedgedRequests);
+				circuitBreaker.recordSuccess();
+			} catch (Exception e) {
+				recordDeviceDetailsFailure(deviceId, circuitBreaker);
+				throw e;
 			}
+			processDeviceDetails(deviceId, responseDeviceList);
 		} catch (Exception e) {
 			String errorMessage = String.format("Aggregated Device Data Retrieval-Error: %s", e.getMessage());
 			if (logger.isDebugEnabled()) {
@@ -775,6 +2131,142 @@ public class QSysReflectCommunicator extends RestCommunicator implements Aggrega
 		}
 	}
 
+	/**
+	 * Send the /systems/{id}/items request of the system on a request thread of the HTTP transport, and map its response
+	 * on a collection worker once it arrives. The collection workers are not held while the request is in flight.
+	 * Cancelling the returned future skips the mapping, and the request too if it is still queued.
+	 *
+	 * @param systemId system id
+	 * @return future of the mapped devices
+	 * @throws RejectedExecutionException if the request queue of the transport is full
+	 */
+	private Future<?> retrieveDeviceDetailsAsync(String systemId) {
+		CircuitBreaker circuitBreaker = itemsCircuitBreakers.computeIfAbsent(systemId, id -> new CircuitBreaker());
+		boolean hedged = hedgedRequests;
+		CompletableFuture<JsonNode> response;
+		try {
+			response = obtainHttpTransport().callAsync(cycleDeadlineTimestamp, () -> this.fetchData(buildDeviceDetailsUrl(systemId), JsonNode.class, hedged));
+		} catch (RejectedExecutionException e) {
+			throw e;
+		} catch (Exception e) {
+			response = new CompletableFuture<>();
+			response.completeExceptionally(e);
+		}
+		response.whenComplete((responseDeviceList, error) -> {
+			if (error == null) {
+				circuitBreaker.recordSuccess();
+			} else if (error instanceof CancellationException) {
+				// the transport was closed before the request was sent
+				circuitBreaker.recordCancellation();
+				nextItemsRetrievalTimestamps.remove(systemId);
+			} else {
+				recordDeviceDetailsFailure(systemId, circuitBreaker);
+				if (logger.isDebugEnabled()) {
+					logger.debug(String.format("Aggregated Device Data Retrieval-Error: %s", error.getMessage()), error);
+				}
+			}
+		});
+		CompletableFuture<JsonNode> request = response;
+		CompletableFuture<Void> mapping = request.thenAcceptAsync(responseDeviceList -> processDeviceDetails(systemId, responseDeviceList), collectionWorkQueue);
+		mapping.whenComplete((result, error) -> {
+			if (mapping.isCancelled()) {
+				// cancelled at the cycle deadline
+				request.cancel(false);
+				return;
+			}
+			if (error == null || request.isCompletedExceptionally()) {
+				// mapped, or the request failure recorded above
+				return;
+			}
+			Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+			if (cause instanceof RejectedExecutionException) {
+				// the work queue is full, the system is retrieved again on the next cycle
+				nextItemsRetrievalTimestamps.remove(systemId);
+			} else {
+				logger.error(String.format("Exception during retrieve '%s' data processing.", systemId), cause);
+			}
+		});
+		return mapping;
+	}
+
+	/**
+	 * Cancel the system retrievals that did not complete by the cycle deadline. A retrieval cancelled while it was still queued
+	 * never runs, so its system is made due again and a half-open probe of its circuit is given back here, the same way
+	 * {@link #recordDeviceDetailsFailure(String, CircuitBreaker)} does for a retrieval cut short while running.
+	 */
+	private void cancelSystemRetrievals() {
+		devicesExecutionPool.forEach((systemId, future) -> {
+			if (!future.cancel(true)) {
+				// completed since the last check
+				return;
+			}
+			nextItemsRetrievalTimestamps.remove(systemId);
+			CircuitBreaker circuitBreaker = itemsCircuitBreakers.get(systemId);
+			if (circuitBreaker != null) {
+				circuitBreaker.recordCancellation();
+			}
+		});
+		devicesExecutionPool.clear();
+	}
+
+	/**
+	 * Record a failed /systems/{id}/items retrieval. Retrievals cut short by the cycle deadline are not held against the system,
+	 * which is retrieved again on the next cycle instead.
+	 *
+	 * @param systemId system id
+	 * @param circuitBreaker circuit breaker of the system
+	 */
+	private void recordDeviceDetailsFailure(String systemId, CircuitBreaker circuitBreaker) {
+		if (System.currentTimeMillis() >= cycleDeadlineTimestamp) {
+			circuitBreaker.recordCancellation();
+			nextItemsRetrievalTimestamps.remove(systemId);
+			return;
+		}
+		circuitBreaker.recordFailure(System.currentTimeMillis(), circuitBreakerFailureThreshold, QSysReflectConstant.CIRCUIT_BREAKER_BASE_BACKOFF,
+				circuitBreakerMaxBackoff);
+	}
+
+	/**
+	 * Map the /systems/{id}/items response of the system to aggregated devices
+	 *
+	 * @param systemId system id
+	 * @param responseDeviceList /systems/{id}/items response
+	 */
+	private void processDeviceDetails(String systemId, JsonNode responseDeviceList) {
+		// status messages of this response, the shared map may already hold the status of the same id reported by another system
+		Map<String, String> statusMessages = new HashMap<>();
+		for (int i = 0; i < responseDeviceList.size(); i++) {
+			JsonNode currentDevice = responseDeviceList.get(i);
+			String currentDeviceId = currentDevice.get(QSysReflectConstant.ID).asText();
+			String statusMessage = currentDevice.get(QSysReflectConstant.STATUS).get(QSysReflectConstant.MESSAGE).asText();
+			statusMessages.put(currentDeviceId, statusMessage);
+			recordStatusTransition(false, QSysReflectConstant.SYSTEM_SCOPE + systemId, currentDeviceId, statusMessage);
+			deviceStatusMessageMap.put(currentDeviceId, statusMessage);
+			deviceSystemMap.put(currentDeviceId, systemId);
+		}
+		long mappingStartNanos = System.nanoTime();
+		List<AggregatedDevice> systemDevices = mappedDeviceCache.extractDevices(QSysReflectConstant.SYSTEM_SCOPE + systemId, responseDeviceList, aggregatedDeviceProcessorSecond,
+				mappingPool, parallelMappingThreshold);
+		cycleStatistics.record(CollectionStage.MAPPING, mappingStartNanos);
+		for (AggregatedDevice aggregatedDevice : systemDevices) {
+			aggregatedDevice.getProperties().put(QSysReflectConstant.DEVICE_STATUS_MESSAGE, statusMessages.get(aggregatedDevice.getDeviceId()));
+		}
+		deviceIndex.update(QSysReflectConstant.SYSTEM_SCOPE + systemId, systemDevices, aggregatedDevice -> Collections.singletonList(systemId));
+		if (logger.isDebugEnabled()) {
+			logger.debug(String.format("New fetched aggregated device list of system %s: %s", systemId, systemDevices));
+		}
+	}
+
+	/**
+	 * Build the /systems/{id}/items url of the system
+	 *
+	 * @param systemId system id
+	 * @return url of the devices of the system
+	 */
+	private String buildDeviceDetailsUrl(String systemId) {
+		return QSysReflectConstant.QSYS_URL_SYSTEMS + "/" + systemId + QSysReflectConstant.QSYS_URL_ITEMS;
+	}
+
 	/**
 	 * Get system information every 30 seconds
 	 * API Endpoint: /systems
@@ -783,13 +2275,25 @@ public class QSysReflectCommunicator extends RestCommunicator implements Aggrega
 	public void retrieveSystemInfo() {
 		// Retrieve system information every 30 seconds
 		try {
-			String systemResponse = this.fetchData(QSysReflectConstant.QSYS_URL_SYSTEMS, String.class);
-			JsonNode systems = objectMapper.readTree(systemResponse);
+			JsonNode systems = this.fetchData(QSysReflectConstant.QSYS_URL_SYSTEMS, JsonNode.class);
 			systemResponseList.clear();
+			long[] alertTotals = new long[4];
+			int shardSystems = 0;
 			for (int i = 0; i < systems.size(); i++) {
 				SystemResponse sysRes = objectMapper.treeToValue(systems.get(i), SystemResponse.class);
 				systemResponseList.add(sysRes);
+				recordStatusTransition(true, QSysReflectConstant.SYSTEM_STATUS_SCOPE, String.valueOf(sysRes.getId()), String.valueOf(sysRes.getStatusString()));
+				if (!isInShard(sysRes.getId())) {
+					continue;
+				}
+				shardSystems++;
+				alertTotals[0] += sysRes.getNormalAlert() == null ? 0 : sysRes.getNormalAlert();
+				alertTotals[1] += sysRes.getWarningAlert() == null ? 0 : sysRes.getWarningAlert();
+				alertTotals[2] += sysRes.getFaultAlert() == null ? 0 : sysRes.getFaultAlert();
+				alertTotals[3] += sysRes.getUnknownAlert() == null ? 0 : sysRes.getUnknownAlert();
 			}
+			fleetAlertTotals = alertTotals;
+			shardSystemCount = shardSystems;
 		} catch (Exception e) {
 			String errorMessage = String.format("System Information Data Retrieval-Error: %s", e.getMessage());
 			systemErrorMessagesList.add(errorMessage);
@@ -797,6 +2301,63 @@ public class QSysReflectCommunicator extends RestCommunicator implements Aggrega
 		}
 	}
 
+	/**
+	 * Open the status transition journal in the subdirectory of the account and shard, if a journal directory is set
+	 */
+	private void openStatusJournal() {
+		if (StringUtils.isNullOrEmpty(statusJournalDirectory) || statusJournal != null) {
+			return;
+		}
+		Path directory = Paths.get(statusJournalDirectory, String.format("%s-%s", apiTokenHash.substring(0, 16), shardIndex));
+		try {
+			statusJournal = new StatusTransitionJournal(directory, QSysReflectConstant.STATUS_JOURNAL_SEGMENT_SIZE, statusJournalMaxSegments);
+		} catch (IOException e) {
+			logger.warn(String.format("Failed to open the status transition journal in %s, status transitions are not recorded", directory), e);
+		}
+	}
+
+	/**
+	 * Queue a status transition to the journal if the status of the device or system changed since it was last collected.
+	 * The last statuses are kept by the journal across restarts, only the first status ever collected is not a transition.
+	 *
+	 * @param system true for a system, false for a device
+	 * @param scope scope the status was collected in, the same device id may be reported in several scopes
+	 * @param id system id or device id
+	 * @param status collected status
+	 */
+	private void recordStatusTransition(boolean system, String scope, String id, String status) {
+		StatusTransitionJournal journal = statusJournal;
+		if (journal == null) {
+			return;
+		}
+		journal.recordStatus(System.currentTimeMillis(), system, scope, id, status);
+	}
+
+	/**
+	 * Sample the fault alerts and running status of every system, and the fault alerts and online devices ratio of the fleet,
+	 * at the end of a collection cycle. A series takes at most one sample per {@link QSysReflectConstant#TREND_SAMPLE_INTERVAL}.
+	 *
+	 * @param currentTimestamp current timestamp
+	 */
+	private void sampleTrends(long currentTimestamp) {
+		long interval = QSysReflectConstant.TREND_SAMPLE_INTERVAL;
+		synchronized (systemResponseList) {
+			for (SystemResponse systemResponse : systemResponseList) {
+				String systemId = String.valueOf(systemResponse.getId());
+				systemFaultTrends.computeIfAbsent(systemId, id -> new TimeSeries(QSysReflectConstant.TREND_CAPACITY))
+						.add(currentTimestamp, systemResponse.getFaultAlert() == null ? 0 : systemResponse.getFaultAlert(), interval);
+				systemAvailabilityTrends.computeIfAbsent(systemId, id -> new TimeSeries(QSysReflectConstant.TREND_CAPACITY))
+						.add(currentTimestamp, QSysReflectConstant.RUNNING.equals(systemResponse.getStatusString()) ? 100 : 0, interval);
+			}
+		}
+		fleetFaultTrend.add(currentTimestamp, fleetAlertTotals[2], interval);
+		int devices = deviceIndex.size();
+		if (devices > 0) {
+			int onlineDevices = deviceIndex.count(DeviceIndex.Attribute.STATUS, QSysReflectConstant.RUNNING) + deviceIndex.count(DeviceIndex.Attribute.STATUS, QSysReflectConstant.OK);
+			fleetOnlineRatioTrend.add(currentTimestamp, onlineDevices * 100.0 / devices, interval);
+		}
+	}
+
 	/**
 	 * Populate data to statistics
 	 *
@@ -808,6 +2369,7 @@ public class QSysReflectCommunicator extends RestCommunicator implements Aggrega
 				if (logger.isDebugEnabled()) {
 					logger.debug("Populating system information data");
 				}
+				long currentTimestamp = System.currentTimeMillis();
 				Map<String, String> deviceNameAndModelMap = new HashMap<>();
 				synchronized (aggregatedDeviceList) {
 					for (AggregatedDevice aggregatedDevice : aggregatedDeviceList) {
@@ -818,6 +2380,10 @@ public class QSysReflectCommunicator extends RestCommunicator implements Aggrega
 						deviceNameAndModelMap.put(aggregatedDevice.getDeviceName(), aggregatedDevice.getDeviceModel());
 					}
 				}
+				// cores of the systems that are filtered out or belong to another shard are still reported for the whole fleet
+				for (AggregatedDevice aggregatedDevice : coreDeviceList) {
+					deviceNameAndModelMap.putIfAbsent(aggregatedDevice.getDeviceName(), aggregatedDevice.getDeviceModel());
+				}
 				synchronized (systemResponseList) {
 					for (SystemResponse systemResponse : systemResponseList) {
 						stats.put(String.format("%s#%s", systemResponse.getName(), QSysReflectSystemMetric.SYSTEM_ID.getName()), String.valueOf(systemResponse.getId()));
@@ -831,9 +2397,23 @@ public class QSysReflectCommunicator extends RestCommunicator implements Aggrega
 						}
 						stats.put(String.format("%s#%s", systemResponse.getName(), QSysReflectSystemMetric.DESIGN_NAME.getName()), String.valueOf(systemResponse.getDesignName()));
 						stats.put(String.format("%s#%s", systemResponse.getName(), QSysReflectSystemMetric.DESIGN_PLATFORM.getName()), String.valueOf(systemResponse.getDesignPlatform()));
-						stats.put(String.format("%s#%s", systemResponse.getName(), QSysReflectSystemMetric.UPTIME.getName()), handleNormalizeUptime(systemResponse.getUptime()));
+						stats.put(String.format("%s#%s", systemResponse.getName(), QSysReflectSystemMetric.UPTIME.getName()),
+								systemResponse.getUptime() == null ? QSysReflectConstant.NONE : systemUptimeCache.get(systemResponse.getUptime(), currentTimestamp));
 						stats.put(String.format("%s#%s", systemResponse.getName(), QSysReflectSystemMetric.CORE_NAME.getName()), String.valueOf(systemResponse.getCoreName()));
 						stats.put(String.format("%s#%s", systemResponse.getName(), QSysReflectSystemMetric.MODEL.getName()), deviceNameAndModelMap.get(systemResponse.getCoreName()));
+						CircuitBreaker circuitBreaker = itemsCircuitBreakers.get(String.valueOf(systemResponse.getId()));
+						stats.put(String.format("%s#%s", systemResponse.getName(), QSysReflectSystemMetric.ITEMS_CIRCUIT_STATE.getName()),
+								circuitBreaker == null ? CircuitBreaker.State.CLOSED.getName() : circuitBreaker.getState().getName());
+						stats.put(String.format("%s#%s", systemResponse.getName(), QSysReflectSystemMetric.ITEMS_CONSECUTIVE_FAILURES.getName()),
+								String.valueOf(circuitBreaker == null ? 0 : circuitBreaker.getConsecutiveFailures()));
+						TimeSeries faultTrend = systemFaultTrends.get(String.valueOf(systemResponse.getId()));
+						TimeSeries availabilityTrend = systemAvailabilityTrends.get(String.valueOf(systemResponse.getId()));
+						if (faultTrend != null && availabilityTrend != null) {
+							stats.put(String.format("%s#%s", systemResponse.getName(), QSysReflectSystemMetric.ALERTS_FAULT_CHANGE.getName()),
+									String.format("%.0f", faultTrend.getChange(QSysReflectConstant.TREND_CHANGE_WINDOW, currentTimestamp)));
+							stats.put(String.format("%s#%s", systemResponse.getName(), QSysReflectSystemMetric.AVAILABILITY.getName()),
+									String.format("%.2f", availabilityTrend.getAverage(QSysReflectConstant.TREND_AVERAGE_WINDOW, currentTimestamp)));
+						}
 					}
 				}
 			}
@@ -843,26 +2423,127 @@ public class QSysReflectCommunicator extends RestCommunicator implements Aggrega
 	}
 
 	/**
-	 * Filter the list of aggregated devices based on filter option in Adapter Properties
+	 * Populate totals of the fleet, read from the aggregates that {@link #deviceIndex} and {@link #retrieveSystemInfo()}
+	 * keep up to date as the data is collected, so no device or system is scanned here.
+	 * With sharding, the fleet is the shard of this adapter: systems, alerts and devices are all counted over the systems of the shard,
+	 * and the totals of the account are the sums over the adapters of every shard.
+	 *
+	 * @param stats Map of statistic
+	 */
+	private void populateFleetData(Map<String, String> stats) {
+		int devices = deviceIndex.size();
+		int onlineDevices = deviceIndex.count(DeviceIndex.Attribute.STATUS, QSysReflectConstant.RUNNING) + deviceIndex.count(DeviceIndex.Attribute.STATUS, QSysReflectConstant.OK);
+		long[] alertTotals = fleetAlertTotals;
+		stats.put(String.format("%s#%s", QSysReflectConstant.FLEET_STATISTICS_GROUP, QSysReflectFleetMetric.SYSTEMS.getName()), String.valueOf(shardSystemCount));
+		stats.put(String.format("%s#%s", QSysReflectConstant.FLEET_STATISTICS_GROUP, QSysReflectFleetMetric.DEVICES.getName()), String.valueOf(devices));
+		stats.put(String.format("%s#%s", QSysReflectConstant.FLEET_STATISTICS_GROUP, QSysReflectFleetMetric.DEVICES_ONLINE.getName()), String.valueOf(onlineDevices));
+		stats.put(String.format("%s#%s", QSysReflectConstant.FLEET_STATISTICS_GROUP, QSysReflectFleetMetric.DEVICES_OFFLINE.getName()), String.valueOf(devices - onlineDevices));
+		stats.put(String.format("%s#%s", QSysReflectConstant.FLEET_STATISTICS_GROUP, QSysReflectFleetMetric.ALERTS_NORMAL.getName()), String.valueOf(alertTotals[0]));
+		stats.put(String.format("%s#%s", QSysReflectConstant.FLEET_STATISTICS_GROUP, QSysReflectFleetMetric.ALERTS_WARNING.getName()), String.valueOf(alertTotals[1]));
+		stats.put(String.format("%s#%s", QSysReflectConstant.FLEET_STATISTICS_GROUP, QSysReflectFleetMetric.ALERTS_FAULT.getName()), String.valueOf(alertTotals[2]));
+		stats.put(String.format("%s#%s", QSysReflectConstant.FLEET_STATISTICS_GROUP, QSysReflectFleetMetric.ALERTS_UNKNOWN.getName()), String.valueOf(alertTotals[3]));
+		long currentTimestamp = System.currentTimeMillis();
+		stats.put(String.format("%s#%s", QSysReflectConstant.FLEET_STATISTICS_GROUP, QSysReflectFleetMetric.ALERTS_FAULT_CHANGE.getName()),
+				String.format("%.0f", fleetFaultTrend.getChange(QSysReflectConstant.TREND_CHANGE_WINDOW, currentTimestamp)));
+		stats.put(String.format("%s#%s", QSysReflectConstant.FLEET_STATISTICS_GROUP, QSysReflectFleetMetric.DEVICES_ONLINE_RATIO.getName()),
+				String.format("%.2f", fleetOnlineRatioTrend.getLatest()));
+		stats.put(String.format("%s#%s", QSysReflectConstant.FLEET_STATISTICS_GROUP, QSysReflectFleetMetric.DEVICES_ONLINE_RATIO_AVERAGE.getName()),
+				String.format("%.2f", fleetOnlineRatioTrend.getAverage(QSysReflectConstant.TREND_AVERAGE_WINDOW, currentTimestamp)));
+		deviceIndex.countByValue(DeviceIndex.Attribute.MODEL).forEach((model, count) ->
+				stats.put(String.format("%s#%s", QSysReflectConstant.FLEET_MODELS_GROUP, model), String.valueOf(count)));
+		deviceIndex.countByValue(DeviceIndex.Attribute.TYPE).forEach((type, count) ->
+				stats.put(String.format("%s#%s", QSysReflectConstant.FLEET_TYPES_GROUP, type), String.valueOf(count)));
+		deviceIndex.countByValue(DeviceIndex.Attribute.STATUS).forEach((statusMessage, count) ->
+				stats.put(String.format("%s#%s", QSysReflectConstant.FLEET_STATUS_MESSAGES_GROUP, statusMessage), String.valueOf(count)));
+	}
+
+	/**
+	 * Populate data collection statistics, read from the counters the collection keeps up to date,
+	 * so no system is scanned and no collection state is changed here
+	 *
+	 * @param stats Map of statistic
 	 */
-	private void getFilteredAggregatedDeviceList() {
-		populateDeviceStatusMessage();
-		filterDeviceModel();
-		populateFilter(filterDeviceStatusMessage, QSysReflectConstant.DEVICE_STATUS_MESSAGE);
-		populateFilter(filterType, QSysReflectConstant.DEVICE_TYPE);
+	private void populateCollectorData(Map<String, String> stats) {
+		stats.put(String.format("%s#%s", QSysReflectConstant.COLLECTOR_STATISTICS_GROUP, QSysReflectCollectorMetric.MAPPING_SKIP_RATE.getName()),
+				String.format("%.2f", mappedDeviceCache.getSkipRate()));
+		stats.put(String.format("%s#%s", QSysReflectConstant.COLLECTOR_STATISTICS_GROUP, QSysReflectCollectorMetric.MAPPED_DEVICES.getName()),
+				String.valueOf(mappedDeviceCache.getMappedCount()));
+		stats.put(String.format("%s#%s", QSysReflectConstant.COLLECTOR_STATISTICS_GROUP, QSysReflectCollectorMetric.MAPPING_SKIPPED_DEVICES.getName()),
+				String.valueOf(mappedDeviceCache.getSkippedCount()));
+		stats.put(String.format("%s#%s", QSysReflectConstant.COLLECTOR_STATISTICS_GROUP, QSysReflectCollectorMetric.PARALLEL_MAPPINGS.getName()),
+				String.valueOf(mappedDeviceCache.getParallelMappedCount()));
+		stats.put(String.format("%s#%s", QSysReflectConstant.COLLECTOR_STATISTICS_GROUP, QSysReflectCollectorMetric.SNAPSHOT_VERSION.getName()),
+				String.valueOf(deviceChangeJournal.getSnapshotVersion()));
+		cycleStatistics.populateStatistics(stats, QSysReflectConstant.COLLECTOR_STATISTICS_GROUP);
+		stats.put(String.format("%s#%s", QSysReflectConstant.COLLECTOR_STATISTICS_GROUP, QSysReflectCollectorMetric.DEMANDED_DEVICES.getName()),
+				String.valueOf(deviceDemandTimestamps.size()));
+		stats.put(String.format("%s#%s", QSysReflectConstant.COLLECTOR_STATISTICS_GROUP, QSysReflectCollectorMetric.DEMANDED_SYSTEMS.getName()),
+				String.valueOf(demandedSystemCount));
+		stats.put(String.format("%s#%s", QSysReflectConstant.COLLECTOR_STATISTICS_GROUP, QSysReflectCollectorMetric.COALESCING_RATIO.getName()),
+				String.format("%.2f", requestCoalescer.getCoalescingRatio()));
+		stats.put(String.format("%s#%s", QSysReflectConstant.COLLECTOR_STATISTICS_GROUP, QSysReflectCollectorMetric.COALESCED_REQUESTS.getName()),
+				String.valueOf(requestCoalescer.getCoalescedCount()));
+		stats.put(String.format("%s#%s", QSysReflectConstant.COLLECTOR_STATISTICS_GROUP, QSysReflectCollectorMetric.RESPONSE_CACHE_HIT_RATE.getName()),
+				String.format("%.2f", responseCache.getHitRate()));
+		stats.put(String.format("%s#%s", QSysReflectConstant.COLLECTOR_STATISTICS_GROUP, QSysReflectCollectorMetric.RESPONSE_CACHE_HITS.getName()),
+				String.valueOf(responseCache.getHitCount()));
+		stats.put(String.format("%s#%s", QSysReflectConstant.COLLECTOR_STATISTICS_GROUP, QSysReflectCollectorMetric.RESPONSE_CACHE_SIZE.getName()),
+				String.valueOf(ResponseCache.getTotalWeight()));
+		stats.put(String.format("%s#%s", QSysReflectConstant.COLLECTOR_STATISTICS_GROUP, QSysReflectCollectorMetric.SHARD.getName()),
+				String.format("%s/%s", shardIndex, shardCount));
+		stats.put(String.format("%s#%s", QSysReflectConstant.COLLECTOR_STATISTICS_GROUP, QSysReflectCollectorMetric.SHARD_SYSTEMS.getName()),
+				String.valueOf(shardSystemCount));
+		stats.put(String.format("%s#%s", QSysReflectConstant.COLLECTOR_STATISTICS_GROUP, QSysReflectCollectorMetric.HEDGED_REQUESTS.getName()),
+				String.valueOf(requestHedger.getHedgedCount()));
+		stats.put(String.format("%s#%s", QSysReflectConstant.COLLECTOR_STATISTICS_GROUP, QSysReflectCollectorMetric.HEDGE_WINS.getName()),
+				String.valueOf(requestHedger.getHedgeWinCount()));
+		stats.put(String.format("%s#%s", QSysReflectConstant.COLLECTOR_STATISTICS_GROUP, QSysReflectCollectorMetric.HEDGING_THRESHOLD.getName()),
+				String.valueOf(requestHedger.getThresholdMillis(hedgingPercentile)));
+		PooledHttpTransport transport = httpTransport;
+		stats.put(String.format("%s#%s", QSysReflectConstant.COLLECTOR_STATISTICS_GROUP, QSysReflectCollectorMetric.HTTP_CONNECTIONS_OPENED.getName()),
+				String.valueOf(transport == null ? 0 : transport.getOpenedConnectionCount()));
+		stats.put(String.format("%s#%s", QSysReflectConstant.COLLECTOR_STATISTICS_GROUP, QSysReflectCollectorMetric.HTTP_CONNECTIONS_REUSED.getName()),
+				String.valueOf(transport == null ? 0 : transport.getReusedConnectionCount()));
+		stats.put(String.format("%s#%s", QSysReflectConstant.COLLECTOR_STATISTICS_GROUP, QSysReflectCollectorMetric.HTTP_CONNECTIONS_POOLED.getName()),
+				String.valueOf(transport == null ? 0 : transport.getPooledConnectionCount()));
+		stats.put(String.format("%s#%s", QSysReflectConstant.COLLECTOR_STATISTICS_GROUP, QSysReflectCollectorMetric.DEADLINE_EXCEEDED_CYCLES.getName()),
+				String.valueOf(deadlineExceededCycles.get()));
+		CollectionWorkQueue workQueue = collectionWorkQueue;
+		stats.put(String.format("%s#%s", QSysReflectConstant.COLLECTOR_STATISTICS_GROUP, QSysReflectCollectorMetric.WORK_QUEUE_DEPTH.getName()),
+				String.valueOf(workQueue == null ? 0 : workQueue.getQueueDepth()));
+		stats.put(String.format("%s#%s", QSysReflectConstant.COLLECTOR_STATISTICS_GROUP, QSysReflectCollectorMetric.WORK_QUEUE_ACTIVE_WORKERS.getName()),
+				String.valueOf(workQueue == null ? 0 : workQueue.getActiveWorkerCount()));
+		stats.put(String.format("%s#%s", QSysReflectConstant.COLLECTOR_STATISTICS_GROUP, QSysReflectCollectorMetric.WORK_QUEUE_REJECTED_TASKS.getName()),
+				String.valueOf(workQueue == null ? 0 : workQueue.getRejectedCount()));
+		stats.put(String.format("%s#%s", QSysReflectConstant.COLLECTOR_STATISTICS_GROUP, QSysReflectCollectorMetric.WORK_QUEUE_WAIT_AVERAGE.getName()),
+				String.format("%.2f", workQueue == null ? 0 : workQueue.getAverageWaitMillis()));
+		stats.put(String.format("%s#%s", QSysReflectConstant.COLLECTOR_STATISTICS_GROUP, QSysReflectCollectorMetric.WORK_QUEUE_WAIT_MAX.getName()),
+				String.valueOf(workQueue == null ? 0 : workQueue.getMaxWaitMillis()));
+		StatusTransitionJournal journal = statusJournal;
+		if (journal != null) {
+			stats.put(String.format("%s#%s", QSysReflectConstant.COLLECTOR_STATISTICS_GROUP, QSysReflectCollectorMetric.STATUS_JOURNAL_RECORDS.getName()),
+					String.valueOf(journal.getWrittenCount()));
+			stats.put(String.format("%s#%s", QSysReflectConstant.COLLECTOR_STATISTICS_GROUP, QSysReflectCollectorMetric.STATUS_JOURNAL_DROPPED_RECORDS.getName()),
+					String.valueOf(journal.getDroppedCount()));
+		}
 	}
 
 	/**
-	 * Filter list of aggregated devices by the name of system
+	 * Filter list of systems by the name of system
+	 *
+	 * @param filterSystemName system names separated by commas
+	 * @return {@link #systemResponseList} if the filter is not set, a new list of the matching systems otherwise
 	 */
-	private void filterBySystemName() {
-		systemResponseFilterList.clear();
-		if (!StringUtils.isNullOrEmpty(filterSystemName) && !QSysReflectConstant.DOUBLE_QUOTES.equals(filterSystemName)) {
+	private List<SystemResponse> filterBySystemName(String filterSystemName) {
+		if (StringUtils.isNullOrEmpty(filterSystemName)) {
+			return systemResponseList;
+		}
+		List<SystemResponse> filteredSystemResponse = new ArrayList<>();
+		if (!QSysReflectConstant.DOUBLE_QUOTES.equals(filterSystemName)) {
 			List<String> filterSystemNameValues = handleListExtractFilter(filterSystemName);
 			if (logger.isDebugEnabled()) {
 				logger.debug(String.format("Applying system name filter with values(s): %s", filterSystemName));
 			}
-			List<SystemResponse> filteredSystemResponse = new ArrayList<>();
 			synchronized (systemResponseList) {
 				for (SystemResponse systemResponse : systemResponseList) {
 					for (String systemName : filterSystemNameValues) {
@@ -872,11 +2553,8 @@ public class QSysReflectCommunicator extends RestCommunicator implements Aggrega
 					}
 				}
 			}
-			systemResponseFilterList = filteredSystemResponse;
-			if (systemResponseFilterList.isEmpty()) {
-				aggregatedDeviceList.clear();
-			}
 		}
+		return filteredSystemResponse;
 	}
 
 	/**
@@ -912,14 +2590,13 @@ public class QSysReflectCommunicator extends RestCommunicator implements Aggrega
 	}
 
 	/**
-	 * Handle long uptime to human-readable string
+	 * Handle uptime in seconds to human-readable string, rendered by {@link #deviceUptimeCache} and {@link #systemUptimeCache}
 	 *
-	 * @param uptime uptime return by the API
+	 * @param uptimeSeconds time elapsed since the start time returned by the API, in seconds
 	 * @return human-readable uptime string
 	 */
-	private String handleNormalizeUptime(Long uptime) {
-		long timeDiff = (System.currentTimeMillis() - uptime) / 1000;
-		return timeDiff > 0 ? normalizeUptime(timeDiff) : QSysReflectConstant.NONE;
+	private String renderUptime(long uptimeSeconds) {
+		return uptimeSeconds > 0 ? normalizeUptime(uptimeSeconds) : QSysReflectConstant.NONE;
 	}
 
 	/**
@@ -931,6 +2608,37 @@ public class QSysReflectCommunicator extends RestCommunicator implements Aggrega
 		return !StringUtils.isNullOrEmpty(apiToken);
 	}
 
+	/**
+	 * Check whether {@link #shardIndex} is one of the {@link #shardCount} shards
+	 *
+	 * @return true if the shard index is valid
+	 */
+	private boolean checkValidShard() {
+		return shardIndex < shardCount;
+	}
+
+	/**
+	 * Hash the API token, so the token itself is not kept in keys shared between adapters
+	 *
+	 * @param token API token
+	 * @return hex encoded SHA-256 hash of the token, empty string if the token is empty
+	 */
+	private String hashApiToken(String token) {
+		if (StringUtils.isNullOrEmpty(token)) {
+			return QSysReflectConstant.DOUBLE_QUOTES;
+		}
+		try {
+			byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+			StringBuilder hexHash = new StringBuilder();
+			for (byte value : hash) {
+				hexHash.append(String.format("%02x", value));
+			}
+			return hexHash.toString();
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 is not supported by the JVM", e);
+		}
+	}
+
 	/**
 	 * Split name (separated by commas) to array
 	 *
@@ -961,10 +2669,74 @@ public class QSysReflectCommunicator extends RestCommunicator implements Aggrega
 	 * @throws ResourceNotReachableException if the request fails or the response cannot be processed
 	 */
 	private <T> T fetchData(String url, Class<T> clazz) {
+		return fetchData(url, clazz, false);
+	}
+
+	/**
+	 * Fetches data from the given URL and maps the response to the specified class type,
+	 * duplicating the request once it is slower than {@link #hedgingPercentile} of the recent hedged requests
+	 *
+	 * @param url the endpoint URL to fetch data from
+	 * @param clazz the class type to map the response to
+	 * @param hedged true to hedge the request
+	 * @param <T> the type of the expected response
+	 * @return an instance of the specified class containing the mapped response data
+	 * @throws ResourceNotReachableException if the request fails or the response cannot be processed
+	 */
+	private <T> T fetchData(String url, Class<T> clazz, boolean hedged) {
+		String path = url.replace("//", "/");
+		// requests are coalesced and cached across the adapters of the JVM, so the key identifies the account and the API host
+		String requestKey = String.format("%s|%s:%s|%s|%s", apiTokenHash, this.getHost(), this.getPort(), clazz.getName(), path);
+		long deadline = cycleDeadlineTimestamp;
+		if (System.currentTimeMillis() >= deadline) {
+			throw new ResourceNotReachableException(String.format("Cycle deadline exceeded before requesting %s", path));
+		}
+		long cacheTtl = responseCacheTtl;
+		if (cacheTtl > 0) {
+			Object cachedResponse = responseCache.get(requestKey, cacheTtl);
+			if (cachedResponse != null) {
+				return clazz.cast(cachedResponse);
+			}
+		}
 		try {
-			return this.doGet(url.replace("//", "/"), clazz);
+			return requestCoalescer.execute(requestKey, deadline, () -> {
+				Callable<T> request = () -> PooledHttpTransport.callBefore(deadline, () -> this.doGet(path, clazz));
+				// the duplicate request is sent below the coalescing layer, so it is not collapsed into the original one
+				T response = hedged ? requestHedger.execute(request, obtainHedgingExecutorService(), hedgingPercentile, hedgingBudget) : request.call();
+				if (cacheTtl > 0 && response != null) {
+					responseCache.put(requestKey, response);
+				}
+				return response;
+			});
 		} catch (Exception e) {
 			throw new ResourceNotReachableException("Failed to request to the API", e);
 		}
 	}
-}
\ No newline at end of file
+
+	/**
+	 * Retrieves max number of connections to the API host, {@link QSysReflectConstant#DEFAULT_MAX_CONNECTIONS_PER_ROUTE} when maxConnectionsPerRoute is not set
+	 *
+	 * @return max number of connections per route
+	 */
+	private int resolveMaxConnectionsPerRoute() {
+		return getMaxConnectionsPerRoute() > 0 ? getMaxConnectionsPerRoute() : QSysReflectConstant.DEFAULT_MAX_CONNECTIONS_PER_ROUTE;
+	}
+
+	/**
+	 * Retrieves executor of the hedged requests, created on first use
+	 *
+	 * @return hedging executor service
+	 */
+	private ExecutorService obtainHedgingExecutorService() {
+		synchronized (requestHedger) {
+			if (hedgingExecutorService == null) {
+				int threads = QSysReflectConstant.COLLECTION_WORKERS * 2;
+				ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, QSysReflectConstant.DEFAULT_CONNECTION_KEEP_ALIVE, TimeUnit.MILLISECONDS,
+						new ArrayBlockingQueue<>(threads));
+				executor.allowCoreThreadTimeOut(true);
+				hedgingExecutorService = executor;
+			}
+			return hedgingExecutorService;
+		}
+	}
+}
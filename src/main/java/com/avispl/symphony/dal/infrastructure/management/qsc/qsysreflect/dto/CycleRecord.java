@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2022 AVI-SPL, Inc. All Rights Reserved.
+ */
+package com.avispl.symphony.dal.infrastructure.management.qsc.qsysreflect.dto;
+
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.Map;
+
+import com.avispl.symphony.dal.infrastructure.management.qsc.qsysreflect.utils.CollectionStage;
+
+/**
+ * Cycle Record DTO class, timings of a single data collection cycle
+ *
+ * @author Harry
+ * @version 2.1.0
+ * @since 2.1.0
+ */
+public class CycleRecord {
+
+	private final long finishedAt;
+	private final long durationMillis;
+	private final int deviceCount;
+	private final Map<CollectionStage, Long> stageMillis;
+
+	/**
+	 * CycleRecord with args constructor
+	 *
+	 * @param finishedAt wall clock time the cycle finished at
+	 * @param durationMillis total cycle duration in milliseconds
+	 * @param deviceCount number of devices published by the cycle
+	 * @param stageMillis duration of each stage in milliseconds
+	 */
+	public CycleRecord(long finishedAt, long durationMillis, int deviceCount, Map<CollectionStage, Long> stageMillis) {
+		this.finishedAt = finishedAt;
+		this.durationMillis = durationMillis;
+		this.deviceCount = deviceCount;
+		this.stageMillis = new EnumMap<>(stageMillis);
+	}
+
+	/**
+	 * Retrieves {@code {@link #finishedAt}}
+	 *
+	 * @return value of {@link #finishedAt}
+	 */
+	public long getFinishedAt() {
+		return finishedAt;
+	}
+
+	/**
+	 * Retrieves {@code {@link #durationMillis}}
+	 *
+	 * @return value of {@link #durationMillis}
+	 */
+	public long getDurationMillis() {
+		return durationMillis;
+	}
+
+	/**
+	 * Retrieves {@code {@link #deviceCount}}
+	 *
+	 * @return value of {@link #deviceCount}
+	 */
+	public int getDeviceCount() {
+		return deviceCount;
+	}
+
+	/**
+	 * Retrieves {@code {@link #stageMillis}}
+	 *
+	 * @return value of {@link #stageMillis}
+	 */
+	public Map<CollectionStage, Long> getStageMillis() {
+		return stageMillis;
+	}
+
+	/**
+	 * String value of CycleRecord DTO
+	 * @return CycleRecord DTO
+	 */
+	@Override
+	public String toString() {
+		return "CycleRecord{" +
+				"finishedAt=" + new Date(finishedAt) +
+				", durationMillis=" + durationMillis +
+				", deviceCount=" + deviceCount +
+				", stageMillis=" + stageMillis +
+				'}';
+	}
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2022 AVI-SPL, Inc. All Rights Reserved.
+ */
+package com.avispl.symphony.dal.infrastructure.management.qsc.qsysreflect.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.avispl.symphony.api.dal.dto.monitor.aggregator.AggregatedDevice;
+
+/**
+ * Device Delta DTO class, result of a delta retrieval of aggregated devices
+ *
+ * @author Harry
+ * @version 2.1.0
+ * @since 2.1.0
+ */
+public class DeviceDelta {
+
+	private long version;
+	private boolean fullSnapshot;
+	private List<AggregatedDevice> changedDevices = new ArrayList<>();
+	private List<String> removedDeviceIds = new ArrayList<>();
+
+	/**
+	 * Retrieves {@code {@link #version}}
+	 *
+	 * @return value of {@link #version}
+	 */
+	public long getVersion() {
+		return version;
+	}
+
+	/**
+	 * Sets {@code version}
+	 *
+	 * @param version the {@code long} field
+	 */
+	public void setVersion(long version) {
+		this.version = version;
+	}
+
+	/**
+	 * Retrieves {@code {@link #fullSnapshot}}
+	 *
+	 * @return value of {@link #fullSnapshot}
+	 */
+	public boolean isFullSnapshot() {
+		return fullSnapshot;
+	}
+
+	/**
+	 * Sets {@code fullSnapshot}
+	 *
+	 * @param fullSnapshot the {@code boolean} field
+	 */
+	public void setFullSnapshot(boolean fullSnapshot) {
+		this.fullSnapshot = fullSnapshot;
+	}
+
+	/**
+	 * Retrieves {@code {@link #changedDevices}}
+	 *
+	 * @return value of {@link #changedDevices}
+	 */
+	public List<AggregatedDevice> getChangedDevices() {
+		return changedDevices;
+	}
+
+	/**
+	 * Sets {@code changedDevices}
+	 *
+	 * @param changedDevices the {@code java.util.List<AggregatedDevice>} field
+	 */
+	public void setChangedDevices(List<AggregatedDevice> changedDevices) {
+		this.changedDevices = changedDevices;
+	}
+
+	/**
+	 * Retrieves {@code {@link #removedDeviceIds}}
+	 *
+	 * @return value of {@link #removedDeviceIds}
+	 */
+	public List<String> getRemovedDeviceIds() {
+		return removedDeviceIds;
+	}
+
+	/**
+	 * Sets {@code removedDeviceIds}
+	 *
+	 * @param removedDeviceIds the {@code java.util.List<String>} field
+	 */
+	public void setRemovedDeviceIds(List<String> removedDeviceIds) {
+		this.removedDeviceIds = removedDeviceIds;
+	}
+
+	/**
+	 * String value of DeviceDelta DTO
+	 * @return DeviceDelta DTO
+	 */
+	@Override
+	public String toString() {
+		return "DeviceDelta{" +
+				"version=" + version +
+				", fullSnapshot=" + fullSnapshot +
+				", changedDevices=" + changedDevices.size() +
+				", removedDeviceIds=" + removedDeviceIds +
+				'}';
+	}
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2022 AVI-SPL, Inc. All Rights Reserved.
+ */
+package com.avispl.symphony.dal.infrastructure.management.qsc.qsysreflect.dto;
+
+/**
+ * Status Transition DTO class, a status change of a device or a system
+ *
+ * @author Harry
+ * @version 2.1.0
+ * @since 2.1.0
+ */
+public class StatusTransition {
+
+	private final long timestamp;
+	private final boolean system;
+	private final String id;
+	private final String previousStatus;
+	private final String status;
+
+	/**
+	 * StatusTransition with args constructor
+	 *
+	 * @param timestamp wall clock time the change was collected at
+	 * @param system true for a system status change, false for a device status change
+	 * @param id system id or device id
+	 * @param previousStatus status before the change
+	 * @param status status after the change
+	 */
+	public StatusTransition(long timestamp, boolean system, String id, String previousStatus, String status) {
+		this.timestamp = timestamp;
+		this.system = system;
+		this.id = id;
+		this.previousStatus = previousStatus;
+		this.status = status;
+	}
+
+	/**
+	 * Retrieves {@code {@link #timestamp}}
+	 *
+	 * @return value of {@link #timestamp}
+	 */
+	public long getTimestamp() {
+		return timestamp;
+	}
+
+	/**
+	 * Retrieves {@code {@link #system}}
+	 *
+	 * @return value of {@link #system}
+	 */
+	public boolean isSystem() {
+		return system;
+	}
+
+	/**
+	 * Retrieves {@code {@link #id}}
+	 *
+	 * @return value of {@link #id}
+	 */
+	public String getId() {
+		return id;
+	}
+
+	/**
+	 * Retrieves {@code {@link #previousStatus}}
+	 *
+	 * @return value of {@link #previousStatus}
+	 */
+	public String getPreviousStatus() {
+		return previousStatus;
+	}
+
+	/**
+	 * Retrieves {@code {@link #status}}
+	 *
+	 * @return value of {@link #status}
+	 */
+	public String getStatus() {
+		return status;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString() {
+		return String.format("%s %s %s: %s -> %s", timestamp, system ? "system" : "device", id, previousStatus, status);
+	}
+}
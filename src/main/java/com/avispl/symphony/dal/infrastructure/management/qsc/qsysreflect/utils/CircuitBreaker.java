@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2022 AVI-SPL, Inc. All Rights Reserved.
+ */
+package com.avispl.symphony.dal.infrastructure.management.qsc.qsysreflect.utils;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Circuit breaker of a single API endpoint.
+ * The circuit opens after {@code failureThreshold} consecutive failures and rejects requests until the backoff elapses.
+ * The first request after the backoff is let through as a half-open probe: a success closes the circuit, a failure opens it
+ * again with twice the backoff, up to {@code maxBackoff}. Every backoff is randomized between half and the full value,
+ * so failing endpoints of the same account are not probed at the same moment.
+ *
+ * @author Harry
+ * @version 2.1.0
+ * @since 2.1.0
+ */
+public class CircuitBreaker {
+
+	/**
+	 * State of the circuit
+	 */
+	public enum State {
+		CLOSED("Closed"),
+		OPEN("Open"),
+		HALF_OPEN("HalfOpen");
+
+		private final String name;
+
+		/**
+		 * State with args constructor
+		 *
+		 * @param name state name
+		 */
+		State(String name) {
+			this.name = name;
+		}
+
+		/**
+		 * Retrieves {@code {@link #name}}
+		 *
+		 * @return value of {@link #name}
+		 */
+		public String getName() {
+			return name;
+		}
+	}
+
+	private State state = State.CLOSED;
+	private int consecutiveFailures;
+	private int openCount;
+	private long openUntil;
+
+	/**
+	 * Check whether a request may be sent, and turn an open circuit whose backoff elapsed into a half-open probe
+	 *
+	 * @param currentTimestamp current timestamp
+	 * @return true if the request may be sent
+	 */
+	public synchronized boolean allowRequest(long currentTimestamp) {
+		switch (state) {
+			case OPEN:
+				if (currentTimestamp < openUntil) {
+					return false;
+				}
+				state = State.HALF_OPEN;
+				return true;
+			case HALF_OPEN:
+				return false;
+			default:
+				return true;
+		}
+	}
+
+	/**
+	 * Record a successful request and close the circuit
+	 */
+	public synchronized void recordSuccess() {
+		state = State.CLOSED;
+		consecutiveFailures = 0;
+		openCount = 0;
+	}
+
+	/**
+	 * Record a request that was cancelled before it could succeed or fail, a cancelled half-open probe opens the circuit
+	 * again without extending the backoff, so the next request is let through as a new probe
+	 */
+	public synchronized void recordCancellation() {
+		if (state == State.HALF_OPEN) {
+			state = State.OPEN;
+		}
+	}
+
+	/**
+	 * Record a failed request, open the circuit when the failure threshold is reached or the half-open probe failed
+	 *
+	 * @param currentTimestamp current timestamp
+	 * @param failureThreshold number of consecutive failures that opens the circuit
+	 * @param baseBackoff backoff of the first opening, in ms
+	 * @param maxBackoff max backoff, in ms
+	 */
+	public synchronized void recordFailure(long currentTimestamp, int failureThreshold, long baseBackoff, long maxBackoff) {
+		consecutiveFailures++;
+		if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+			openCount++;
+			long backoff = Math.min(maxBackoff, baseBackoff << Math.min(openCount - 1, 30));
+			openUntil = currentTimestamp + backoff / 2 + ThreadLocalRandom.current().nextLong(backoff / 2 + 1);
+			state = State.OPEN;
+		}
+	}
+
+	/**
+	 * Retrieves {@code {@link #state}}
+	 *
+	 * @return value of {@link #state}
+	 */
+	public synchronized State getState() {
+		return state;
+	}
+
+	/**
+	 * Retrieves {@code {@link #consecutiveFailures}}
+	 *
+	 * @return value of {@link #consecutiveFailures}
+	 */
+	public synchronized int getConsecutiveFailures() {
+		return consecutiveFailures;
+	}
+
+	/**
+	 * Retrieves {@code {@link #openUntil}}
+	 *
+	 * @return timestamp the open circuit lets the next probe through, 0 if it was never opened
+	 */
+	public synchronized long getOpenUntil() {
+		return openUntil;
+	}
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright (c) 2022 AVI-SPL, Inc. All Rights Reserved.
+ */
+package com.avispl.symphony.dal.infrastructure.management.qsc.qsysreflect.utils;
+
+/**
+ * Stage of a data collection cycle, timed by {@link CycleStatistics}
+ *
+ * @author Harry
+ * @version 2.1.0
+ * @since 2.1.0
+ */
+public enum CollectionStage {
+	RETRIEVE_SYSTEM_INFO("RetrieveSystemInfo"),
+	RETRIEVE_DEVICES("RetrieveDevices"),
+	RETRIEVE_ITEMS("RetrieveItems"),
+	MAPPING("Mapping"),
+	FILTERING("Filtering");
+
+	private final String name;
+
+	/**
+	 * CollectionStage with args constructor
+	 * @param name stage name
+	 */
+	CollectionStage(String name) {
+		this.name = name;
+	}
+
+	/**
+	 * Retrieves {@code {@link #name}}
+	 *
+	 * @return value of {@link #name}
+	 */
+	public String getName() {
+		return name;
+	}
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright (c) 2022 AVI-SPL, Inc. All Rights Reserved.
+ */
+package com.avispl.symphony.dal.infrastructure.management.qsc.qsysreflect.utils;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded work queue of the data collection, a fixed set of workers fed by a queue of fixed capacity.
+ * Once the queue is full, tasks are rejected with {@link RejectedExecutionException} and the caller decides when to submit them again.
+ * The queue records how long the tasks waited for a worker.
+ *
+ * @author Harry
+ * @version 2.1.0
+ * @since 2.1.0
+ */
+public class CollectionWorkQueue implements Executor {
+
+	private final ThreadPoolExecutor executor;
+	private final AtomicLong rejectedCount = new AtomicLong();
+	private final AtomicLong startedCount = new AtomicLong();
+	private final AtomicLong totalWaitNanos = new AtomicLong();
+	private final long[] waitSamples = new long[QSysReflectConstant.WORK_QUEUE_WAIT_WINDOW];
+	private int waitSampleCount;
+	private int nextWaitSampleIndex;
+
+	/**
+	 * Task of the queue, with the time it was submitted at
+	 */
+	private class QueuedTask extends FutureTask<Void> {
+		private final long submitNanos = System.nanoTime();
+
+		/**
+		 * QueuedTask with args constructor
+		 *
+		 * @param task task to run
+		 */
+		QueuedTask(Runnable task) {
+			super(task, null);
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public void run() {
+			if (!isDone()) {
+				recordWait(System.nanoTime() - submitNanos);
+			}
+			super.run();
+		}
+	}
+
+	/**
+	 * CollectionWorkQueue with args constructor
+	 *
+	 * @param workers number of workers
+	 * @param capacity max number of tasks waiting for a worker
+	 */
+	public CollectionWorkQueue(int workers, int capacity) {
+		executor = new ThreadPoolExecutor(workers, workers, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(capacity));
+	}
+
+	/**
+	 * Submit a task
+	 *
+	 * @param task task to run
+	 * @return future of the task
+	 * @throws RejectedExecutionException if the queue is full or shut down
+	 */
+	public Future<?> submit(Runnable task) {
+		QueuedTask queuedTask = new QueuedTask(task);
+		try {
+			executor.execute(queuedTask);
+		} catch (RejectedExecutionException e) {
+			rejectedCount.incrementAndGet();
+			throw e;
+		}
+		return queuedTask;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void execute(Runnable command) {
+		submit(command);
+	}
+
+	/**
+	 * Cancel the running tasks and drop the queued ones
+	 */
+	public void shutdownNow() {
+		executor.shutdownNow();
+	}
+
+	/**
+	 * Retrieves number of tasks waiting for a worker
+	 *
+	 * @return queue depth
+	 */
+	public int getQueueDepth() {
+		return executor.getQueue().size();
+	}
+
+	/**
+	 * Retrieves number of workers running a task
+	 *
+	 * @return number of active workers
+	 */
+	public int getActiveWorkerCount() {
+		return executor.getActiveCount();
+	}
+
+	/**
+	 * Retrieves number of tasks rejected because the queue was full
+	 *
+	 * @return number of rejected tasks
+	 */
+	public long getRejectedCount() {
+		return rejectedCount.get();
+	}
+
+	/**
+	 * Retrieves average time the started tasks waited for a worker
+	 *
+	 * @return average wait time in ms, 0 if no task started yet
+	 */
+	public double getAverageWaitMillis() {
+		long started = startedCount.get();
+		return started == 0 ? 0 : totalWaitNanos.get() / 1000000.0 / started;
+	}
+
+	/**
+	 * Retrieves max time the recently started tasks waited for a worker
+	 *
+	 * @return max wait time in ms of the last {@link QSysReflectConstant#WORK_QUEUE_WAIT_WINDOW} tasks
+	 */
+	public synchronized long getMaxWaitMillis() {
+		long maxWaitNanos = 0;
+		for (int i = 0; i < waitSampleCount; i++) {
+			maxWaitNanos = Math.max(maxWaitNanos, waitSamples[i]);
+		}
+		return TimeUnit.NANOSECONDS.toMillis(maxWaitNanos);
+	}
+
+	/**
+	 * Record the time a task waited for a worker
+	 *
+	 * @param waitNanos wait time in ns
+	 */
+	private void recordWait(long waitNanos) {
+		startedCount.incrementAndGet();
+		totalWaitNanos.addAndGet(waitNanos);
+		synchronized (this) {
+			waitSamples[nextWaitSampleIndex] = waitNanos;
+			nextWaitSampleIndex = (nextWaitSampleIndex + 1) % waitSamples.length;
+			waitSampleCount = Math.min(waitSampleCount + 1, waitSamples.length);
+		}
+	}
+}
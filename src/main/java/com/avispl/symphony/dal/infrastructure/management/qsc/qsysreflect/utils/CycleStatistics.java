@@ -0,0 +1,245 @@
+/*
+ * Copyright (c) 2022 AVI-SPL, Inc. All Rights Reserved.
+ */
+package com.avispl.symphony.dal.infrastructure.management.qsc.qsysreflect.utils;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.avispl.symphony.dal.infrastructure.management.qsc.qsysreflect.dto.CycleRecord;
+
+/**
+ * Rolling timing statistics of data collection cycles: last, mean and max duration of each {@link CollectionStage}
+ * and of the whole cycle over the recent cycles kept in history, number of devices per cycle and a bounded history of recent cycles.
+ * Stage durations are measured with {@link System#nanoTime()}. Stages running on several worker threads at once
+ * (like {@link CollectionStage#MAPPING}) are accumulated across threads.
+ *
+ * @author Harry
+ * @version 2.1.0
+ * @since 2.1.0
+ */
+public class CycleStatistics {
+
+	private final int historySize;
+	private final Map<CollectionStage, LongAdder> currentStageNanos = new EnumMap<>(CollectionStage.class);
+	private final Map<CollectionStage, RollingStatistic> stageStatistics = new EnumMap<>(CollectionStage.class);
+	private final RollingStatistic cycleStatistic;
+	private final Deque<CycleRecord> history = new ArrayDeque<>();
+	private volatile long cycleStartNanos;
+	private volatile boolean cycleInProgress;
+	private int lastDeviceCount;
+	private long cycleCount;
+
+	/**
+	 * Last, mean and max of a duration measured once per cycle, over a window of the most recent cycles.
+	 * Samples are added and read under the lock of the owning {@link CycleStatistics}.
+	 */
+	public class RollingStatistic {
+		private final long[] samples;
+		private int sampleCount;
+		private int nextSampleIndex;
+
+		/**
+		 * RollingStatistic with args constructor
+		 *
+		 * @param window number of most recent samples the statistic is computed over
+		 */
+		private RollingStatistic(int window) {
+			samples = new long[Math.max(1, window)];
+		}
+
+		/**
+		 * Add a sample, replacing the oldest one once the window is full
+		 *
+		 * @param nanos duration in nanoseconds
+		 */
+		private void add(long nanos) {
+			samples[nextSampleIndex] = nanos;
+			nextSampleIndex = (nextSampleIndex + 1) % samples.length;
+			sampleCount = Math.min(sampleCount + 1, samples.length);
+		}
+
+		/**
+		 * Retrieves last duration
+		 *
+		 * @return duration in milliseconds, 0 if there are no samples
+		 */
+		public long getLastMillis() {
+			synchronized (CycleStatistics.this) {
+				return sampleCount == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(samples[(nextSampleIndex + samples.length - 1) % samples.length]);
+			}
+		}
+
+		/**
+		 * Retrieves mean duration over the window
+		 *
+		 * @return duration in milliseconds, 0 if there are no samples
+		 */
+		public long getMeanMillis() {
+			synchronized (CycleStatistics.this) {
+				long totalNanos = 0;
+				for (int i = 0; i < sampleCount; i++) {
+					totalNanos += samples[i];
+				}
+				return sampleCount == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(totalNanos / sampleCount);
+			}
+		}
+
+		/**
+		 * Retrieves max duration over the window
+		 *
+		 * @return duration in milliseconds, 0 if there are no samples
+		 */
+		public long getMaxMillis() {
+			synchronized (CycleStatistics.this) {
+				long maxNanos = 0;
+				for (int i = 0; i < sampleCount; i++) {
+					maxNanos = Math.max(maxNanos, samples[i]);
+				}
+				return TimeUnit.NANOSECONDS.toMillis(maxNanos);
+			}
+		}
+	}
+
+	/**
+	 * CycleStatistics with args constructor
+	 *
+	 * @param historySize max number of cycles kept in history, and window of the mean and max durations
+	 */
+	public CycleStatistics(int historySize) {
+		this.historySize = historySize;
+		for (CollectionStage stage : CollectionStage.values()) {
+			currentStageNanos.put(stage, new LongAdder());
+			stageStatistics.put(stage, new RollingStatistic(historySize));
+		}
+		cycleStatistic = new RollingStatistic(historySize);
+	}
+
+	/**
+	 * Start timing a new cycle
+	 */
+	public void startCycle() {
+		for (LongAdder stageNanos : currentStageNanos.values()) {
+			stageNanos.reset();
+		}
+		cycleStartNanos = System.nanoTime();
+		cycleInProgress = true;
+	}
+
+	/**
+	 * Add time spent in the given stage of the current cycle, safe to call from worker threads
+	 *
+	 * @param stage collection stage
+	 * @param startNanos {@link System#nanoTime()} value taken when the stage started
+	 */
+	public void record(CollectionStage stage, long startNanos) {
+		currentStageNanos.get(stage).add(System.nanoTime() - startNanos);
+	}
+
+	/**
+	 * Finish timing the current cycle, roll its durations into the statistics and the history
+	 *
+	 * @param deviceCount number of devices published by the cycle
+	 */
+	public synchronized void finishCycle(int deviceCount) {
+		if (!cycleInProgress) {
+			return;
+		}
+		cycleInProgress = false;
+		long cycleNanos = System.nanoTime() - cycleStartNanos;
+		Map<CollectionStage, Long> stageMillis = new EnumMap<>(CollectionStage.class);
+		for (CollectionStage stage : CollectionStage.values()) {
+			long nanos = currentStageNanos.get(stage).sum();
+			stageStatistics.get(stage).add(nanos);
+			stageMillis.put(stage, TimeUnit.NANOSECONDS.toMillis(nanos));
+		}
+		cycleStatistic.add(cycleNanos);
+		cycleCount++;
+		lastDeviceCount = deviceCount;
+		history.addLast(new CycleRecord(System.currentTimeMillis(), TimeUnit.NANOSECONDS.toMillis(cycleNanos), deviceCount, stageMillis));
+		while (history.size() > historySize) {
+			history.removeFirst();
+		}
+	}
+
+	/**
+	 * Retrieves statistics of the given stage
+	 *
+	 * @param stage collection stage
+	 * @return rolling statistic of the stage
+	 */
+	public RollingStatistic getStageStatistic(CollectionStage stage) {
+		return stageStatistics.get(stage);
+	}
+
+	/**
+	 * Retrieves {@code {@link #cycleStatistic}}
+	 *
+	 * @return value of {@link #cycleStatistic}
+	 */
+	public RollingStatistic getCycleStatistic() {
+		return cycleStatistic;
+	}
+
+	/**
+	 * Retrieves {@code {@link #lastDeviceCount}}
+	 *
+	 * @return value of {@link #lastDeviceCount}
+	 */
+	public synchronized int getLastDeviceCount() {
+		return lastDeviceCount;
+	}
+
+	/**
+	 * Retrieves number of completed cycles
+	 *
+	 * @return number of cycles
+	 */
+	public synchronized long getCycleCount() {
+		return cycleCount;
+	}
+
+	/**
+	 * Retrieves recent cycles, oldest first
+	 *
+	 * @return list of cycle records
+	 */
+	public synchronized List<CycleRecord> getHistory() {
+		return new ArrayList<>(history);
+	}
+
+	/**
+	 * Populate cycle statistics under the given group
+	 *
+	 * @param stats Map of statistic
+	 * @param group statistics group name
+	 */
+	public synchronized void populateStatistics(Map<String, String> stats, String group) {
+		for (CollectionStage stage : CollectionStage.values()) {
+			populateRollingStatistic(stats, group, stage.getName(), stageStatistics.get(stage));
+		}
+		populateRollingStatistic(stats, group, QSysReflectCollectorMetric.CYCLE.getName(), cycleStatistic);
+		stats.put(String.format("%s#%s", group, QSysReflectCollectorMetric.CYCLE_DEVICES.getName()), String.valueOf(lastDeviceCount));
+		stats.put(String.format("%s#%s", group, QSysReflectCollectorMetric.CYCLES.getName()), String.valueOf(cycleCount));
+	}
+
+	/**
+	 * Populate last, mean and max of a rolling statistic
+	 *
+	 * @param stats Map of statistic
+	 * @param group statistics group name
+	 * @param name statistic name
+	 * @param rollingStatistic rolling statistic
+	 */
+	private void populateRollingStatistic(Map<String, String> stats, String group, String name, RollingStatistic rollingStatistic) {
+		stats.put(String.format("%s#%sLast(ms)", group, name), String.valueOf(rollingStatistic.getLastMillis()));
+		stats.put(String.format("%s#%sMean(ms)", group, name), String.valueOf(rollingStatistic.getMeanMillis()));
+		stats.put(String.format("%s#%sMax(ms)", group, name), String.valueOf(rollingStatistic.getMaxMillis()));
+	}
+}
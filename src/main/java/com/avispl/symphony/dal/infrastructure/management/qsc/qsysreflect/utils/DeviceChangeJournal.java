@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2022 AVI-SPL, Inc. All Rights Reserved.
+ */
+package com.avispl.symphony.dal.infrastructure.management.qsc.qsysreflect.utils;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.avispl.symphony.api.dal.dto.monitor.aggregator.AggregatedDevice;
+
+/**
+ * Journal of aggregated device upserts and removals, sequenced by snapshot version.
+ * Every published snapshot is compared with the previous one; a device is considered upserted when it is new or
+ * its mapped instance was replaced (see {@link MappedDeviceCache}), and removed when it is no longer published.
+ * The journal is bounded, once the oldest entries are dropped callers asking for older versions must fall back to a full snapshot.
+ *
+ * @author Harry
+ * @version 2.1.0
+ * @since 2.1.0
+ */
+public class DeviceChangeJournal {
+
+	private final int capacity;
+	private final Deque<ChangeEntry> entries = new ArrayDeque<>();
+	private Map<String, AggregatedDevice> publishedDevices = new HashMap<>();
+	private long snapshotVersion;
+	private long truncatedVersion;
+
+	/**
+	 * Journal entry of a single device change
+	 */
+	private static class ChangeEntry {
+		private final long version;
+		private final String deviceId;
+		private final boolean removed;
+
+		/**
+		 * ChangeEntry with args constructor
+		 *
+		 * @param version snapshot version the change belongs to
+		 * @param deviceId id of the changed device
+		 * @param removed whether the device was removed from the snapshot
+		 */
+		ChangeEntry(long version, String deviceId, boolean removed) {
+			this.version = version;
+			this.deviceId = deviceId;
+			this.removed = removed;
+		}
+	}
+
+	/**
+	 * DeviceChangeJournal with args constructor
+	 *
+	 * @param capacity max number of change entries retained
+	 */
+	public DeviceChangeJournal(int capacity) {
+		this.capacity = capacity;
+	}
+
+	/**
+	 * Record a newly published snapshot. Snapshot version is only increased when at least one device changed.
+	 *
+	 * @param snapshot published aggregated devices
+	 */
+	public synchronized void record(List<AggregatedDevice> snapshot) {
+		Map<String, AggregatedDevice> currentDevices = new HashMap<>();
+		for (AggregatedDevice aggregatedDevice : snapshot) {
+			if (aggregatedDevice != null && aggregatedDevice.getDeviceId() != null) {
+				currentDevices.put(aggregatedDevice.getDeviceId(), aggregatedDevice);
+			}
+		}
+		long nextVersion = snapshotVersion + 1;
+		boolean changed = false;
+		for (Map.Entry<String, AggregatedDevice> device : currentDevices.entrySet()) {
+			if (publishedDevices.get(device.getKey()) != device.getValue()) {
+				append(new ChangeEntry(nextVersion, device.getKey(), false));
+				changed = true;
+			}
+		}
+		for (String deviceId : publishedDevices.keySet()) {
+			if (!currentDevices.containsKey(deviceId)) {
+				append(new ChangeEntry(nextVersion, deviceId, true));
+				changed = true;
+			}
+		}
+		publishedDevices = currentDevices;
+		if (changed) {
+			snapshotVersion = nextVersion;
+		}
+	}
+
+	/**
+	 * Retrieve device changes that happened after the given version.
+	 * Map value is true for removed devices and false for upserted ones.
+	 *
+	 * @param version snapshot version known by the caller
+	 * @return ordered map of device id to removal flag, null if the journal no longer covers the given version
+	 */
+	public synchronized Map<String, Boolean> changesSince(long version) {
+		if (version < truncatedVersion || version > snapshotVersion) {
+			return null;
+		}
+		Map<String, Boolean> changes = new LinkedHashMap<>();
+		Iterator<ChangeEntry> iterator = entries.descendingIterator();
+		while (iterator.hasNext()) {
+			ChangeEntry entry = iterator.next();
+			if (entry.version <= version) {
+				break;
+			}
+			changes.putIfAbsent(entry.deviceId, entry.removed);
+		}
+		return changes;
+	}
+
+	/**
+	 * Drop every retained entry, callers holding an older version will receive a full snapshot.
+	 * Snapshot version stays monotonic.
+	 */
+	public synchronized void clear() {
+		entries.clear();
+		publishedDevices = new HashMap<>();
+		snapshotVersion++;
+		truncatedVersion = snapshotVersion;
+	}
+
+	/**
+	 * Retrieves {@code {@link #snapshotVersion}}
+	 *
+	 * @return value of {@link #snapshotVersion}
+	 */
+	public synchronized long getSnapshotVersion() {
+		return snapshotVersion;
+	}
+
+	/**
+	 * Append an entry, dropping the oldest one when the journal is full
+	 *
+	 * @param entry change entry
+	 */
+	private void append(ChangeEntry entry) {
+		entries.addLast(entry);
+		while (entries.size() > capacity) {
+			truncatedVersion = entries.removeFirst().version;
+		}
+	}
+}
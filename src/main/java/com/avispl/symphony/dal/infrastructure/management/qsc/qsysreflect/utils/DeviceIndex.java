@@ -0,0 +1,311 @@
+/*
+ * Copyright (c) 2022 AVI-SPL, Inc. All Rights Reserved.
+ */
+package com.avispl.symphony.dal.infrastructure.management.qsc.qsysreflect.utils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import com.avispl.symphony.api.dal.dto.monitor.aggregator.AggregatedDevice;
+
+/**
+ * Inverted indexes of the aggregated devices by model, type, status message and owner system.
+ * Devices are indexed by scope, the /cores response or the /systems/{id}/items response of a system, and a scope update
+ * only re-indexes the devices whose instance or indexed values changed.
+ * A selection intersects the postings of the filter values, walking the smallest posting list only,
+ * so its cost depends on the number of matching devices rather than on the size of the fleet.
+ * Devices are indexed by instance: the same device id may be reported by several cores.
+ * The postings double as fleet aggregates: the number of devices of a value is the size of its posting.
+ *
+ * @author Harry
+ * @version 2.1.0
+ * @since 2.1.0
+ */
+public class DeviceIndex {
+
+	/**
+	 * Indexed attribute of the devices
+	 */
+	public enum Attribute {
+		MODEL,
+		TYPE,
+		STATUS,
+		SYSTEM
+	}
+
+	/**
+	 * Indexed device together with its scope, position in the scope and indexed values
+	 */
+	private static class IndexEntry {
+		private final String scope;
+		private final int position;
+		private final AggregatedDevice device;
+		private final Map<Attribute, Collection<String>> values;
+
+		/**
+		 * IndexEntry with args constructor
+		 *
+		 * @param scope scope of the device
+		 * @param position position of the device in the scope
+		 * @param device aggregated device
+		 * @param values indexed values of the device
+		 */
+		IndexEntry(String scope, int position, AggregatedDevice device, Map<Attribute, Collection<String>> values) {
+			this.scope = scope;
+			this.position = position;
+			this.device = device;
+			this.values = values;
+		}
+	}
+
+	private final Map<String, List<IndexEntry>> scopeEntries = new LinkedHashMap<>();
+	private final Map<Attribute, Map<String, Set<IndexEntry>>> postings = new EnumMap<>(Attribute.class);
+	private int deviceCount;
+
+	/**
+	 * DeviceIndex no args constructor
+	 */
+	public DeviceIndex() {
+		for (Attribute attribute : Attribute.values()) {
+			postings.put(attribute, new HashMap<>());
+		}
+	}
+
+	/**
+	 * Replace the devices of the scope, devices that kept their instance, position and indexed values are not re-indexed
+	 *
+	 * @param scope scope of the devices
+	 * @param devices devices of the scope, in the order they are published
+	 * @param systemIds ids of the systems that own a device
+	 */
+	public synchronized void update(String scope, List<AggregatedDevice> devices, Function<AggregatedDevice, Collection<String>> systemIds) {
+		List<IndexEntry> previousEntries = scopeEntries.getOrDefault(scope, Collections.emptyList());
+		List<IndexEntry> entries = new ArrayList<>(devices.size());
+		for (int i = 0; i < devices.size(); i++) {
+			AggregatedDevice device = devices.get(i);
+			if (device == null) {
+				continue;
+			}
+			Map<Attribute, Collection<String>> values = new EnumMap<>(Attribute.class);
+			Map<String, String> properties = device.getProperties();
+			values.put(Attribute.MODEL, Collections.singletonList(device.getDeviceModel()));
+			values.put(Attribute.TYPE, Collections.singletonList(properties == null ? null : properties.get(QSysReflectConstant.DEVICE_TYPE)));
+			values.put(Attribute.STATUS, Collections.singletonList(properties == null ? null : properties.get(QSysReflectConstant.DEVICE_STATUS_MESSAGE)));
+			values.put(Attribute.SYSTEM, new ArrayList<>(systemIds.apply(device)));
+
+			int index = entries.size();
+			IndexEntry previousEntry = index < previousEntries.size() ? previousEntries.get(index) : null;
+			if (previousEntry != null && previousEntry.device == device && previousEntry.values.equals(values)) {
+				entries.add(previousEntry);
+				continue;
+			}
+			IndexEntry entry = new IndexEntry(scope, index, device, values);
+			entries.add(entry);
+			addPostings(entry);
+		}
+		Set<IndexEntry> keptEntries = new HashSet<>();
+		keptEntries.addAll(entries);
+		for (IndexEntry previousEntry : previousEntries) {
+			if (!keptEntries.contains(previousEntry)) {
+				removePostings(previousEntry);
+			}
+		}
+		scopeEntries.put(scope, entries);
+	}
+
+	/**
+	 * Drop the devices of every scope other than the given ones
+	 *
+	 * @param scopes scopes to keep
+	 */
+	public synchronized void retainScopes(Set<String> scopes) {
+		scopeEntries.entrySet().removeIf(scope -> {
+			if (scopes.contains(scope.getKey())) {
+				return false;
+			}
+			scope.getValue().forEach(this::removePostings);
+			return true;
+		});
+	}
+
+	/**
+	 * Drop every indexed device
+	 */
+	public synchronized void clear() {
+		scopeEntries.clear();
+		postings.values().forEach(Map::clear);
+		deviceCount = 0;
+	}
+
+	/**
+	 * Select the devices of the given scopes that match every criterion, a device matches a criterion when
+	 * one of its values of the attribute is one of the criterion values
+	 *
+	 * @param criteria values accepted for each filtered attribute
+	 * @param scopeRanks rank of each selected scope, devices are returned by scope rank and then by position in the scope
+	 * @param predicate additional check of the selected devices, null if there is none
+	 * @return selected devices
+	 */
+	public synchronized List<AggregatedDevice> select(Map<Attribute, Collection<String>> criteria, Map<String, Integer> scopeRanks,
+			Predicate<AggregatedDevice> predicate) {
+		List<IndexEntry> matches = new ArrayList<>();
+		if (criteria.isEmpty()) {
+			for (String scope : scopeRanks.keySet()) {
+				matches.addAll(scopeEntries.getOrDefault(scope, Collections.emptyList()));
+			}
+		} else {
+			List<List<Set<IndexEntry>>> criteriaPostings = new ArrayList<>();
+			for (Map.Entry<Attribute, Collection<String>> criterion : criteria.entrySet()) {
+				Map<String, Set<IndexEntry>> attributePostings = postings.get(criterion.getKey());
+				List<Set<IndexEntry>> valuePostings = new ArrayList<>();
+				for (String value : new HashSet<>(criterion.getValue())) {
+					Set<IndexEntry> posting = attributePostings.get(value);
+					if (posting != null) {
+						valuePostings.add(posting);
+					}
+				}
+				criteriaPostings.add(valuePostings);
+			}
+			criteriaPostings.sort(Comparator.comparingInt(DeviceIndex::postingsSize));
+			List<Set<IndexEntry>> smallest = criteriaPostings.get(0);
+			Set<IndexEntry> candidates = new HashSet<>();
+			for (Set<IndexEntry> posting : smallest) {
+				candidates.addAll(posting);
+			}
+			for (IndexEntry entry : candidates) {
+				if (scopeRanks.containsKey(entry.scope) && matchesAll(entry, criteriaPostings)) {
+					matches.add(entry);
+				}
+			}
+			matches.sort(Comparator.<IndexEntry>comparingInt(entry -> scopeRanks.get(entry.scope)).thenComparingInt(entry -> entry.position));
+		}
+		List<AggregatedDevice> devices = new ArrayList<>(matches.size());
+		for (IndexEntry entry : matches) {
+			if (predicate == null || predicate.test(entry.device)) {
+				devices.add(entry.device);
+			}
+		}
+		return devices;
+	}
+
+	/**
+	 * Retrieves number of indexed devices
+	 *
+	 * @return number of devices of every scope
+	 */
+	public synchronized int size() {
+		return deviceCount;
+	}
+
+	/**
+	 * Retrieves number of indexed devices with the given value of the attribute
+	 *
+	 * @param attribute indexed attribute
+	 * @param value value of the attribute
+	 * @return number of devices
+	 */
+	public synchronized int count(Attribute attribute, String value) {
+		Set<IndexEntry> posting = postings.get(attribute).get(value);
+		return posting == null ? 0 : posting.size();
+	}
+
+	/**
+	 * Retrieves number of indexed devices of every value of the attribute
+	 *
+	 * @param attribute indexed attribute
+	 * @return number of devices by value
+	 */
+	public synchronized Map<String, Integer> countByValue(Attribute attribute) {
+		Map<String, Integer> counts = new HashMap<>();
+		for (Map.Entry<String, Set<IndexEntry>> posting : postings.get(attribute).entrySet()) {
+			counts.put(posting.getKey(), posting.getValue().size());
+		}
+		return counts;
+	}
+
+	/**
+	 * Check whether the entry is in one of the postings of every criterion other than the smallest, which it was taken from
+	 *
+	 * @param entry index entry
+	 * @param criteriaPostings postings of the values of each criterion, smallest criterion first
+	 * @return true if the entry matches every criterion
+	 */
+	private static boolean matchesAll(IndexEntry entry, List<List<Set<IndexEntry>>> criteriaPostings) {
+		for (int i = 1; i < criteriaPostings.size(); i++) {
+			boolean matched = false;
+			for (Set<IndexEntry> posting : criteriaPostings.get(i)) {
+				if (posting.contains(entry)) {
+					matched = true;
+					break;
+				}
+			}
+			if (!matched) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Retrieves number of entries in the postings of a criterion
+	 *
+	 * @param valuePostings postings of the values of the criterion
+	 * @return total number of entries, an upper bound of the devices matching the criterion
+	 */
+	private static int postingsSize(List<Set<IndexEntry>> valuePostings) {
+		int size = 0;
+		for (Set<IndexEntry> posting : valuePostings) {
+			size += posting.size();
+		}
+		return size;
+	}
+
+	/**
+	 * Add the entry to the postings of its values
+	 *
+	 * @param entry index entry
+	 */
+	private void addPostings(IndexEntry entry) {
+		deviceCount++;
+		for (Map.Entry<Attribute, Collection<String>> attributeValues : entry.values.entrySet()) {
+			Map<String, Set<IndexEntry>> attributePostings = postings.get(attributeValues.getKey());
+			for (String value : attributeValues.getValue()) {
+				if (value != null) {
+					attributePostings.computeIfAbsent(value, v -> new HashSet<>()).add(entry);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Remove the entry from the postings of its values
+	 *
+	 * @param entry index entry
+	 */
+	private void removePostings(IndexEntry entry) {
+		deviceCount--;
+		for (Map.Entry<Attribute, Collection<String>> attributeValues : entry.values.entrySet()) {
+			Map<String, Set<IndexEntry>> attributePostings = postings.get(attributeValues.getKey());
+			for (String value : attributeValues.getValue()) {
+				Set<IndexEntry> posting = value == null ? null : attributePostings.get(value);
+				if (posting != null) {
+					posting.remove(entry);
+					if (posting.isEmpty()) {
+						attributePostings.remove(value);
+					}
+				}
+			}
+		}
+	}
+}
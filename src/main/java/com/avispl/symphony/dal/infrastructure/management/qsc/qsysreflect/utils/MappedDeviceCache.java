@@ -0,0 +1,450 @@
+/*
+ * Copyright (c) 2022 AVI-SPL, Inc. All Rights Reserved.
+ */
+package com.avispl.symphony.dal.infrastructure.management.qsc.qsysreflect.utils;
+
+import java.beans.IntrospectionException;
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+
+import com.avispl.symphony.api.dal.dto.monitor.aggregator.AggregatedDevice;
+import com.avispl.symphony.dal.aggregator.parser.AggregatedDeviceProcessor;
+import com.avispl.symphony.dal.aggregator.parser.PropertiesMapping;
+
+/**
+ * Cache of mapped aggregated devices, keyed by the scope they were fetched from (cores list or a single system items list)
+ * and by the device id. Each raw device record is fingerprinted during ingestion, and the YAML mapping is only applied
+ * again when the fingerprint differs from the one seen in the previous cycle.
+ * Records are mapped by one processor per model mapping, so extracted devices keep the order of
+ * {@link AggregatedDeviceProcessor#extractDevices(JsonNode)}: grouped by model mapping, then by position in the payload.
+ * Cached devices are only re-used by the processors that mapped them, so devices are mapped again once the processors are replaced.
+ *
+ * @author Harry
+ * @version 2.1.0
+ * @since 2.1.0
+ */
+public class MappedDeviceCache {
+
+	private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+	private static final long FNV_PRIME = 0x100000001b3L;
+
+	/**
+	 * Map of scope name to the devices mapped for that scope during the last ingestion
+	 */
+	private final Map<String, MappedScope> scopes = new ConcurrentHashMap<>();
+
+	private final AtomicLong mappedCount = new AtomicLong();
+	private final AtomicLong skippedCount = new AtomicLong();
+	private final AtomicLong parallelMappedCount = new AtomicLong();
+
+	/**
+	 * Mapped devices together with fingerprint of the raw record they were mapped from
+	 */
+	private static class MappedDevice {
+		private final long fingerprint;
+		private final AggregatedDevice[] aggregatedDevices;
+
+		/**
+		 * MappedDevice with args constructor
+		 *
+		 * @param fingerprint fingerprint of the raw device record
+		 * @param aggregatedDevices device mapped by each model processor, null where the record is rejected by the model filter
+		 */
+		MappedDevice(long fingerprint, AggregatedDevice[] aggregatedDevices) {
+			this.fingerprint = fingerprint;
+			this.aggregatedDevices = aggregatedDevices;
+		}
+	}
+
+	/**
+	 * Mapped devices of a scope together with the processors they were mapped by
+	 */
+	private static class MappedScope {
+		private final List<AggregatedDeviceProcessor> modelProcessors;
+		private final Map<String, MappedDevice> devices;
+
+		/**
+		 * MappedScope with args constructor
+		 *
+		 * @param modelProcessors processors the devices were mapped by
+		 * @param devices map of cache key to mapped device
+		 */
+		MappedScope(List<AggregatedDeviceProcessor> modelProcessors, Map<String, MappedDevice> devices) {
+			this.modelProcessors = modelProcessors;
+			this.devices = devices;
+		}
+	}
+
+	/**
+	 * Create one processor per model mapping, in the iteration order of the given mapping
+	 *
+	 * @param mapping model mapping loaded from the YAML file
+	 * @return list of single model processors
+	 */
+	public static List<AggregatedDeviceProcessor> createModelProcessors(Map<String, PropertiesMapping> mapping) {
+		List<AggregatedDeviceProcessor> modelProcessors = new ArrayList<>();
+		for (Map.Entry<String, PropertiesMapping> model : mapping.entrySet()) {
+			modelProcessors.add(new AggregatedDeviceProcessor(Collections.singletonMap(model.getKey(), model.getValue())));
+		}
+		return modelProcessors;
+	}
+
+	/**
+	 * Project the model mapping on the given device properties: properties that are not retained are removed from the
+	 * properties of every model, along with the device mapping entries of the same name that do not target a field of {@link AggregatedDevice},
+	 * so their expressions are never evaluated and their values never stored
+	 *
+	 * @param mapping model mapping loaded from the YAML file
+	 * @param retainedProperties names of the properties to keep, null to keep every property
+	 * @return projected model mapping, in the iteration order of the given mapping
+	 */
+	public static Map<String, PropertiesMapping> projectProperties(Map<String, PropertiesMapping> mapping, Set<String> retainedProperties) {
+		if (retainedProperties == null) {
+			return mapping;
+		}
+		Set<String> deviceFields = aggregatedDeviceFields();
+		Map<String, PropertiesMapping> projectedMapping = new LinkedHashMap<>();
+		for (Map.Entry<String, PropertiesMapping> model : mapping.entrySet()) {
+			PropertiesMapping propertiesMapping = model.getValue();
+			Map<String, String> properties = new LinkedHashMap<>();
+			for (Map.Entry<String, String> property : propertiesMapping.getProperties().entrySet()) {
+				if (retainedProperties.contains(property.getKey())) {
+					properties.put(property.getKey(), property.getValue());
+				}
+			}
+			Map<String, String> deviceProperties = new LinkedHashMap<>();
+			for (Map.Entry<String, String> deviceProperty : propertiesMapping.getDeviceProperties().entrySet()) {
+				if (deviceFields.contains(deviceProperty.getKey()) || retainedProperties.contains(deviceProperty.getKey())) {
+					deviceProperties.put(deviceProperty.getKey(), deviceProperty.getValue());
+				}
+			}
+			projectedMapping.put(model.getKey(), new PropertiesMapping(propertiesMapping.getNode(), propertiesMapping.getFilter(), properties,
+					propertiesMapping.getStatistics(), propertiesMapping.getDynamicStatistics(), deviceProperties, propertiesMapping.getControlProperties()));
+		}
+		return projectedMapping;
+	}
+
+	/**
+	 * Retrieves names of the writable fields of {@link AggregatedDevice}, the targets of the device mapping entries
+	 *
+	 * @return field names
+	 */
+	private static Set<String> aggregatedDeviceFields() {
+		Set<String> deviceFields = new HashSet<>();
+		try {
+			for (PropertyDescriptor descriptor : Introspector.getBeanInfo(AggregatedDevice.class).getPropertyDescriptors()) {
+				if (descriptor.getWriteMethod() != null) {
+					deviceFields.add(descriptor.getName());
+				}
+			}
+		} catch (IntrospectionException e) {
+			throw new IllegalStateException("Unable to list the fields of the aggregated device", e);
+		}
+		return deviceFields;
+	}
+
+	/**
+	 * Extract aggregated devices of the given scope, re-using previously mapped devices whose raw record did not change.
+	 * Devices that are no longer part of the scope payload are evicted.
+	 *
+	 * @param scope name of the scope the devices are fetched from
+	 * @param devices array of raw device records
+	 * @param modelProcessors processors used to map changed records, created by {@link #createModelProcessors(Map)}
+	 * @return list of aggregated devices grouped by model mapping
+	 */
+	public List<AggregatedDevice> extractDevices(String scope, JsonNode devices, List<AggregatedDeviceProcessor> modelProcessors) {
+		return extractDevices(scope, devices, modelProcessors, null, Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Extract aggregated devices of the given scope, re-using previously mapped devices whose raw record did not change.
+	 * Payloads of at least the given number of records are split into chunks of {@link QSysReflectConstant#PARALLEL_MAPPING_CHUNK_SIZE}
+	 * records mapped on the fork/join pool, the mapped devices are then merged in the order of the payload.
+	 * Devices that are no longer part of the scope payload are evicted.
+	 *
+	 * @param scope name of the scope the devices are fetched from
+	 * @param devices array of raw device records
+	 * @param modelProcessors processors used to map changed records, created by {@link #createModelProcessors(Map)}
+	 * @param mappingPool pool mapping large payloads, null to map every payload on the calling thread
+	 * @param parallelThreshold min number of records of a payload mapped on the pool
+	 * @return list of aggregated devices grouped by model mapping
+	 */
+	public List<AggregatedDevice> extractDevices(String scope, JsonNode devices, List<AggregatedDeviceProcessor> modelProcessors, ForkJoinPool mappingPool,
+			int parallelThreshold) {
+		MappedScope previousScope = scopes.get(scope);
+		Map<String, MappedDevice> previousDevices =
+				previousScope != null && previousScope.modelProcessors == modelProcessors ? previousScope.devices : Collections.emptyMap();
+		int size = devices.size();
+		String[] cacheKeys = new String[size];
+		Set<String> assignedKeys = new HashSet<>();
+		for (int i = 0; i < size; i++) {
+			cacheKeys[i] = cacheKey(devices.get(i), i, assignedKeys);
+		}
+
+		MappedDevice[] mappedDevices = new MappedDevice[size];
+		if (mappingPool != null && !mappingPool.isShutdown() && size >= parallelThreshold) {
+			mappingPool.invoke(new MappingTask(devices, cacheKeys, previousDevices, modelProcessors, mappedDevices, 0, size));
+			parallelMappedCount.incrementAndGet();
+		} else {
+			for (int i = 0; i < size; i++) {
+				mappedDevices[i] = mapDevice(devices.get(i), cacheKeys[i] == null ? null : previousDevices.get(cacheKeys[i]), modelProcessors);
+			}
+		}
+
+		Map<String, MappedDevice> currentDevices = new HashMap<>();
+		List<List<AggregatedDevice>> modelDevices = new ArrayList<>();
+		for (int i = 0; i < modelProcessors.size(); i++) {
+			modelDevices.add(new ArrayList<>());
+		}
+		for (int i = 0; i < size; i++) {
+			MappedDevice mappedDevice = mappedDevices[i];
+			if (cacheKeys[i] != null) {
+				currentDevices.put(cacheKeys[i], mappedDevice);
+			}
+			for (int model = 0; model < mappedDevice.aggregatedDevices.length; model++) {
+				if (mappedDevice.aggregatedDevices[model] != null) {
+					modelDevices.get(model).add(mappedDevice.aggregatedDevices[model]);
+				}
+			}
+		}
+		scopes.put(scope, new MappedScope(modelProcessors, currentDevices));
+		List<AggregatedDevice> result = new ArrayList<>();
+		for (List<AggregatedDevice> aggregatedDevices : modelDevices) {
+			result.addAll(aggregatedDevices);
+		}
+		return result;
+	}
+
+	/**
+	 * Map a raw device record, unless its fingerprint matches the previously mapped devices
+	 *
+	 * @param device raw device record
+	 * @param previousDevice devices mapped from the record in the previous ingestion, null if there are none
+	 * @param modelProcessors processors used to map a changed record
+	 * @return mapped devices
+	 */
+	private MappedDevice mapDevice(JsonNode device, MappedDevice previousDevice, List<AggregatedDeviceProcessor> modelProcessors) {
+		long fingerprint = fingerprint(device);
+		if (previousDevice != null && previousDevice.fingerprint == fingerprint) {
+			skippedCount.incrementAndGet();
+			return previousDevice;
+		}
+		ArrayNode singleDevice = JsonNodeFactory.instance.arrayNode();
+		singleDevice.add(device);
+		AggregatedDevice[] aggregatedDevices = new AggregatedDevice[modelProcessors.size()];
+		for (int model = 0; model < modelProcessors.size(); model++) {
+			List<AggregatedDevice> extractedDevices = modelProcessors.get(model).extractDevices(singleDevice);
+			if (!extractedDevices.isEmpty()) {
+				aggregatedDevices[model] = extractedDevices.get(0);
+			}
+		}
+		mappedCount.incrementAndGet();
+		return new MappedDevice(fingerprint, aggregatedDevices);
+	}
+
+	/**
+	 * Fork/join task mapping a range of the raw device records, halving the range until it fits in a chunk
+	 */
+	private class MappingTask extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+		private final JsonNode devices;
+		private final String[] cacheKeys;
+		private final Map<String, MappedDevice> previousDevices;
+		private final List<AggregatedDeviceProcessor> modelProcessors;
+		private final MappedDevice[] mappedDevices;
+		private final int from;
+		private final int to;
+
+		/**
+		 * MappingTask with args constructor
+		 *
+		 * @param devices array of raw device records
+		 * @param cacheKeys cache key of each record
+		 * @param previousDevices devices mapped in the previous ingestion of the scope
+		 * @param modelProcessors processors used to map changed records
+		 * @param mappedDevices mapped devices of each record, filled by the task
+		 * @param from first record of the range
+		 * @param to end of the range, exclusive
+		 */
+		MappingTask(JsonNode devices, String[] cacheKeys, Map<String, MappedDevice> previousDevices, List<AggregatedDeviceProcessor> modelProcessors,
+				MappedDevice[] mappedDevices, int from, int to) {
+			this.devices = devices;
+			this.cacheKeys = cacheKeys;
+			this.previousDevices = previousDevices;
+			this.modelProcessors = modelProcessors;
+			this.mappedDevices = mappedDevices;
+			this.from = from;
+			this.to = to;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		protected void compute() {
+			if (to - from <= QSysReflectConstant.PARALLEL_MAPPING_CHUNK_SIZE) {
+				for (int i = from; i < to; i++) {
+					mappedDevices[i] = mapDevice(devices.get(i), cacheKeys[i] == null ? null : previousDevices.get(cacheKeys[i]), modelProcessors);
+				}
+				return;
+			}
+			int middle = (from + to) >>> 1;
+			invokeAll(new MappingTask(devices, cacheKeys, previousDevices, modelProcessors, mappedDevices, from, middle),
+					new MappingTask(devices, cacheKeys, previousDevices, modelProcessors, mappedDevices, middle, to));
+		}
+	}
+
+	/**
+	 * Build the cache key of a raw device record. The API may list the same device id more than once in a scope,
+	 * so repeated ids are disambiguated by their position in the payload.
+	 *
+	 * @param device raw device record
+	 * @param index position of the record in the payload
+	 * @param assignedKeys cache keys already assigned to the records of the scope in this cycle, the new key is added to them
+	 * @return cache key, null if the record has no id
+	 */
+	private String cacheKey(JsonNode device, int index, Set<String> assignedKeys) {
+		JsonNode idNode = device.get(QSysReflectConstant.ID);
+		if (idNode == null) {
+			return null;
+		}
+		String cacheKey = idNode.asText();
+		if (assignedKeys.contains(cacheKey)) {
+			cacheKey = cacheKey + "#" + index;
+		}
+		assignedKeys.add(cacheKey);
+		return cacheKey;
+	}
+
+	/**
+	 * Drop the mapped devices of every scope other than the given ones
+	 *
+	 * @param retainedScopes scopes to keep
+	 */
+	public void retainScopes(Set<String> retainedScopes) {
+		scopes.keySet().retainAll(retainedScopes);
+	}
+
+	/**
+	 * Drop every cached scope
+	 */
+	public void clear() {
+		scopes.clear();
+	}
+
+	/**
+	 * Retrieves number of raw device records that went through the YAML mapping
+	 *
+	 * @return number of mapped records
+	 */
+	public long getMappedCount() {
+		return mappedCount.get();
+	}
+
+	/**
+	 * Retrieves number of raw device records whose mapping was skipped because their fingerprint did not change
+	 *
+	 * @return number of skipped records
+	 */
+	public long getSkippedCount() {
+		return skippedCount.get();
+	}
+
+	/**
+	 * Retrieves number of payloads that were mapped in parallel chunks
+	 *
+	 * @return number of payloads mapped on the fork/join pool
+	 */
+	public long getParallelMappedCount() {
+		return parallelMappedCount.get();
+	}
+
+	/**
+	 * Retrieves percentage of raw device records whose mapping was skipped
+	 *
+	 * @return skip rate in percent, 0 if nothing was ingested yet
+	 */
+	public double getSkipRate() {
+		long skipped = skippedCount.get();
+		long total = skipped + mappedCount.get();
+		return total == 0 ? 0 : skipped * 100.0 / total;
+	}
+
+	/**
+	 * Compute 64-bit FNV-1a fingerprint of a raw device record by walking field names and scalar values
+	 *
+	 * @param node raw device record
+	 * @return fingerprint value
+	 */
+	static long fingerprint(JsonNode node) {
+		return fingerprint(node, FNV_OFFSET_BASIS);
+	}
+
+	/**
+	 * Fold the given node into the running fingerprint
+	 *
+	 * @param node json node
+	 * @param hash running hash value
+	 * @return updated hash value
+	 */
+	private static long fingerprint(JsonNode node, long hash) {
+		hash = mix(hash, node.getNodeType().ordinal());
+		if (node.isObject()) {
+			Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+			while (fields.hasNext()) {
+				Map.Entry<String, JsonNode> field = fields.next();
+				hash = mix(hash, field.getKey());
+				hash = fingerprint(field.getValue(), hash);
+			}
+		} else if (node.isArray()) {
+			for (JsonNode element : node) {
+				hash = fingerprint(element, hash);
+			}
+		} else {
+			hash = mix(hash, node.asText());
+		}
+		return hash;
+	}
+
+	/**
+	 * Fold characters of a string into the running hash
+	 *
+	 * @param hash running hash value
+	 * @param value string value
+	 * @return updated hash value
+	 */
+	private static long mix(long hash, String value) {
+		for (int i = 0; i < value.length(); i++) {
+			hash = mix(hash, value.charAt(i));
+		}
+		return mix(hash, 0);
+	}
+
+	/**
+	 * Fold a single value into the running hash
+	 *
+	 * @param hash running hash value
+	 * @param value value to fold
+	 * @return updated hash value
+	 */
+	private static long mix(long hash, int value) {
+		return (hash ^ value) * FNV_PRIME;
+	}
+}
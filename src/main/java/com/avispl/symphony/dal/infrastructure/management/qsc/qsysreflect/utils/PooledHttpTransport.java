@@ -0,0 +1,296 @@
+/*
+ * Copyright (c) 2022 AVI-SPL, Inc. All Rights Reserved.
+ */
+package com.avispl.symphony.dal.infrastructure.management.qsc.qsysreflect.utils;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.ProxySelector;
+import java.net.URI;
+import java.security.GeneralSecurityException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.net.ssl.SSLContext;
+
+import org.apache.http.HttpRequestInterceptor;
+import org.apache.http.client.AuthCache;
+import org.apache.http.client.CredentialsProvider;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.protocol.HttpClientContext;
+import org.apache.http.config.Registry;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.conn.socket.PlainConnectionSocketFactory;
+import org.apache.http.conn.ssl.NoopHostnameVerifier;
+import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
+import org.apache.http.conn.ssl.TrustAllStrategy;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.ManagedHttpClientConnectionFactory;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.impl.conn.SystemDefaultRoutePlanner;
+import org.apache.http.protocol.HttpContext;
+import org.apache.http.ssl.SSLContexts;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * Pooled HTTP transport of the Q-Sys Reflect API client.
+ * Connections to the API host are kept alive and shared by every worker, up to the given number of connections per route.
+ * Every TLS connection of the pool is created from the same {@link SSLContext}, so connections opened after the first one
+ * resume its TLS session instead of doing a full handshake. Responses are requested with gzip {@code Accept-Encoding}
+ * and decompressed transparently by the client.
+ * Every request and every newly opened connection is counted, requests served by a pooled connection are reported as reused.
+ * Requests sent within {@link #callBefore(long, Callable)} have their timeouts cut to the time left before the deadline.
+ * Requests called through {@link #callAsync(long, Callable)} run on the request threads of the transport, one per connection to the API host,
+ * so the caller gets a {@link CompletableFuture} instead of waiting for the response. The client itself is blocking: a request in flight
+ * holds its request thread, and the requests beyond the connections wait in a bounded queue.
+ * Credentials and preemptive authentication are set up by the caller, the same way the default client of the communicator does.
+ *
+ * @author Harry
+ * @version 2.1.0
+ * @since 2.1.0
+ */
+public class PooledHttpTransport implements Closeable {
+
+	/**
+	 * Deadline of the requests sent by the current thread, null if there is none
+	 */
+	private static final ThreadLocal<Long> requestDeadline = new ThreadLocal<>();
+
+	private final PoolingHttpClientConnectionManager connectionManager;
+	private final CloseableHttpClient httpClient;
+	private final RestTemplate restTemplate;
+	private final ThreadPoolExecutor requestExecutor;
+
+	private final AtomicLong requestCount = new AtomicLong();
+	private final AtomicLong openedConnectionCount = new AtomicLong();
+
+	/**
+	 * Request called asynchronously, with the future it completes
+	 *
+	 * @param <T> type of the result
+	 */
+	private static class AsyncRequest<T> implements Runnable {
+		private final CompletableFuture<T> future = new CompletableFuture<>();
+		private final long deadline;
+		private final Callable<T> request;
+
+		/**
+		 * AsyncRequest with args constructor
+		 *
+		 * @param deadline timestamp the request must complete by
+		 * @param request request to call
+		 */
+		AsyncRequest(long deadline, Callable<T> request) {
+			this.deadline = deadline;
+			this.request = request;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 * Requests cancelled or past their deadline while they were queued are not sent.
+		 */
+		@Override
+		public void run() {
+			if (future.isDone()) {
+				return;
+			}
+			if (System.currentTimeMillis() >= deadline) {
+				future.completeExceptionally(new TimeoutException("Request deadline exceeded before a request thread was free"));
+				return;
+			}
+			try {
+				future.complete(callBefore(deadline, request));
+			} catch (Exception e) {
+				future.completeExceptionally(e);
+			}
+		}
+	}
+
+	/**
+	 * PooledHttpTransport with args constructor
+	 *
+	 * @param maxConnectionsPerRoute max number of connections to the API host
+	 * @param maxConnectionsTotal max number of connections of the pool
+	 * @param timeout connect, socket and connection lease timeout in ms
+	 * @param keepAliveMillis max time a connection is kept alive, and kept idle in the pool, in ms
+	 * @param trustAllCertificates true to trust every server certificate and skip host name verification
+	 * @param credentialsProvider credentials of the API host, null if requests are not authenticated by the client
+	 * @param authCache authentication schemes sent preemptively to the API host, null if there are none
+	 * @param maxQueuedRequests max number of asynchronous requests waiting for a request thread
+	 * @throws GeneralSecurityException if the TLS context cannot be created
+	 */
+	public PooledHttpTransport(int maxConnectionsPerRoute, int maxConnectionsTotal, int timeout, long keepAliveMillis, boolean trustAllCertificates,
+			CredentialsProvider credentialsProvider, AuthCache authCache, int maxQueuedRequests) throws GeneralSecurityException {
+		SSLContext sslContext = trustAllCertificates ? SSLContexts.custom().loadTrustMaterial(null, TrustAllStrategy.INSTANCE).build() : SSLContexts.createDefault();
+		sslContext.getClientSessionContext().setSessionTimeout((int) TimeUnit.MILLISECONDS.toSeconds(QSysReflectConstant.TLS_SESSION_TIMEOUT));
+		Registry<ConnectionSocketFactory> socketFactoryRegistry = RegistryBuilder.<ConnectionSocketFactory>create()
+				.register("http", PlainConnectionSocketFactory.getSocketFactory())
+				.register("https", new SSLConnectionSocketFactory(sslContext,
+						trustAllCertificates ? NoopHostnameVerifier.INSTANCE : SSLConnectionSocketFactory.getDefaultHostnameVerifier()))
+				.build();
+		connectionManager = new PoolingHttpClientConnectionManager(socketFactoryRegistry, (route, config) -> {
+			openedConnectionCount.incrementAndGet();
+			return ManagedHttpClientConnectionFactory.INSTANCE.create(route, config);
+		});
+		connectionManager.setDefaultMaxPerRoute(maxConnectionsPerRoute);
+		connectionManager.setMaxTotal(Math.max(maxConnectionsPerRoute, maxConnectionsTotal));
+		connectionManager.setValidateAfterInactivity(QSysReflectConstant.VALIDATE_CONNECTION_AFTER_INACTIVITY);
+
+		ConnectionKeepAliveStrategy keepAliveStrategy = (response, context) -> {
+			long serverKeepAlive = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+			return serverKeepAlive > 0 ? Math.min(serverKeepAlive, keepAliveMillis) : keepAliveMillis;
+		};
+		RequestConfig requestConfig = RequestConfig.custom()
+				.setConnectTimeout(timeout)
+				.setSocketTimeout(timeout)
+				.setConnectionRequestTimeout(timeout)
+				.build();
+		// content compression is left enabled: the client sends Accept-Encoding: gzip,deflate and decompresses the responses
+		httpClient = HttpClients.custom()
+				.setConnectionManager(connectionManager)
+				.setDefaultRequestConfig(requestConfig)
+				.setDefaultCredentialsProvider(credentialsProvider)
+				.setKeepAliveStrategy(keepAliveStrategy)
+				.setRoutePlanner(new SystemDefaultRoutePlanner(ProxySelector.getDefault()))
+				.addInterceptorFirst((HttpRequestInterceptor) (request, context) -> requestCount.incrementAndGet())
+				.evictExpiredConnections()
+				.evictIdleConnections(keepAliveMillis, TimeUnit.MILLISECONDS)
+				.build();
+		restTemplate = new RestTemplate(new HttpComponentsClientHttpRequestFactory(httpClient) {
+			@Override
+			protected HttpContext createHttpContext(HttpMethod httpMethod, URI uri) {
+				Long deadline = requestDeadline.get();
+				if (deadline == null && authCache == null) {
+					return null;
+				}
+				// a context per request, the auth cache is thread safe and shared by every request
+				HttpClientContext context = HttpClientContext.create();
+				if (authCache != null) {
+					context.setAuthCache(authCache);
+				}
+				if (deadline != null) {
+					int remaining = (int) Math.max(1, Math.min(Integer.MAX_VALUE, deadline - System.currentTimeMillis()));
+					int deadlineTimeout = timeout > 0 ? Math.min(timeout, remaining) : remaining;
+					context.setRequestConfig(RequestConfig.copy(requestConfig)
+							.setConnectTimeout(deadlineTimeout)
+							.setSocketTimeout(deadlineTimeout)
+							.setConnectionRequestTimeout(deadlineTimeout)
+							.build());
+				}
+				return context;
+			}
+		});
+		// request threads are started on the first asynchronous requests and stop once they are idle for as long as the connections
+		requestExecutor = new ThreadPoolExecutor(maxConnectionsPerRoute, maxConnectionsPerRoute, Math.max(1, keepAliveMillis), TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(Math.max(1, maxQueuedRequests)));
+		requestExecutor.allowCoreThreadTimeOut(true);
+	}
+
+	/**
+	 * Call the request with the given deadline applied to every HTTP request it sends from the current thread
+	 *
+	 * @param deadline timestamp the requests must complete by
+	 * @param request request to call
+	 * @param <T> type of the result
+	 * @return result of the request
+	 * @throws Exception if the request fails or times out
+	 */
+	public static <T> T callBefore(long deadline, Callable<T> request) throws Exception {
+		Long previousDeadline = requestDeadline.get();
+		requestDeadline.set(deadline);
+		try {
+			return request.call();
+		} finally {
+			if (previousDeadline == null) {
+				requestDeadline.remove();
+			} else {
+				requestDeadline.set(previousDeadline);
+			}
+		}
+	}
+
+	/**
+	 * Call the request on a request thread of the transport, with the given deadline applied to every HTTP request it sends
+	 *
+	 * @param deadline timestamp the request must complete by, the request is not sent if it is still queued by then
+	 * @param request request to call
+	 * @param <T> type of the result
+	 * @return future of the result, completed exceptionally if the request fails or times out, and cancelled if the transport is closed before the request is sent
+	 * @throws RejectedExecutionException if the queue of the asynchronous requests is full or the transport is closed
+	 */
+	public <T> CompletableFuture<T> callAsync(long deadline, Callable<T> request) {
+		AsyncRequest<T> asyncRequest = new AsyncRequest<>(deadline, request);
+		requestExecutor.execute(asyncRequest);
+		return asyncRequest.future;
+	}
+
+	/**
+	 * Retrieves number of asynchronous requests waiting for a request thread
+	 *
+	 * @return number of queued requests
+	 */
+	public int getQueuedRequestCount() {
+		return requestExecutor.getQueue().size();
+	}
+
+	/**
+	 * Retrieves {@code {@link #restTemplate}}
+	 *
+	 * @return value of {@link #restTemplate}
+	 */
+	public RestTemplate getRestTemplate() {
+		return restTemplate;
+	}
+
+	/**
+	 * Retrieves number of connections opened by the pool
+	 *
+	 * @return number of opened connections
+	 */
+	public long getOpenedConnectionCount() {
+		return openedConnectionCount.get();
+	}
+
+	/**
+	 * Retrieves number of requests sent over a connection that was already open
+	 *
+	 * @return number of requests served by a reused connection
+	 */
+	public long getReusedConnectionCount() {
+		return Math.max(0, requestCount.get() - openedConnectionCount.get());
+	}
+
+	/**
+	 * Retrieves number of connections currently held by the pool, leased and idle
+	 *
+	 * @return number of pooled connections
+	 */
+	public int getPooledConnectionCount() {
+		return connectionManager.getTotalStats().getLeased() + connectionManager.getTotalStats().getAvailable();
+	}
+
+	/**
+	 * Cancel the queued asynchronous requests, interrupt the running ones and close every pooled connection
+	 *
+	 * @throws IOException if the client fails to close
+	 */
+	@Override
+	public void close() throws IOException {
+		for (Runnable queuedRequest : requestExecutor.shutdownNow()) {
+			((AsyncRequest<?>) queuedRequest).future.cancel(false);
+		}
+		httpClient.close();
+	}
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2022 AVI-SPL, Inc. All Rights Reserved.
+ */
+package com.avispl.symphony.dal.infrastructure.management.qsc.qsysreflect.utils;
+
+/**
+ * Metric for QSys Reflect data collection, published under {@link QSysReflectConstant#COLLECTOR_STATISTICS_GROUP}
+ *
+ * @author Harry
+ * @version 2.1.0
+ * @since 2.1.0
+ */
+public enum QSysReflectCollectorMetric {
+	MAPPING_SKIP_RATE("MappingSkipRate(%)"),
+	MAPPED_DEVICES("MappedDevices"),
+	MAPPING_SKIPPED_DEVICES("MappingSkippedDevices"),
+	PARALLEL_MAPPINGS("ParallelMappings"),
+	SNAPSHOT_VERSION("SnapshotVersion"),
+	CYCLE("Cycle"),
+	CYCLE_DEVICES("CycleDevices"),
+	CYCLES("Cycles"),
+	DEMANDED_DEVICES("DemandedDevices"),
+	DEMANDED_SYSTEMS("DemandedSystems"),
+	COALESCING_RATIO("CoalescingRatio(%)"),
+	COALESCED_REQUESTS("CoalescedRequests"),
+	RESPONSE_CACHE_HIT_RATE("ResponseCacheHitRate(%)"),
+	RESPONSE_CACHE_HITS("ResponseCacheHits"),
+	RESPONSE_CACHE_SIZE("ResponseCacheSize"),
+	SHARD("Shard"),
+	SHARD_SYSTEMS("ShardSystems"),
+	HEDGED_REQUESTS("HedgedRequests"),
+	HEDGE_WINS("HedgeWins"),
+	HEDGING_THRESHOLD("HedgingThreshold(ms)"),
+	HTTP_CONNECTIONS_OPENED("HttpConnectionsOpened"),
+	HTTP_CONNECTIONS_REUSED("HttpConnectionsReused"),
+	HTTP_CONNECTIONS_POOLED("HttpConnectionsPooled"),
+	DEADLINE_EXCEEDED_CYCLES("DeadlineExceededCycles"),
+	WORK_QUEUE_DEPTH("WorkQueueDepth"),
+	WORK_QUEUE_ACTIVE_WORKERS("WorkQueueActiveWorkers"),
+	WORK_QUEUE_REJECTED_TASKS("WorkQueueRejectedTasks"),
+	WORK_QUEUE_WAIT_AVERAGE("WorkQueueWaitAverage(ms)"),
+	WORK_QUEUE_WAIT_MAX("WorkQueueWaitMax(ms)"),
+	STATUS_JOURNAL_RECORDS("StatusJournalRecords"),
+	STATUS_JOURNAL_DROPPED_RECORDS("StatusJournalDroppedRecords");
+
+	private final String name;
+
+	/**
+	 * QSysReflectCollectorMetric with args constructor
+	 * @param name metric name
+	 */
+	QSysReflectCollectorMetric(String name) {
+		this.name = name;
+	}
+
+	/**
+	 * Retrieves {@code {@link #name}}
+	 *
+	 * @return value of {@link #name}
+	 */
+	public String getName() {
+		return name;
+	}
+}
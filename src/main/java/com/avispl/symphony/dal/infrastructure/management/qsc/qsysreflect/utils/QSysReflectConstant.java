@@ -31,4 +31,64 @@ public class QSysReflectConstant {
 	public static final String CORE = "Core";
 	public static final String MODEL_MAPPING_QSYS_CORE = "qsysreflect/model-mapping.yml";
 	public static final String MODEL_MAPPING_OTHER_THAN_QSYS_CORE = "qsysreflect/model-mapping-v2.yml";
+	public static final String COLLECTOR_STATISTICS_GROUP = "CollectorStatistics";
+	public static final String FLEET_STATISTICS_GROUP = "FleetStatistics";
+	public static final String FLEET_MODELS_GROUP = "FleetDeviceModels";
+	public static final String FLEET_TYPES_GROUP = "FleetDeviceTypes";
+	public static final String FLEET_STATUS_MESSAGES_GROUP = "FleetDeviceStatusMessages";
+	public static final String CORES_SCOPE = "cores";
+	public static final String SYSTEM_SCOPE = "system-";
+	public static final int DEVICE_CHANGE_JOURNAL_CAPACITY = 10000;
+	public static final int CYCLE_HISTORY_SIZE = 50;
+	public static final long MIN_RETRIEVAL_INTERVAL = 10 * 1000;
+	public static final long MAX_RETRIEVAL_INTERVAL = 60 * 60 * 1000;
+	public static final int RETRIEVAL_JITTER_PERCENT = 10;
+	public static final long DEFAULT_BACKGROUND_RETRIEVAL_INTERVAL = 10 * 60 * 1000;
+	public static final int MAX_SHARD_COUNT = 1024;
+	public static final long MAX_RESPONSE_CACHE_TTL = 10 * 60 * 1000;
+	public static final long RESPONSE_CACHE_MAX_WEIGHT = 200000;
+	public static final int DEFAULT_CIRCUIT_BREAKER_FAILURE_THRESHOLD = 3;
+	public static final int MAX_CIRCUIT_BREAKER_FAILURE_THRESHOLD = 100;
+	public static final long CIRCUIT_BREAKER_BASE_BACKOFF = 30 * 1000;
+	public static final long DEFAULT_CIRCUIT_BREAKER_MAX_BACKOFF = 30 * 60 * 1000;
+	public static final long MAX_CIRCUIT_BREAKER_MAX_BACKOFF = 24 * 60 * 60 * 1000;
+	public static final int HEDGING_LATENCY_WINDOW = 256;
+	public static final int MIN_HEDGING_SAMPLES = 20;
+	public static final int DEFAULT_HEDGING_PERCENTILE = 95;
+	public static final int MIN_HEDGING_PERCENTILE = 50;
+	public static final int MAX_HEDGING_PERCENTILE = 99;
+	public static final int DEFAULT_HEDGING_BUDGET = 5;
+	public static final int MAX_HEDGING_BUDGET = 50;
+	public static final int DEFAULT_MAX_CONNECTIONS_PER_ROUTE = 16;
+	public static final long DEFAULT_CONNECTION_KEEP_ALIVE = 30 * 1000;
+	public static final long TLS_SESSION_TIMEOUT = 60 * 60 * 1000;
+	public static final long TREND_SAMPLE_INTERVAL = 60 * 1000;
+	public static final int TREND_CAPACITY = 64;
+	public static final long TREND_CHANGE_WINDOW = 15 * 60 * 1000;
+	public static final long TREND_AVERAGE_WINDOW = 60 * 60 * 1000;
+	public static final long STATUS_JOURNAL_SEGMENT_SIZE = 4 * 1024 * 1024;
+	public static final int DEFAULT_STATUS_JOURNAL_MAX_SEGMENTS = 8;
+	public static final int MAX_STATUS_JOURNAL_MAX_SEGMENTS = 1024;
+	public static final int STATUS_JOURNAL_QUEUE_CAPACITY = 10000;
+	public static final int STATUS_JOURNAL_BATCH_SIZE = 512;
+	public static final long STATUS_JOURNAL_FLUSH_INTERVAL = 1000;
+	public static final long UPTIME_RENDER_BUCKET = 1000;
+	public static final long UPTIME_CACHE_EXPIRY = 60 * 1000;
+	public static final int PARALLEL_MAPPING_CHUNK_SIZE = 128;
+	public static final int DEFAULT_PARALLEL_MAPPING_THRESHOLD = 1024;
+	public static final int MIN_PARALLEL_MAPPING_THRESHOLD = 256;
+	public static final int COLLECTION_WORKERS = 8;
+	public static final int DEFAULT_WORK_QUEUE_CAPACITY = 1024;
+	public static final int MIN_WORK_QUEUE_CAPACITY = 16;
+	public static final int MAX_WORK_QUEUE_CAPACITY = 65536;
+	public static final int WORK_QUEUE_WAIT_WINDOW = 256;
+	public static final String SYSTEM_STATUS_SCOPE = "systems";
+	public static final int VALIDATE_CONNECTION_AFTER_INACTIVITY = 2000;
+	public static final long DEFAULT_CYCLE_DEADLINE = 5 * 60 * 1000;
+	public static final long MIN_CYCLE_DEADLINE = 10 * 1000;
+	public static final long MAX_CYCLE_DEADLINE = 60 * 60 * 1000;
+	public static final long SHARD_HASH_MULTIPLIER = 0x9E3779B97F4A7C15L;
+	public static final long DEFAULT_IDLE_PAUSE_TIMEOUT = 3 * 60 * 1000;
+	public static final long MIN_IDLE_PAUSE_TIMEOUT = 60 * 1000;
+	public static final long MAX_IDLE_PAUSE_TIMEOUT = 24 * 60 * 60 * 1000;
 }
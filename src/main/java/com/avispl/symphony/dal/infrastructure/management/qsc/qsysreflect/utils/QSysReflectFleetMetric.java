@@ -0,0 +1,46 @@
+/*
+ * Copyright (c) 2022 AVI-SPL, Inc. All Rights Reserved.
+ */
+package com.avispl.symphony.dal.infrastructure.management.qsc.qsysreflect.utils;
+
+/**
+ * Metric for totals of the QSys Reflect fleet, published under {@link QSysReflectConstant#FLEET_STATISTICS_GROUP}.
+ * The totals cover the systems of the shard of the adapter, the whole account when sharding is disabled.
+ *
+ * @author Harry
+ * @version 2.1.0
+ * @since 2.1.0
+ */
+public enum QSysReflectFleetMetric {
+	SYSTEMS("Systems"),
+	DEVICES("Devices"),
+	DEVICES_ONLINE("DevicesOnline"),
+	DEVICES_OFFLINE("DevicesOffline"),
+	ALERTS_NORMAL("AlertsNormal"),
+	ALERTS_WARNING("AlertsWarning"),
+	ALERTS_FAULT("AlertsFault"),
+	ALERTS_UNKNOWN("AlertsUnknown"),
+	ALERTS_FAULT_CHANGE("AlertsFaultChange15m"),
+	DEVICES_ONLINE_RATIO("DevicesOnlineRatio(%)"),
+	DEVICES_ONLINE_RATIO_AVERAGE("DevicesOnlineRatioAverage1h(%)");
+
+	private final String name;
+
+	/**
+	 * QSysReflectFleetMetric with args constructor
+	 *
+	 * @param name metric name
+	 */
+	QSysReflectFleetMetric(String name) {
+		this.name = name;
+	}
+
+	/**
+	 * Retrieves {@code {@link #name}}
+	 *
+	 * @return value of {@link #name}
+	 */
+	public String getName() {
+		return name;
+	}
+}
@@ -22,7 +22,11 @@ public enum QSysReflectSystemMetric {
 	DESIGN_PLATFORM("DesignPlatform"),
 	UPTIME("Uptime"),
 	CORE_NAME("CoreName"),
-	MODEL("Model");
+	MODEL("Model"),
+	ITEMS_CIRCUIT_STATE("ItemsCircuitState"),
+	ITEMS_CONSECUTIVE_FAILURES("ItemsConsecutiveFailures"),
+	ALERTS_FAULT_CHANGE("AlertsFaultChange15m"),
+	AVAILABILITY("Availability1h(%)");
 
 	private final String name;
 
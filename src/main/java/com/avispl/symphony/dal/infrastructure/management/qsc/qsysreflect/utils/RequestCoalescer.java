@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2022 AVI-SPL, Inc. All Rights Reserved.
+ */
+package com.avispl.symphony.dal.infrastructure.management.qsc.qsysreflect.utils;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Single-flight layer for API requests. Requests with the same key that run at the same time, within one adapter
+ * or across adapters of the JVM, are collapsed into one call whose result (or failure) is shared with every caller.
+ * A caller waits for the request in flight no longer than its own deadline. When the request in flight fails because it ran
+ * past the deadline of its caller, a waiting caller with time left sends the request again rather than sharing the failure.
+ * Requests in flight are tracked JVM-wide, so the key must identify the API host and the account along with the request:
+ * adapters of different hosts or accounts would otherwise be served each other's responses.
+ * Request counters are kept per instance, so every adapter reports its own coalescing ratio.
+ *
+ * @author Harry
+ * @version 2.1.0
+ * @since 2.1.0
+ */
+public class RequestCoalescer {
+
+	/**
+	 * Map of request key and the request in flight
+	 */
+	private static final ConcurrentMap<String, Flight> inFlightRequests = new ConcurrentHashMap<>();
+
+	private final AtomicLong requestCount = new AtomicLong();
+	private final AtomicLong coalescedCount = new AtomicLong();
+
+	/**
+	 * Request in flight, with the deadline of the caller sending it
+	 */
+	private static class Flight {
+		private final long deadline;
+		private final CompletableFuture<Object> result = new CompletableFuture<>();
+
+		private Flight(long deadline) {
+			this.deadline = deadline;
+		}
+	}
+
+	/**
+	 * Execute the request, or wait for the identical request already in flight until the deadline and share its result
+	 *
+	 * @param key request key, including the API host and the account, requests with equal keys must return equal results
+	 * @param deadline timestamp the caller stops waiting for the request in flight at
+	 * @param request request to execute
+	 * @param <T> type of the result
+	 * @return result of the request
+	 * @throws TimeoutException if the request in flight does not complete before the deadline
+	 * @throws Exception if the request fails, or the wait for the request in flight is interrupted
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> T execute(String key, long deadline, Callable<T> request) throws Exception {
+		requestCount.incrementAndGet();
+		while (true) {
+			Flight flight = new Flight(deadline);
+			Flight inFlightRequest = inFlightRequests.putIfAbsent(key, flight);
+			if (inFlightRequest == null) {
+				return send(key, flight, request);
+			}
+			coalescedCount.incrementAndGet();
+			try {
+				return (T) inFlightRequest.result.get(Math.max(0, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+			} catch (ExecutionException e) {
+				long now = System.currentTimeMillis();
+				if (now >= inFlightRequest.deadline && now < deadline) {
+					// the request in flight ran out of the time of its caller, not of this one
+					coalescedCount.decrementAndGet();
+					continue;
+				}
+				Throwable cause = e.getCause();
+				throw cause instanceof Exception ? (Exception) cause : e;
+			}
+		}
+	}
+
+	/**
+	 * Send the request and share its result with the callers waiting for the flight
+	 *
+	 * @param key request key
+	 * @param flight flight registered for the key
+	 * @param request request to execute
+	 * @param <T> type of the result
+	 * @return result of the request
+	 * @throws Exception if the request fails
+	 */
+	private <T> T send(String key, Flight flight, Callable<T> request) throws Exception {
+		T result = null;
+		Exception failure = null;
+		try {
+			result = request.call();
+		} catch (Exception e) {
+			failure = e;
+		} finally {
+			// the flight is removed before it completes, so a waiting caller sending the request again does not find it
+			inFlightRequests.remove(key, flight);
+		}
+		if (failure != null) {
+			flight.result.completeExceptionally(failure);
+			throw failure;
+		}
+		flight.result.complete(result);
+		return result;
+	}
+
+	/**
+	 * Retrieves number of requests passed to {@link #execute(String, long, Callable)}
+	 *
+	 * @return number of requests
+	 */
+	public long getRequestCount() {
+		return requestCount.get();
+	}
+
+	/**
+	 * Retrieves number of requests served by an identical request in flight
+	 *
+	 * @return number of coalesced requests
+	 */
+	public long getCoalescedCount() {
+		return coalescedCount.get();
+	}
+
+	/**
+	 * Retrieves percentage of requests served by an identical request in flight
+	 *
+	 * @return coalescing ratio in percent, 0 if nothing was requested yet
+	 */
+	public double getCoalescingRatio() {
+		long requests = requestCount.get();
+		return requests == 0 ? 0 : coalescedCount.get() * 100.0 / requests;
+	}
+}
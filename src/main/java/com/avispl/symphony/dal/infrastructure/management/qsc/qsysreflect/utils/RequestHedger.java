@@ -0,0 +1,183 @@
+/*
+ * Copyright (c) 2022 AVI-SPL, Inc. All Rights Reserved.
+ */
+package com.avispl.symphony.dal.infrastructure.management.qsc.qsysreflect.utils;
+
+import java.util.Arrays;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Hedging layer for API requests with a long latency tail.
+ * A request that did not complete within the given percentile of the recent response times is duplicated,
+ * and the first successful response wins. Duplicates are capped by a budget, a percentage of the requests,
+ * and no request is hedged before {@link QSysReflectConstant#MIN_HEDGING_SAMPLES} response times are known.
+ * Only the response times of the original requests are sampled, so the duplicates do not pull the percentile down.
+ * An original request that lost to its duplicate is not interrupted, so its own response time is still sampled once it responds.
+ * The executor may be bounded: a request it rejects runs on the calling thread, and a duplicate it rejects is not sent.
+ *
+ * @author Harry
+ * @version 2.1.0
+ * @since 2.1.0
+ */
+public class RequestHedger {
+
+	private final long[] latencySamples = new long[QSysReflectConstant.HEDGING_LATENCY_WINDOW];
+	private int sampleCount;
+	private int nextSampleIndex;
+
+	private final AtomicLong requestCount = new AtomicLong();
+	private final AtomicLong hedgedCount = new AtomicLong();
+	private final AtomicLong hedgeWinCount = new AtomicLong();
+
+	/**
+	 * Execute the request on the given executor, and send a duplicate once the request is slower than the given percentile
+	 *
+	 * @param request request to execute
+	 * @param executor executor running the request and its duplicate, the request runs on the calling thread if the executor rejects it
+	 * @param percentile percentile of the recent response times after which the request is duplicated
+	 * @param budgetPercent max percentage of requests that may be duplicated
+	 * @param <T> type of the result
+	 * @return first successful result
+	 * @throws Exception if both the request and its duplicate fail, or the wait is interrupted
+	 */
+	public <T> T execute(Callable<T> request, ExecutorService executor, int percentile, int budgetPercent) throws Exception {
+		long startNanos = System.nanoTime();
+		long requests = requestCount.incrementAndGet();
+		CompletableFuture<T> result = new CompletableFuture<>();
+		AtomicInteger pendingCalls = new AtomicInteger(1);
+		AtomicReference<Exception> firstFailure = new AtomicReference<>();
+		Callable<T> sampledRequest = () -> {
+			T response = request.call();
+			recordLatency(startNanos);
+			return response;
+		};
+		Future<?> primary;
+		try {
+			primary = executor.submit(() -> call(sampledRequest, result, pendingCalls, firstFailure, () -> {}));
+		} catch (RejectedExecutionException e) {
+			return sampledRequest.call();
+		}
+		Future<?> hedge = null;
+		try {
+			long thresholdMillis = getThresholdMillis(percentile);
+			if (thresholdMillis > 0) {
+				try {
+					return result.get(thresholdMillis, TimeUnit.MILLISECONDS);
+				} catch (TimeoutException e) {
+					if (hedgedCount.get() * 100 < requests * budgetPercent) {
+						pendingCalls.incrementAndGet();
+						// counted before the duplicate runs, so the counters are up to date once the result is returned
+						hedgedCount.incrementAndGet();
+						try {
+							hedge = executor.submit(() -> call(request, result, pendingCalls, firstFailure, hedgeWinCount::incrementAndGet));
+						} catch (RejectedExecutionException rejected) {
+							// no thread left for the duplicate, the original request is awaited alone, unless it already failed
+							hedgedCount.decrementAndGet();
+							if (pendingCalls.decrementAndGet() == 0) {
+								result.completeExceptionally(firstFailure.get());
+							}
+						}
+					}
+				}
+			}
+			return result.get();
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			throw cause instanceof Exception ? (Exception) cause : e;
+		} finally {
+			primary.cancel(false);
+			if (hedge != null) {
+				hedge.cancel(true);
+			}
+		}
+	}
+
+	/**
+	 * Call the request and complete the result with its response, or with the first failure if no other call is pending
+	 *
+	 * @param request request to execute
+	 * @param result result shared by the request and its duplicate
+	 * @param pendingCalls number of calls that did not finish yet
+	 * @param firstFailure first failure of the request and its duplicate
+	 * @param onWin action run before the result is completed with the response of this call
+	 * @param <T> type of the result
+	 */
+	private static <T> void call(Callable<T> request, CompletableFuture<T> result, AtomicInteger pendingCalls, AtomicReference<Exception> firstFailure,
+			Runnable onWin) {
+		try {
+			T response = request.call();
+			synchronized (result) {
+				if (!result.isDone()) {
+					onWin.run();
+					result.complete(response);
+				}
+			}
+		} catch (Exception e) {
+			firstFailure.compareAndSet(null, e);
+			if (pendingCalls.decrementAndGet() == 0) {
+				result.completeExceptionally(firstFailure.get());
+			}
+		}
+	}
+
+	/**
+	 * Record the response time of a successful original request
+	 *
+	 * @param startNanos {@link System#nanoTime()} value taken when the request was started
+	 */
+	private void recordLatency(long startNanos) {
+		long latencyMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+		synchronized (latencySamples) {
+			latencySamples[nextSampleIndex] = latencyMillis;
+			nextSampleIndex = (nextSampleIndex + 1) % latencySamples.length;
+			sampleCount = Math.min(sampleCount + 1, latencySamples.length);
+		}
+	}
+
+	/**
+	 * Retrieves the given percentile of the recent response times
+	 *
+	 * @param percentile percentile between 1 and 99
+	 * @return response time in ms, 0 if there are not enough samples yet
+	 */
+	public long getThresholdMillis(int percentile) {
+		long[] samples;
+		synchronized (latencySamples) {
+			if (sampleCount < QSysReflectConstant.MIN_HEDGING_SAMPLES) {
+				return 0;
+			}
+			samples = Arrays.copyOf(latencySamples, sampleCount);
+		}
+		Arrays.sort(samples);
+		int index = (int) Math.ceil(percentile / 100.0 * samples.length) - 1;
+		return Math.max(1, samples[Math.max(0, index)]);
+	}
+
+	/**
+	 * Retrieves number of duplicated requests
+	 *
+	 * @return number of hedged requests
+	 */
+	public long getHedgedCount() {
+		return hedgedCount.get();
+	}
+
+	/**
+	 * Retrieves number of duplicated requests that responded before the original request
+	 *
+	 * @return number of hedge wins
+	 */
+	public long getHedgeWinCount() {
+		return hedgeWinCount.get();
+	}
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2022 AVI-SPL, Inc. All Rights Reserved.
+ */
+package com.avispl.symphony.dal.infrastructure.management.qsc.qsysreflect.utils;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Cache of parsed API responses shared by every adapter of the JVM, so adapters configured for the same account
+ * (same API token hash and endpoint) share one crawl and only apply their filters locally.
+ * Entries are evicted in least recently used order once the cache holds more than {@link QSysReflectConstant#RESPONSE_CACHE_MAX_WEIGHT} device records,
+ * a response array weighs its number of elements and any other response weighs 1.
+ * Every adapter reads entries with its own time to live, and keeps its own hit counters.
+ *
+ * @author Harry
+ * @version 2.1.0
+ * @since 2.1.0
+ */
+public class ResponseCache {
+
+	/**
+	 * Cached response together with the time it was stored
+	 */
+	private static class CacheEntry {
+		private final Object response;
+		private final long storedAtNanos;
+		private final int weight;
+
+		/**
+		 * CacheEntry with args constructor
+		 *
+		 * @param response parsed response
+		 * @param storedAtNanos {@link System#nanoTime()} value taken when the response was stored
+		 * @param weight weight of the response
+		 */
+		CacheEntry(Object response, long storedAtNanos, int weight) {
+			this.response = response;
+			this.storedAtNanos = storedAtNanos;
+			this.weight = weight;
+		}
+	}
+
+	/**
+	 * Responses shared by every adapter, in access order
+	 */
+	private static final Map<String, CacheEntry> entries = new LinkedHashMap<>(16, 0.75f, true);
+	private static long totalWeight;
+
+	private final AtomicLong hitCount = new AtomicLong();
+	private final AtomicLong missCount = new AtomicLong();
+
+	/**
+	 * Retrieve the response stored under the given key, if it is younger than the given time to live
+	 *
+	 * @param key response key
+	 * @param ttlMillis time to live in ms
+	 * @return cached response, null if there is none or it expired
+	 */
+	public Object get(String key, long ttlMillis) {
+		CacheEntry entry;
+		synchronized (entries) {
+			entry = entries.get(key);
+			if (entry != null && System.nanoTime() - entry.storedAtNanos > TimeUnit.MILLISECONDS.toNanos(QSysReflectConstant.MAX_RESPONSE_CACHE_TTL)) {
+				remove(key);
+				entry = null;
+			}
+		}
+		if (entry == null || System.nanoTime() - entry.storedAtNanos > TimeUnit.MILLISECONDS.toNanos(ttlMillis)) {
+			missCount.incrementAndGet();
+			return null;
+		}
+		hitCount.incrementAndGet();
+		return entry.response;
+	}
+
+	/**
+	 * Store the response under the given key and evict the least recently used responses above the weight limit
+	 *
+	 * @param key response key
+	 * @param response parsed response
+	 */
+	public void put(String key, Object response) {
+		int weight = response instanceof JsonNode && ((JsonNode) response).isArray() ? Math.max(1, ((JsonNode) response).size()) : 1;
+		synchronized (entries) {
+			remove(key);
+			entries.put(key, new CacheEntry(response, System.nanoTime(), weight));
+			totalWeight += weight;
+			Iterator<CacheEntry> iterator = entries.values().iterator();
+			while (totalWeight > QSysReflectConstant.RESPONSE_CACHE_MAX_WEIGHT && iterator.hasNext()) {
+				totalWeight -= iterator.next().weight;
+				iterator.remove();
+			}
+		}
+	}
+
+	/**
+	 * Remove the entry of the given key, the caller holds the lock of {@link #entries}
+	 *
+	 * @param key response key
+	 */
+	private static void remove(String key) {
+		CacheEntry entry = entries.remove(key);
+		if (entry != null) {
+			totalWeight -= entry.weight;
+		}
+	}
+
+	/**
+	 * Retrieves number of responses served from the cache to this instance
+	 *
+	 * @return number of hits
+	 */
+	public long getHitCount() {
+		return hitCount.get();
+	}
+
+	/**
+	 * Retrieves percentage of lookups of this instance served from the cache
+	 *
+	 * @return hit rate in percent, 0 if nothing was looked up yet
+	 */
+	public double getHitRate() {
+		long hits = hitCount.get();
+		long lookups = hits + missCount.get();
+		return lookups == 0 ? 0 : hits * 100.0 / lookups;
+	}
+
+	/**
+	 * Retrieves total weight of the responses held by the cache
+	 *
+	 * @return number of cached device records
+	 */
+	public static long getTotalWeight() {
+		synchronized (entries) {
+			return totalWeight;
+		}
+	}
+}
@@ -0,0 +1,511 @@
+/*
+ * Copyright (c) 2022 AVI-SPL, Inc. All Rights Reserved.
+ */
+package com.avispl.symphony.dal.infrastructure.management.qsc.qsysreflect.utils;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.avispl.symphony.dal.infrastructure.management.qsc.qsysreflect.dto.StatusTransition;
+
+/**
+ * Append-only journal of device and system status transitions, kept on local disk so it outlives the adapter.
+ * Transitions are queued by the collection threads and written in batches by a dedicated writer thread,
+ * a full queue drops the transition instead of blocking the collection. Records go to segment files of bounded size,
+ * a new segment is started once the current one is full and the oldest segments beyond the retention are deleted.
+ * Segments are read through memory mapping, starting from the newest one, until the requested number of transitions is found.
+ * The last status of every device and system is kept in a status file next to the segments, rewritten by the writer thread
+ * whenever a status changed, so the first status collected after a restart is compared to the status known before it.
+ * The statuses of removed devices and systems are dropped by the caller through {@link #retainScopes(Set)} and {@link #retainIds(String, Set)}.
+ * <p>
+ * Record layout: int length of the rest of the record, long timestamp, byte 1 for a system and 0 for a device,
+ * then the id, previous status and status as UTF-8 strings prefixed by their short length, -1 for null.
+ *
+ * @author Harry
+ * @version 2.1.0
+ * @since 2.1.0
+ */
+public class StatusTransitionJournal implements Closeable {
+
+	private static final String SEGMENT_PREFIX = "transitions-";
+	private static final String SEGMENT_SUFFIX = ".journal";
+	private static final String STATUS_FILE = "last-statuses.dat";
+
+	private final Path directory;
+	private final long segmentSize;
+	private final int maxSegments;
+	private final BlockingQueue<StatusTransition> queue = new ArrayBlockingQueue<>(QSysReflectConstant.STATUS_JOURNAL_QUEUE_CAPACITY);
+	private final Thread writerThread;
+	private volatile boolean running = true;
+
+	private final AtomicLong writtenCount = new AtomicLong();
+	private final AtomicLong droppedCount = new AtomicLong();
+
+	/**
+	 * Map of scope and id of every device and system, and its last status
+	 */
+	private final Map<String, String> lastStatuses = new ConcurrentHashMap<>();
+	private volatile boolean lastStatusesChanged;
+	private long lastStatusesWriteNanos;
+
+	/**
+	 * Segment being written, accessed by {@link #writerThread} only
+	 */
+	private FileChannel segmentChannel;
+	private long segmentSequence;
+
+	/**
+	 * StatusTransitionJournal with args constructor, transitions are appended to a new segment after the existing ones
+	 * and the last statuses are loaded from the status file
+	 *
+	 * @param directory directory of the segment files, created if missing
+	 * @param segmentSize max size of a segment file in bytes
+	 * @param maxSegments max number of segment files kept
+	 * @throws IOException if the directory cannot be created or listed
+	 */
+	public StatusTransitionJournal(Path directory, long segmentSize, int maxSegments) throws IOException {
+		this.directory = directory;
+		this.segmentSize = segmentSize;
+		this.maxSegments = Math.max(1, maxSegments);
+		Files.createDirectories(directory);
+		List<Path> segments = listSegments();
+		segmentSequence = segments.isEmpty() ? 0 : sequenceOf(segments.get(segments.size() - 1)) + 1;
+		readLastStatuses();
+		writerThread = new Thread(this::writeLoop, "QSysReflect status journal writer");
+		writerThread.setDaemon(true);
+		writerThread.start();
+	}
+
+	/**
+	 * Record the collected status of a device or system, and queue a transition if it differs from its last status
+	 *
+	 * @param timestamp wall clock time the status was collected at
+	 * @param system true for a system, false for a device
+	 * @param scope scope the status was collected in, the same device id may be reported in several scopes
+	 * @param id system id or device id
+	 * @param status collected status
+	 * @return true if a transition was queued
+	 */
+	public boolean recordStatus(long timestamp, boolean system, String scope, String id, String status) {
+		String previousStatus = lastStatuses.put(scope + "/" + id, status);
+		if (Objects.equals(previousStatus, status)) {
+			return false;
+		}
+		lastStatusesChanged = true;
+		return previousStatus != null && record(new StatusTransition(timestamp, system, id, previousStatus, status));
+	}
+
+	/**
+	 * Retrieves last status of the device or system
+	 *
+	 * @param scope scope the status was collected in
+	 * @param id system id or device id
+	 * @return last status, null if it was never collected
+	 */
+	public String getLastStatus(String scope, String id) {
+		return lastStatuses.get(scope + "/" + id);
+	}
+
+	/**
+	 * Drop the last statuses of every scope other than the given ones, scope names do not contain {@code /}
+	 *
+	 * @param scopes scopes to keep
+	 */
+	public void retainScopes(Set<String> scopes) {
+		if (lastStatuses.keySet().removeIf(key -> !scopes.contains(key.substring(0, key.indexOf('/'))))) {
+			lastStatusesChanged = true;
+		}
+	}
+
+	/**
+	 * Drop the last statuses of the scope other than the ones of the given ids
+	 *
+	 * @param scope scope of the statuses
+	 * @param ids system ids or device ids to keep
+	 */
+	public void retainIds(String scope, Set<String> ids) {
+		String prefix = scope + "/";
+		if (lastStatuses.keySet().removeIf(key -> key.startsWith(prefix) && !ids.contains(key.substring(prefix.length())))) {
+			lastStatusesChanged = true;
+		}
+	}
+
+	/**
+	 * Queue the transition for writing, without blocking the caller
+	 *
+	 * @param transition status transition
+	 * @return true if the transition was queued, false if it was dropped because the queue is full or the journal is closed
+	 */
+	public boolean record(StatusTransition transition) {
+		if (!running || !queue.offer(transition)) {
+			droppedCount.incrementAndGet();
+			return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Read the latest transitions written to the journal
+	 *
+	 * @param count max number of transitions
+	 * @return latest transitions, oldest first
+	 * @throws IOException if a segment cannot be read
+	 */
+	public List<StatusTransition> readLast(int count) throws IOException {
+		Deque<StatusTransition> transitions = new ArrayDeque<>();
+		List<Path> segments = listSegments();
+		for (int i = segments.size() - 1; i >= 0 && transitions.size() < count; i--) {
+			try (FileChannel channel = FileChannel.open(segments.get(i), StandardOpenOption.READ)) {
+				long size = channel.size();
+				if (size == 0) {
+					continue;
+				}
+				MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+				int[] offsets = new int[64];
+				int records = 0;
+				int position = 0;
+				while (position + Integer.BYTES <= size) {
+					int length = buffer.getInt(position);
+					if (length <= 0 || position + Integer.BYTES + length > size) {
+						break;
+					}
+					if (records == offsets.length) {
+						offsets = Arrays.copyOf(offsets, records * 2);
+					}
+					offsets[records++] = position + Integer.BYTES;
+					position += Integer.BYTES + length;
+				}
+				for (int record = records - 1; record >= 0 && transitions.size() < count; record--) {
+					transitions.addFirst(decode(buffer, offsets[record]));
+				}
+			} catch (NoSuchFileException e) {
+				// the segment was deleted by the retention after it was listed
+			}
+		}
+		return new ArrayList<>(transitions);
+	}
+
+	/**
+	 * Retrieves number of transitions written to disk
+	 *
+	 * @return number of written transitions
+	 */
+	public long getWrittenCount() {
+		return writtenCount.get();
+	}
+
+	/**
+	 * Retrieves number of transitions dropped because the queue was full or the write failed
+	 *
+	 * @return number of dropped transitions
+	 */
+	public long getDroppedCount() {
+		return droppedCount.get();
+	}
+
+	/**
+	 * Write the queued transitions and stop the writer thread. The caller waits for the writer thread to end,
+	 * so a journal opened again on the same directory never writes next to it.
+	 */
+	@Override
+	public void close() {
+		running = false;
+		boolean interrupted = false;
+		while (writerThread.isAlive()) {
+			try {
+				writerThread.join();
+			} catch (InterruptedException e) {
+				interrupted = true;
+			}
+		}
+		if (interrupted) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * Write queued transitions in batches until the journal is closed and the queue is drained,
+	 * and the status file at most once per {@link QSysReflectConstant#STATUS_JOURNAL_FLUSH_INTERVAL}
+	 */
+	private void writeLoop() {
+		List<StatusTransition> batch = new ArrayList<>(QSysReflectConstant.STATUS_JOURNAL_BATCH_SIZE);
+		ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+		while (running || !queue.isEmpty()) {
+			try {
+				StatusTransition transition = queue.poll(QSysReflectConstant.STATUS_JOURNAL_FLUSH_INTERVAL, TimeUnit.MILLISECONDS);
+				if (transition != null) {
+					batch.add(transition);
+					queue.drainTo(batch, QSysReflectConstant.STATUS_JOURNAL_BATCH_SIZE - 1);
+					buffer = writeBatch(batch, buffer);
+					writtenCount.addAndGet(batch.size());
+				}
+				if (System.nanoTime() - lastStatusesWriteNanos >= TimeUnit.MILLISECONDS.toNanos(QSysReflectConstant.STATUS_JOURNAL_FLUSH_INTERVAL)) {
+					writeLastStatuses();
+				}
+			} catch (InterruptedException e) {
+				running = false;
+			} catch (IOException e) {
+				droppedCount.addAndGet(batch.size());
+				closeSegment();
+			} finally {
+				batch.clear();
+			}
+		}
+		closeSegment();
+		writeLastStatuses();
+	}
+
+	/**
+	 * Encode the batch and append it to the current segment, starting a new segment first if the batch does not fit
+	 *
+	 * @param batch transitions to write
+	 * @param buffer encoding buffer
+	 * @return encoding buffer, grown if the batch did not fit
+	 * @throws IOException if the segment cannot be written
+	 */
+	private ByteBuffer writeBatch(List<StatusTransition> batch, ByteBuffer buffer) throws IOException {
+		// Buffer methods are called through Buffer, ByteBuffer overrides them with covariant returns from Java 9 on
+		((Buffer) buffer).clear();
+		for (StatusTransition transition : batch) {
+			byte[] id = encodeString(transition.getId());
+			byte[] previousStatus = encodeString(transition.getPreviousStatus());
+			byte[] status = encodeString(transition.getStatus());
+			int length = Long.BYTES + 1 + 3 * Short.BYTES + length(id) + length(previousStatus) + length(status);
+			if (buffer.remaining() < Integer.BYTES + length) {
+				ByteBuffer grown = ByteBuffer.allocate(Math.max(buffer.capacity() * 2, buffer.position() + Integer.BYTES + length));
+				((Buffer) buffer).flip();
+				grown.put(buffer);
+				buffer = grown;
+			}
+			buffer.putInt(length);
+			buffer.putLong(transition.getTimestamp());
+			buffer.put((byte) (transition.isSystem() ? 1 : 0));
+			putString(buffer, id);
+			putString(buffer, previousStatus);
+			putString(buffer, status);
+		}
+		((Buffer) buffer).flip();
+		if (segmentChannel == null || segmentChannel.size() > 0 && segmentChannel.size() + buffer.remaining() > segmentSize) {
+			rotateSegment();
+		}
+		while (buffer.hasRemaining()) {
+			segmentChannel.write(buffer);
+		}
+		return buffer;
+	}
+
+	/**
+	 * Close the current segment, open the next one and delete the oldest segments beyond the retention
+	 *
+	 * @throws IOException if the segment cannot be created or the old segments cannot be deleted
+	 */
+	private void rotateSegment() throws IOException {
+		closeSegment();
+		Path segment = directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, segmentSequence++, SEGMENT_SUFFIX));
+		segmentChannel = FileChannel.open(segment, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+		List<Path> segments = listSegments();
+		for (int i = 0; i < segments.size() - maxSegments; i++) {
+			Files.deleteIfExists(segments.get(i));
+		}
+	}
+
+	/**
+	 * Load the last statuses from the status file, if it exists. A damaged file only loses the statuses it no longer holds,
+	 * their first status collected after the restart is not a transition.
+	 */
+	private void readLastStatuses() {
+		Path statusFile = directory.resolve(STATUS_FILE);
+		if (!Files.exists(statusFile)) {
+			return;
+		}
+		try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(statusFile)))) {
+			int count = input.readInt();
+			for (int i = 0; i < count; i++) {
+				lastStatuses.put(input.readUTF(), input.readUTF());
+			}
+		} catch (IOException e) {
+			// the statuses read so far are kept
+		}
+	}
+
+	/**
+	 * Write the last statuses to the status file if any of them changed since it was last written.
+	 * The file is written aside and moved over the previous one, so a crash never leaves a partial file behind.
+	 */
+	private void writeLastStatuses() {
+		lastStatusesWriteNanos = System.nanoTime();
+		if (!lastStatusesChanged) {
+			return;
+		}
+		lastStatusesChanged = false;
+		Map<String, String> statuses = new HashMap<>(lastStatuses);
+		Path statusFile = directory.resolve(STATUS_FILE);
+		Path pendingFile = directory.resolve(STATUS_FILE + ".tmp");
+		try {
+			try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(pendingFile)))) {
+				output.writeInt(statuses.size());
+				for (Map.Entry<String, String> status : statuses.entrySet()) {
+					output.writeUTF(status.getKey());
+					output.writeUTF(status.getValue());
+				}
+			}
+			Files.move(pendingFile, statusFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException e) {
+			// written again on the next flush
+			lastStatusesChanged = true;
+		}
+	}
+
+	/**
+	 * Close the current segment, if any
+	 */
+	private void closeSegment() {
+		if (segmentChannel != null) {
+			try {
+				segmentChannel.close();
+			} catch (IOException e) {
+				// the segment is complete up to the last successful write, nothing else to release
+			}
+			segmentChannel = null;
+		}
+	}
+
+	/**
+	 * List the segment files of the journal
+	 *
+	 * @return segment files, oldest first
+	 * @throws IOException if the directory cannot be listed
+	 */
+	private List<Path> listSegments() throws IOException {
+		List<Path> segments = new ArrayList<>();
+		try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+			for (Path segment : stream) {
+				segments.add(segment);
+			}
+		}
+		Collections.sort(segments);
+		return segments;
+	}
+
+	/**
+	 * Retrieves sequence number of the segment file
+	 *
+	 * @param segment segment file
+	 * @return sequence number, -1 if the file name carries none
+	 */
+	private static long sequenceOf(Path segment) {
+		String name = segment.getFileName().toString();
+		try {
+			return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+		} catch (NumberFormatException e) {
+			return -1;
+		}
+	}
+
+	/**
+	 * Decode the record at the given offset, read with absolute gets so the mapped buffer is shared by every record
+	 *
+	 * @param buffer mapped segment
+	 * @param offset offset of the record timestamp, after the record length
+	 * @return status transition
+	 */
+	private static StatusTransition decode(ByteBuffer buffer, int offset) {
+		long timestamp = buffer.getLong(offset);
+		boolean system = buffer.get(offset + Long.BYTES) == 1;
+		int position = offset + Long.BYTES + 1;
+		String id = getString(buffer, position);
+		position += Short.BYTES + Math.max(0, buffer.getShort(position));
+		String previousStatus = getString(buffer, position);
+		position += Short.BYTES + Math.max(0, buffer.getShort(position));
+		String status = getString(buffer, position);
+		return new StatusTransition(timestamp, system, id, previousStatus, status);
+	}
+
+	/**
+	 * Encode the string to UTF-8, truncated to the max length of a record string
+	 *
+	 * @param value string value
+	 * @return UTF-8 bytes, null for a null value
+	 */
+	private static byte[] encodeString(String value) {
+		if (value == null) {
+			return null;
+		}
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		return bytes.length > Short.MAX_VALUE ? Arrays.copyOf(bytes, Short.MAX_VALUE) : bytes;
+	}
+
+	/**
+	 * Retrieves number of encoded bytes of the string
+	 *
+	 * @param bytes UTF-8 bytes, null for a null value
+	 * @return number of bytes
+	 */
+	private static int length(byte[] bytes) {
+		return bytes == null ? 0 : bytes.length;
+	}
+
+	/**
+	 * Write the string prefixed by its length
+	 *
+	 * @param buffer target buffer
+	 * @param bytes UTF-8 bytes, null for a null value
+	 */
+	private static void putString(ByteBuffer buffer, byte[] bytes) {
+		if (bytes == null) {
+			buffer.putShort((short) -1);
+			return;
+		}
+		buffer.putShort((short) bytes.length);
+		buffer.put(bytes);
+	}
+
+	/**
+	 * Read a string prefixed by its length
+	 *
+	 * @param buffer source buffer
+	 * @param offset offset of the string length
+	 * @return string value, null if it was written as null
+	 */
+	private static String getString(ByteBuffer buffer, int offset) {
+		short length = buffer.getShort(offset);
+		if (length < 0) {
+			return null;
+		}
+		byte[] bytes = new byte[length];
+		for (int i = 0; i < length; i++) {
+			bytes[i] = buffer.get(offset + Short.BYTES + i);
+		}
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2022 AVI-SPL, Inc. All Rights Reserved.
+ */
+package com.avispl.symphony.dal.infrastructure.management.qsc.qsysreflect.utils;
+
+/**
+ * Fixed-size time series of numeric samples, kept in two primitive ring buffers of timestamps and values.
+ * Once the capacity is reached every sample overwrites the oldest one, so memory stays bounded
+ * and adding a sample allocates nothing.
+ *
+ * @author Harry
+ * @version 2.1.0
+ * @since 2.1.0
+ */
+public class TimeSeries {
+
+	private final long[] timestamps;
+	private final double[] values;
+	private int size;
+	private int nextIndex;
+
+	/**
+	 * TimeSeries with args constructor
+	 *
+	 * @param capacity max number of samples kept
+	 */
+	public TimeSeries(int capacity) {
+		timestamps = new long[capacity];
+		values = new double[capacity];
+	}
+
+	/**
+	 * Add a sample, unless the latest sample is younger than the given interval
+	 *
+	 * @param timestamp timestamp of the sample
+	 * @param value value of the sample
+	 * @param minInterval min time between two samples, in ms
+	 * @return true if the sample was added
+	 */
+	public synchronized boolean add(long timestamp, double value, long minInterval) {
+		if (size > 0 && timestamp - timestamps[index(size - 1)] < minInterval) {
+			return false;
+		}
+		timestamps[nextIndex] = timestamp;
+		values[nextIndex] = value;
+		nextIndex = (nextIndex + 1) % timestamps.length;
+		size = Math.min(size + 1, timestamps.length);
+		return true;
+	}
+
+	/**
+	 * Retrieves value of the latest sample
+	 *
+	 * @return latest value, 0 if there is no sample
+	 */
+	public synchronized double getLatest() {
+		return size == 0 ? 0 : values[index(size - 1)];
+	}
+
+	/**
+	 * Retrieves change of the value over the window: the latest value minus the value at the start of the window,
+	 * or minus the oldest value if the series does not cover the whole window yet
+	 *
+	 * @param window window in ms
+	 * @param currentTimestamp current timestamp
+	 * @return change of the value, 0 if there is no sample
+	 */
+	public synchronized double getChange(long window, long currentTimestamp) {
+		if (size == 0) {
+			return 0;
+		}
+		long windowStart = currentTimestamp - window;
+		double startValue = values[index(0)];
+		for (int i = size - 1; i >= 0; i--) {
+			int index = index(i);
+			if (timestamps[index] <= windowStart) {
+				startValue = values[index];
+				break;
+			}
+		}
+		return values[index(size - 1)] - startValue;
+	}
+
+	/**
+	 * Retrieves average of the samples taken within the window
+	 *
+	 * @param window window in ms
+	 * @param currentTimestamp current timestamp
+	 * @return moving average, 0 if there is no sample within the window
+	 */
+	public synchronized double getAverage(long window, long currentTimestamp) {
+		long windowStart = currentTimestamp - window;
+		double sum = 0;
+		int count = 0;
+		for (int i = size - 1; i >= 0 && timestamps[index(i)] > windowStart; i--) {
+			sum += values[index(i)];
+			count++;
+		}
+		return count == 0 ? 0 : sum / count;
+	}
+
+	/**
+	 * Retrieves position in the ring buffers of the i-th sample, oldest first
+	 *
+	 * @param i sample number, 0 for the oldest sample
+	 * @return index in {@link #timestamps} and {@link #values}
+	 */
+	private int index(int i) {
+		return (nextIndex - size + i + timestamps.length) % timestamps.length;
+	}
+}
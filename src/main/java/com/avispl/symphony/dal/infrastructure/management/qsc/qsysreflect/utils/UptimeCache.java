@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2022 AVI-SPL, Inc. All Rights Reserved.
+ */
+package com.avispl.symphony.dal.infrastructure.management.qsc.qsysreflect.utils;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * Cache of rendered uptime strings, keyed by the raw start time reported by the API.
+ * The start time is parsed once into a primitive epoch, and the uptime is only rendered again once the time bucket
+ * of {@link QSysReflectConstant#UPTIME_RENDER_BUCKET} changes, so polls within the same bucket reuse the rendered string.
+ * Start times that are not requested for {@link QSysReflectConstant#UPTIME_CACHE_EXPIRY} are evicted.
+ *
+ * @param <K> type of the raw start time
+ * @author Harry
+ * @version 2.1.0
+ * @since 2.1.0
+ */
+public class UptimeCache<K> {
+
+	/**
+	 * Uptime rendered from a start time, immutable so it can be replaced without locking
+	 */
+	private static class RenderedUptime {
+		private final long startedAt;
+		private final long bucket;
+		private final String uptime;
+
+		/**
+		 * RenderedUptime with args constructor
+		 *
+		 * @param startedAt start time in epoch ms
+		 * @param bucket time bucket the uptime was rendered in
+		 * @param uptime rendered uptime
+		 */
+		RenderedUptime(long startedAt, long bucket, String uptime) {
+			this.startedAt = startedAt;
+			this.bucket = bucket;
+			this.uptime = uptime;
+		}
+	}
+
+	private final Map<K, RenderedUptime> renderedUptimes = new ConcurrentHashMap<>();
+	private final ToLongFunction<K> startedAtParser;
+	private final LongFunction<String> uptimeRenderer;
+	private volatile long lastEvictionBucket;
+
+	/**
+	 * UptimeCache with args constructor
+	 *
+	 * @param startedAtParser parser of the raw start time into epoch ms
+	 * @param uptimeRenderer renderer of the uptime in seconds
+	 */
+	public UptimeCache(ToLongFunction<K> startedAtParser, LongFunction<String> uptimeRenderer) {
+		this.startedAtParser = startedAtParser;
+		this.uptimeRenderer = uptimeRenderer;
+	}
+
+	/**
+	 * Retrieves uptime of the given start time, rendered within the time bucket of the current timestamp
+	 *
+	 * @param startedAt raw start time
+	 * @param currentTimestamp current timestamp
+	 * @return rendered uptime
+	 */
+	public String get(K startedAt, long currentTimestamp) {
+		long bucket = currentTimestamp / QSysReflectConstant.UPTIME_RENDER_BUCKET;
+		RenderedUptime renderedUptime = renderedUptimes.get(startedAt);
+		if (renderedUptime != null && renderedUptime.bucket == bucket) {
+			return renderedUptime.uptime;
+		}
+		long startedAtEpoch = renderedUptime == null ? startedAtParser.applyAsLong(startedAt) : renderedUptime.startedAt;
+		renderedUptime = new RenderedUptime(startedAtEpoch, bucket, uptimeRenderer.apply((currentTimestamp - startedAtEpoch) / 1000));
+		renderedUptimes.put(startedAt, renderedUptime);
+		evictExpired(bucket);
+		return renderedUptime.uptime;
+	}
+
+	/**
+	 * Drop every rendered uptime
+	 */
+	public void clear() {
+		renderedUptimes.clear();
+	}
+
+	/**
+	 * Retrieves number of cached start times
+	 *
+	 * @return number of cached start times
+	 */
+	public int size() {
+		return renderedUptimes.size();
+	}
+
+	/**
+	 * Evict the start times that were not requested for {@link QSysReflectConstant#UPTIME_CACHE_EXPIRY}, at most once per expiry period
+	 *
+	 * @param bucket current time bucket
+	 */
+	private void evictExpired(long bucket) {
+		long expiryBuckets = QSysReflectConstant.UPTIME_CACHE_EXPIRY / QSysReflectConstant.UPTIME_RENDER_BUCKET;
+		if (bucket - lastEvictionBucket < expiryBuckets) {
+			return;
+		}
+		lastEvictionBucket = bucket;
+		renderedUptimes.values().removeIf(renderedUptime -> bucket - renderedUptime.bucket >= expiryBuckets);
+	}
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2022 AVI-SPL, Inc. All Rights Reserved.
+ */
+package com.avispl.symphony.dal.infrastructure.management.qsc.qsysreflect;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import com.avispl.symphony.api.dal.dto.monitor.aggregator.AggregatedDevice;
+import com.avispl.symphony.dal.infrastructure.management.qsc.qsysreflect.simulator.QSysReflectSimulator;
+
+/**
+ * Soak and load test for {@link QSysReflectCommunicator} against a large account served by {@link QSysReflectSimulator}.
+ * Run with: mvn clean install -P LoadTest
+ * Fleet size, soak duration and every budget can be overridden with system properties, e.g. -Dqsys.load.systems=1000
+ *
+ * @author Harry
+ * @version 2.1.0
+ * @since 2.1.0
+ */
+class QSysReflectCommunicatorLoadTest {
+	private static final int SYSTEM_COUNT = Integer.getInteger("qsys.load.systems", 5000);
+	private static final int ITEMS_PER_SYSTEM = Integer.getInteger("qsys.load.itemsPerSystem", 40);
+	private static final int LATENCY_MEDIAN_MILLIS = Integer.getInteger("qsys.load.latencyMedianMillis", 20);
+	private static final int SOAK_MINUTES = Integer.getInteger("qsys.load.soakMinutes", 10);
+	private static final long FULL_CYCLE_BUDGET_MILLIS = Long.getLong("qsys.load.fullCycleBudgetMillis", 300000L);
+	private static final long RETRIEVE_P95_BUDGET_MILLIS = Long.getLong("qsys.load.retrieveP95BudgetMillis", 3000L);
+	private static final long HEAP_BUDGET_MB = Long.getLong("qsys.load.heapBudgetMb", 1536L);
+	private static final int THREAD_BUDGET = Integer.getInteger("qsys.load.threadBudget", 40);
+	private static final long POLL_INTERVAL_MILLIS = 30000;
+
+	private QSysReflectSimulator simulator;
+	private QSysReflectCommunicator qSysReflectCommunicator;
+	private int baselineThreadCount;
+
+	@BeforeEach
+	void init() throws Exception {
+		simulator = new QSysReflectSimulator();
+		simulator.setSystemCount(SYSTEM_COUNT);
+		simulator.setItemsPerSystem(ITEMS_PER_SYSTEM);
+		simulator.setLatencyMedianMillis(LATENCY_MEDIAN_MILLIS);
+		simulator.setStatusChurnRate(0.01);
+		simulator.start();
+		baselineThreadCount = adapterThreadCount();
+
+		qSysReflectCommunicator = new QSysReflectCommunicator();
+		qSysReflectCommunicator.setTrustAllCertificates(false);
+		qSysReflectCommunicator.setProtocol("http");
+		qSysReflectCommunicator.setPort(simulator.getPort());
+		qSysReflectCommunicator.setHost("127.0.0.1");
+		qSysReflectCommunicator.setContentType("application/json");
+		qSysReflectCommunicator.setPassword("simulator-token");
+		qSysReflectCommunicator.init();
+	}
+
+	@AfterEach
+	void destroy() {
+		qSysReflectCommunicator.destroy();
+		simulator.stop();
+	}
+
+	/**
+	 * Drive the adapter through init, the first full crawl, a soak period of regular polls and property changes
+	 * Expect full-cycle time, retrieve latency, steady-state heap and thread count to stay within budget
+	 */
+	@Tag("Load")
+	@Test
+	void testSoakWithinBudgets() throws Exception {
+		int expectedDeviceCount = SYSTEM_COUNT * ITEMS_PER_SYSTEM;
+		long cycleStart = System.nanoTime();
+		qSysReflectCommunicator.retrieveMultipleStatistics();
+		awaitNextSnapshot(0, FULL_CYCLE_BUDGET_MILLIS);
+		long fullCycleMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - cycleStart);
+		Assert.assertTrue(String.format("Full cycle took %d ms, budget is %d ms", fullCycleMillis, FULL_CYCLE_BUDGET_MILLIS),
+				fullCycleMillis <= FULL_CYCLE_BUDGET_MILLIS);
+		Assert.assertEquals(expectedDeviceCount, qSysReflectCommunicator.retrieveMultipleStatistics().size());
+
+		List<Long> retrieveMillis = new ArrayList<>();
+		long maxHeapMb = 0;
+		int maxThreadCount = 0;
+		long soakEnd = System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(SOAK_MINUTES);
+		int iteration = 0;
+		while (System.currentTimeMillis() < soakEnd) {
+			Thread.sleep(POLL_INTERVAL_MILLIS);
+			iteration++;
+			if (iteration % 4 == 1) {
+				qSysReflectCommunicator.setFilterType("Camera");
+			} else if (iteration % 4 == 2) {
+				qSysReflectCommunicator.setFilterType(null);
+			} else if (iteration % 4 == 3) {
+				// Symphony re-creates the adapter state when properties are changed from the UI
+				qSysReflectCommunicator.destroy();
+				qSysReflectCommunicator.setDeviceMetaDataRetrievalTimeout(30000);
+				qSysReflectCommunicator.init();
+			}
+			long start = System.nanoTime();
+			List<AggregatedDevice> aggregatedDevices = qSysReflectCommunicator.retrieveMultipleStatistics();
+			retrieveMillis.add(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+			qSysReflectCommunicator.getMultipleStatistics();
+			Assert.assertTrue(aggregatedDevices.size() <= expectedDeviceCount);
+
+			System.gc();
+			maxHeapMb = Math.max(maxHeapMb, usedHeapMb());
+			maxThreadCount = Math.max(maxThreadCount, adapterThreadCount());
+		}
+
+		long retrieveP95 = percentile(retrieveMillis, 95);
+		Assert.assertTrue(String.format("Retrieve p95 is %d ms, budget is %d ms", retrieveP95, RETRIEVE_P95_BUDGET_MILLIS),
+				retrieveP95 <= RETRIEVE_P95_BUDGET_MILLIS);
+		Assert.assertTrue(String.format("Steady-state heap is %d MB, budget is %d MB", maxHeapMb, HEAP_BUDGET_MB), maxHeapMb <= HEAP_BUDGET_MB);
+		Assert.assertTrue(String.format("Thread count grew by %d, budget is %d", maxThreadCount - baselineThreadCount, THREAD_BUDGET),
+				maxThreadCount - baselineThreadCount <= THREAD_BUDGET);
+	}
+
+	/**
+	 * Wait until the adapter publishes a snapshot newer than the given version
+	 *
+	 * @param version last known snapshot version
+	 * @param timeoutMillis max time to wait
+	 * @throws InterruptedException if the wait is interrupted
+	 */
+	private void awaitNextSnapshot(long version, long timeoutMillis) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + timeoutMillis;
+		while (qSysReflectCommunicator.getSnapshotVersion() <= version && System.currentTimeMillis() < deadline) {
+			Thread.sleep(200);
+		}
+	}
+
+	/**
+	 * Retrieves used heap after garbage collection
+	 *
+	 * @return used heap in MB
+	 */
+	private long usedHeapMb() {
+		return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed() / (1024 * 1024);
+	}
+
+	/**
+	 * Retrieves number of live threads, excluding the simulator's web server threads
+	 *
+	 * @return number of threads
+	 */
+	private int adapterThreadCount() {
+		int count = 0;
+		for (Thread thread : Thread.getAllStackTraces().keySet()) {
+			if (!thread.getName().startsWith("qtp")) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Retrieves percentile of the given samples
+	 *
+	 * @param samples samples
+	 * @param percentile percentile between 0 and 100
+	 * @return percentile value, 0 if there are no samples
+	 */
+	private long percentile(List<Long> samples, int percentile) {
+		if (samples.isEmpty()) {
+			return 0;
+		}
+		List<Long> sorted = new ArrayList<>(samples);
+		Collections.sort(sorted);
+		int index = (int) Math.ceil(percentile / 100.0 * sorted.size()) - 1;
+		return sorted.get(Math.max(0, index));
+	}
+}
@@ -8,8 +8,10 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.function.BooleanSupplier;
 
 import com.github.tomakehurst.wiremock.junit.WireMockRule;
 import org.junit.Assert;
@@ -23,6 +25,8 @@ import com.avispl.symphony.api.dal.dto.monitor.ExtendedStatistics;
 import com.avispl.symphony.api.dal.dto.monitor.aggregator.AggregatedDevice;
 import com.avispl.symphony.api.dal.error.ResourceNotReachableException;
 import com.avispl.symphony.dal.communicator.HttpCommunicator.AuthenticationScheme;
+import com.avispl.symphony.dal.infrastructure.management.qsc.qsysreflect.dto.CycleRecord;
+import com.avispl.symphony.dal.infrastructure.management.qsc.qsysreflect.dto.DeviceDelta;
 
 /**
  * Unit test for {@link QSysReflectCommunicator}.
@@ -71,10 +75,10 @@ class QSysReflectCommunicatorTest {
 	@Test
 	void testGetMultipleStatistics() throws Exception {
 		qSysReflectCommunicator.retrieveMultipleStatistics();
-		Thread.sleep(30000);
+		awaitCycles(1, 30000);
 		ExtendedStatistics extendedStatistics = (ExtendedStatistics) qSysReflectCommunicator.getMultipleStatistics().get(0);
 		Map<String, String> stats = extendedStatistics.getStatistics();
-		Assert.assertEquals(32, stats.size());
+		Assert.assertEquals(136, stats.size());
 
 		Assert.assertEquals("9468", stats.get("AVISPL Test Core110f" + "#" + "SystemId"));
 		Assert.assertEquals("3-440F59FA6034C59670FF3C0928929607", stats.get("AVISPL Test Core110f" + "#" + "SystemCode"));
@@ -97,6 +101,44 @@ class QSysReflectCommunicatorTest {
 		Assert.assertEquals("Base Classroom Updated v7", stats.get("Base Classroom Updated v7" + "#" + "DesignName"));
 		Assert.assertEquals("NV-32-H (Core Mode)", stats.get("Base Classroom Updated v7" + "#" + "DesignPlatform"));
 		Assert.assertEquals("nv-32-h-e159", stats.get("Base Classroom Updated v7" + "#" + "CoreName"));
+
+		Assert.assertEquals("3", stats.get("FleetStatistics#Systems"));
+		Assert.assertEquals("39", stats.get("FleetStatistics#Devices"));
+		Assert.assertEquals("17", stats.get("FleetStatistics#DevicesOnline"));
+		Assert.assertEquals("22", stats.get("FleetStatistics#DevicesOffline"));
+		Assert.assertEquals("23", stats.get("FleetStatistics#AlertsNormal"));
+		Assert.assertEquals("2", stats.get("FleetStatistics#AlertsFault"));
+		Assert.assertEquals("4", stats.get("FleetDeviceTypes#Camera"));
+		Assert.assertEquals("13", stats.get("FleetDeviceStatusMessages#OK"));
+		Assert.assertEquals("1", stats.get("FleetDeviceModels#Core 110f"));
+		Assert.assertEquals("0", stats.get("FleetStatistics#AlertsFaultChange15m"));
+		Assert.assertEquals("43.59", stats.get("FleetStatistics#DevicesOnlineRatio(%)"));
+		Assert.assertEquals("100.00", stats.get("AVISPL Test Core110f#Availability1h(%)"));
+		Assert.assertEquals("0", stats.get("Base Classroom Updated v7#AlertsFaultChange15m"));
+	}
+
+	/**
+	 * Test getMultipleStatistics after two collection cycles
+	 * Expect unchanged device records to skip the YAML mapping on the second cycle
+	 */
+	@Tag("Mock")
+	@Test
+	void testMappingSkippedForUnchangedDevices() throws Exception {
+		qSysReflectCommunicator.setSystemsRetrievalInterval(10000);
+		qSysReflectCommunicator.setCoresRetrievalInterval(10000);
+		qSysReflectCommunicator.setItemsRetrievalInterval(10000);
+		qSysReflectCommunicator.retrieveMultipleStatistics();
+		awaitCycles(1, 30000);
+		ExtendedStatistics extendedStatistics = (ExtendedStatistics) qSysReflectCommunicator.getMultipleStatistics().get(0);
+		long mappedDevices = Long.parseLong(extendedStatistics.getStatistics().get("CollectorStatistics#MappedDevices"));
+		Assert.assertTrue(mappedDevices > 0);
+		Assert.assertEquals("0", extendedStatistics.getStatistics().get("CollectorStatistics#MappingSkippedDevices"));
+
+		qSysReflectCommunicator.retrieveMultipleStatistics();
+		awaitCondition(() -> mappingSkippedDevices() >= mappedDevices, 30000);
+		extendedStatistics = (ExtendedStatistics) qSysReflectCommunicator.getMultipleStatistics().get(0);
+		Assert.assertEquals(String.valueOf(mappedDevices), extendedStatistics.getStatistics().get("CollectorStatistics#MappedDevices"));
+		Assert.assertTrue(Long.parseLong(extendedStatistics.getStatistics().get("CollectorStatistics#MappingSkippedDevices")) >= mappedDevices);
 	}
 
 	/**
@@ -107,7 +149,7 @@ class QSysReflectCommunicatorTest {
 	@Test
 	void testGetAggregatorData() throws Exception {
 		qSysReflectCommunicator.retrieveMultipleStatistics();
-		Thread.sleep(30000);
+		awaitCycles(1, 30000);
 		List<AggregatedDevice> aggregatedDeviceList = qSysReflectCommunicator.retrieveMultipleStatistics();
 		Assert.assertEquals(39, aggregatedDeviceList.size());
 		Assert.assertEquals("Core 510i", aggregatedDeviceList.get(0).getDeviceModel());
@@ -117,6 +159,103 @@ class QSysReflectCommunicatorTest {
 		Assert.assertEquals("NV-32-H (Core Mode)", aggregatedDeviceList.get(4).getDeviceModel());
 	}
 
+	/**
+	 * Test uptime of the aggregated devices retrieved twice within the same second
+	 * Expect the rendered uptime strings to be reused by the second retrieval
+	 */
+	@Tag("Mock")
+	@Test
+	void testUptimeRenderedOncePerSecond() throws Exception {
+		qSysReflectCommunicator.retrieveMultipleStatistics();
+		awaitCycles(1, 30000);
+		List<AggregatedDevice> firstDevices;
+		List<AggregatedDevice> secondDevices;
+		long startSecond;
+		do {
+			startSecond = System.currentTimeMillis() / 1000;
+			firstDevices = qSysReflectCommunicator.retrieveMultipleStatistics();
+			secondDevices = qSysReflectCommunicator.retrieveMultipleStatistics();
+		} while (System.currentTimeMillis() / 1000 != startSecond);
+		int renderedUptimes = 0;
+		for (int i = 0; i < firstDevices.size(); i++) {
+			for (String property : Arrays.asList("deviceUptime", "startedAt")) {
+				String uptime = firstDevices.get(i).getProperties().get(property);
+				if (uptime != null && !"None".equals(uptime)) {
+					Assert.assertTrue(uptime.endsWith("(s)"));
+					Assert.assertSame(uptime, secondDevices.get(i).getProperties().get(property));
+					renderedUptimes++;
+				}
+			}
+		}
+		Assert.assertTrue(renderedUptimes > 0);
+	}
+
+	/**
+	 * Test retrieveMultipleStatisticsSince
+	 * Expect a full snapshot for an unknown version and an empty delta when nothing changed since the last version
+	 */
+	@Tag("Mock")
+	@Test
+	void testRetrieveMultipleStatisticsSince() throws Exception {
+		qSysReflectCommunicator.setSystemsRetrievalInterval(10000);
+		qSysReflectCommunicator.setCoresRetrievalInterval(10000);
+		qSysReflectCommunicator.setItemsRetrievalInterval(10000);
+		qSysReflectCommunicator.retrieveMultipleStatistics();
+		awaitCycles(1, 30000);
+		DeviceDelta fullDelta = qSysReflectCommunicator.retrieveMultipleStatisticsSince(0);
+		Assert.assertTrue(fullDelta.isFullSnapshot());
+		Assert.assertEquals(39, fullDelta.getChangedDevices().size());
+		Assert.assertTrue(fullDelta.getVersion() > 0);
+
+		// the next cycle retrieves the same devices again
+		awaitCycles(2, 30000);
+		DeviceDelta delta = qSysReflectCommunicator.retrieveMultipleStatisticsSince(fullDelta.getVersion());
+		Assert.assertFalse(delta.isFullSnapshot());
+		Assert.assertEquals(fullDelta.getVersion(), delta.getVersion());
+		Assert.assertTrue(delta.getChangedDevices().isEmpty());
+		Assert.assertTrue(delta.getRemovedDeviceIds().isEmpty());
+	}
+
+	/**
+	 * Test refresh interval adapter properties
+	 * Expect out of range values to be clamped and unset values to fall back to the defaults
+	 */
+	@Tag("Mock")
+	@Test
+	void testRetrievalIntervalValidation() {
+		qSysReflectCommunicator.setSystemsRetrievalInterval(1000);
+		Assert.assertEquals(10000, qSysReflectCommunicator.getSystemsRetrievalInterval());
+		qSysReflectCommunicator.setCoresRetrievalInterval(24 * 60 * 60 * 1000);
+		Assert.assertEquals(60 * 60 * 1000, qSysReflectCommunicator.getCoresRetrievalInterval());
+		qSysReflectCommunicator.setItemsRetrievalInterval(-1);
+		Assert.assertEquals(0, qSysReflectCommunicator.getItemsRetrievalInterval());
+		qSysReflectCommunicator.setIdlePauseTimeout(0);
+		Assert.assertEquals(3 * 60 * 1000, qSysReflectCommunicator.getIdlePauseTimeout());
+		qSysReflectCommunicator.setIdlePauseTimeout(1000);
+		Assert.assertEquals(60 * 1000, qSysReflectCommunicator.getIdlePauseTimeout());
+	}
+
+	/**
+	 * Test collection cycle timings after the first data collection cycle
+	 * Expect cycle history and per-stage statistics to be populated
+	 */
+	@Tag("Mock")
+	@Test
+	void testCycleTimings() throws Exception {
+		qSysReflectCommunicator.retrieveMultipleStatistics();
+		awaitCycles(1, 30000);
+		List<CycleRecord> cycleHistory = qSysReflectCommunicator.getCycleHistory();
+		Assert.assertFalse(cycleHistory.isEmpty());
+		Assert.assertEquals(39, cycleHistory.get(cycleHistory.size() - 1).getDeviceCount());
+
+		ExtendedStatistics extendedStatistics = (ExtendedStatistics) qSysReflectCommunicator.getMultipleStatistics().get(0);
+		Map<String, String> stats = extendedStatistics.getStatistics();
+		Assert.assertTrue(Long.parseLong(stats.get("CollectorStatistics#Cycles")) >= 1);
+		Assert.assertEquals("39", stats.get("CollectorStatistics#CycleDevices"));
+		Assert.assertNotNull(stats.get("CollectorStatistics#RetrieveItemsLast(ms)"));
+		Assert.assertNotNull(stats.get("CollectorStatistics#MappingMax(ms)"));
+	}
+
 	/**
 	 * Test retrieveMultipleStatistics with FilterModelName is running
 	 * Expect retrieveMultipleStatistics successfully with aggregator device running
@@ -126,7 +265,7 @@ class QSysReflectCommunicatorTest {
 	void testFilterStatusMessageIsRunning() throws Exception {
 		qSysReflectCommunicator.setFilterDeviceStatusMessage("Running");
 		qSysReflectCommunicator.retrieveMultipleStatistics();
-		Thread.sleep(30000);
+		awaitCycles(1, 30000);
 		List<AggregatedDevice> aggregatedDeviceList = qSysReflectCommunicator.retrieveMultipleStatistics();
 		Assert.assertEquals(4, aggregatedDeviceList.size());
 		Assert.assertEquals("Core 510i", aggregatedDeviceList.get(0).getDeviceModel());
@@ -144,7 +283,7 @@ class QSysReflectCommunicatorTest {
 	void testFilterModelName() throws Exception {
 		qSysReflectCommunicator.setFilterModel("Core 110f,Core 510i");
 		qSysReflectCommunicator.retrieveMultipleStatistics();
-		Thread.sleep(30000);
+		awaitCycles(1, 30000);
 		List<AggregatedDevice> aggregatedDeviceList = qSysReflectCommunicator.retrieveMultipleStatistics();
 		Assert.assertEquals(2, aggregatedDeviceList.size());
 		Assert.assertEquals("Core 510i", aggregatedDeviceList.get(0).getDeviceModel());
@@ -163,7 +302,7 @@ class QSysReflectCommunicatorTest {
 		deviceList.add("11928");
 		qSysReflectCommunicator.retrieveMultipleStatistics(deviceList);
 		qSysReflectCommunicator.setDeviceMetaDataRetrievalTimeout(90000);
-		Thread.sleep(30000);
+		awaitCycles(1, 30000);
 		List<AggregatedDevice> aggregatedDeviceList = qSysReflectCommunicator.retrieveMultipleStatistics(deviceList);
 
 		AggregatedDevice aggregatedDevice = aggregatedDeviceList.get(0);
@@ -193,7 +332,7 @@ class QSysReflectCommunicatorTest {
 	void testFilterModelNameNotExists() throws Exception {
 		qSysReflectCommunicator.setFilterModel(",Core 100");
 		qSysReflectCommunicator.retrieveMultipleStatistics();
-		Thread.sleep(30000);
+		awaitCycles(1, 30000);
 		List<AggregatedDevice> aggregatedDeviceList = qSysReflectCommunicator.retrieveMultipleStatistics();
 		Assert.assertTrue(aggregatedDeviceList.isEmpty());
 		Assert.assertEquals(0, aggregatedDeviceList.size());
@@ -209,7 +348,7 @@ class QSysReflectCommunicatorTest {
 		List<String> deviceList = new ArrayList<>();
 		deviceList.add("94400");
 		qSysReflectCommunicator.retrieveMultipleStatistics(deviceList);
-		Thread.sleep(30000);
+		awaitCycles(1, 30000);
 		List<AggregatedDevice> aggregatedDeviceList = qSysReflectCommunicator.retrieveMultipleStatistics(deviceList);
 		Assert.assertTrue(aggregatedDeviceList.isEmpty());
 		Assert.assertEquals(0, aggregatedDeviceList.size());
@@ -224,7 +363,7 @@ class QSysReflectCommunicatorTest {
 	void testFilterStatusMessageNoDeviceInstalled() throws Exception {
 		qSysReflectCommunicator.setFilterDeviceStatusMessage("Idle: no device installed");
 		qSysReflectCommunicator.retrieveMultipleStatistics();
-		Thread.sleep(30000);
+		awaitCycles(1, 30000);
 		List<AggregatedDevice> aggregatedDeviceList = qSysReflectCommunicator.retrieveMultipleStatistics();
 		Assert.assertFalse(aggregatedDeviceList.isEmpty());
 		Assert.assertEquals(1, aggregatedDeviceList.size());
@@ -242,13 +381,10 @@ class QSysReflectCommunicatorTest {
 		deviceList.add("9440");
 		qSysReflectCommunicator.retrieveMultipleStatistics(deviceList);
 		qSysReflectCommunicator.setDeviceMetaDataRetrievalTimeout(90000);
-		Thread.sleep(30000);
+		awaitCycles(1, 30000);
 		qSysReflectCommunicator.retrieveMultipleStatistics(deviceList);
-		Thread.sleep(30000);
 		qSysReflectCommunicator.retrieveMultipleStatistics(deviceList);
-		Thread.sleep(30000);
 		qSysReflectCommunicator.retrieveMultipleStatistics(deviceList);
-		Thread.sleep(30000);
 		List<AggregatedDevice> aggregatedDeviceList = qSysReflectCommunicator.retrieveMultipleStatistics(deviceList);
 
 		AggregatedDevice aggregatedDevice = aggregatedDeviceList.get(0);
@@ -348,7 +484,7 @@ class QSysReflectCommunicatorTest {
 	void testFilterSystemName() throws Exception {
 		qSysReflectCommunicator.setFilterSystemName("AVISPL Test Core110f");
 		qSysReflectCommunicator.retrieveMultipleStatistics();
-		Thread.sleep(30000);
+		awaitCycles(1, 30000);
 		List<AggregatedDevice> aggregatedDeviceList = qSysReflectCommunicator.retrieveMultipleStatistics();
 		Assert.assertEquals(14, aggregatedDeviceList.size());
 		for (AggregatedDevice aggregatedDevice : aggregatedDeviceList) {
@@ -372,11 +508,11 @@ class QSysReflectCommunicatorTest {
 	@Test
 	void testFilterSystemNameNotExitByName() throws Exception {
 		qSysReflectCommunicator.retrieveMultipleStatistics();
-		Thread.sleep(30000);
+		awaitCycles(1, 30000);
 
 		qSysReflectCommunicator.setFilterSystemName("System");
 		qSysReflectCommunicator.retrieveMultipleStatistics();
-		Thread.sleep(30000);
+		awaitCycles(2, 30000);
 		List<AggregatedDevice> aggregatedDeviceList = qSysReflectCommunicator.retrieveMultipleStatistics();
 		Assert.assertTrue(aggregatedDeviceList.isEmpty());
 	}
@@ -390,11 +526,11 @@ class QSysReflectCommunicatorTest {
 	@Test
 	void testFilterTypeIsCamera() throws Exception {
 		qSysReflectCommunicator.retrieveMultipleStatistics();
-		Thread.sleep(30000);
+		awaitCycles(1, 30000);
 
 		qSysReflectCommunicator.setFilterType("Camera");
 		qSysReflectCommunicator.retrieveMultipleStatistics();
-		Thread.sleep(30000);
+		awaitCycles(2, 30000);
 		List<AggregatedDevice> aggregatedDeviceList = qSysReflectCommunicator.retrieveMultipleStatistics();
 		Assert.assertEquals(4, aggregatedDeviceList.size());
 		for (AggregatedDevice aggregatedDevice : aggregatedDeviceList) {
@@ -412,12 +548,12 @@ class QSysReflectCommunicatorTest {
 	@Test
 	void testFilterSystemNameExitAndFilterTypeNotExit() throws Exception {
 		qSysReflectCommunicator.retrieveMultipleStatistics();
-		Thread.sleep(30000);
+		awaitCycles(1, 30000);
 
 		qSysReflectCommunicator.setFilterType("Camera");
 		qSysReflectCommunicator.setFilterSystemName("System 01");
 		qSysReflectCommunicator.retrieveMultipleStatistics();
-		Thread.sleep(30000);
+		awaitCycles(2, 30000);
 		List<AggregatedDevice> aggregatedDeviceList = qSysReflectCommunicator.retrieveMultipleStatistics();
 		Assert.assertTrue(aggregatedDeviceList.isEmpty());
 	}
@@ -431,12 +567,12 @@ class QSysReflectCommunicatorTest {
 	@Test
 	void testFilterTypeAndFilterModel() throws Exception {
 		qSysReflectCommunicator.retrieveMultipleStatistics();
-		Thread.sleep(30000);
+		awaitCycles(1, 30000);
 
 		qSysReflectCommunicator.setFilterType("Core,Camera");
 		qSysReflectCommunicator.setFilterModel("PTZ-12x72");
 		qSysReflectCommunicator.retrieveMultipleStatistics();
-		Thread.sleep(30000);
+		awaitCycles(2, 30000);
 		List<AggregatedDevice> aggregatedDeviceList = qSysReflectCommunicator.retrieveMultipleStatistics();
 		Assert.assertEquals(3, aggregatedDeviceList.size());
 		Map<String, String> stats = aggregatedDeviceList.get(0).getProperties();
@@ -481,4 +617,39 @@ class QSysReflectCommunicatorTest {
 			assertEquals("Generic AV Source", stats.get("deviceModel"));
 		}
 	}
-}
\ No newline at end of file
+
+	/**
+	 * Retrieves number of devices the mapping skipped since the adapter was created
+	 *
+	 * @return number of skipped devices
+	 */
+	private long mappingSkippedDevices() {
+		ExtendedStatistics extendedStatistics = (ExtendedStatistics) qSysReflectCommunicator.getMultipleStatistics().get(0);
+		return Long.parseLong(extendedStatistics.getStatistics().get("CollectorStatistics#MappingSkippedDevices"));
+	}
+
+	/**
+	 * Wait until the adapter completes the given number of collection cycles since it was created
+	 *
+	 * @param cycleCount number of collection cycles
+	 * @param timeoutMillis max time to wait
+	 * @throws InterruptedException if the wait is interrupted
+	 */
+	private void awaitCycles(int cycleCount, long timeoutMillis) throws InterruptedException {
+		awaitCondition(() -> qSysReflectCommunicator.getCycleHistory().size() >= cycleCount, timeoutMillis);
+	}
+
+	/**
+	 * Wait until the condition holds, the assertions that follow report a condition that never held
+	 *
+	 * @param condition awaited condition
+	 * @param timeoutMillis max time to wait
+	 * @throws InterruptedException if the wait is interrupted
+	 */
+	private void awaitCondition(BooleanSupplier condition, long timeoutMillis) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + timeoutMillis;
+		while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+			Thread.sleep(200);
+		}
+	}
+}
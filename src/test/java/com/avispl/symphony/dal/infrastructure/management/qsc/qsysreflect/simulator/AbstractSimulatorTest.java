@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2022 AVI-SPL, Inc. All Rights Reserved.
+ */
+package com.avispl.symphony.dal.infrastructure.management.qsc.qsysreflect.simulator;
+
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+
+import com.avispl.symphony.dal.infrastructure.management.qsc.qsysreflect.QSysReflectCommunicator;
+
+/**
+ * Base of the {@link QSysReflectCommunicator} tests run against a generated account served by {@link QSysReflectSimulator}:
+ * starts the simulator and an adapter polling it before every test, and stops both after it
+ *
+ * @author Harry
+ * @version 2.1.0
+ * @since 2.1.0
+ */
+abstract class AbstractSimulatorTest {
+	static final int SYSTEM_COUNT = 20;
+	static final int ITEMS_PER_SYSTEM = 10;
+
+	QSysReflectSimulator simulator;
+	QSysReflectCommunicator qSysReflectCommunicator;
+
+	@BeforeEach
+	void init() throws Exception {
+		simulator = new QSysReflectSimulator();
+		simulator.setSystemCount(SYSTEM_COUNT);
+		simulator.setItemsPerSystem(ITEMS_PER_SYSTEM);
+		simulator.setLatencyMedianMillis(20);
+		simulator.start();
+
+		qSysReflectCommunicator = createCommunicator();
+		qSysReflectCommunicator.init();
+	}
+
+	@AfterEach
+	void destroy() {
+		qSysReflectCommunicator.destroy();
+		simulator.stop();
+	}
+
+	/**
+	 * Create an adapter of the simulated account, left uninitialized so the test can set its properties first
+	 *
+	 * @return adapter polling {@link #simulator}
+	 * @throws Exception if the adapter fails to load its mapping
+	 */
+	QSysReflectCommunicator createCommunicator() throws Exception {
+		QSysReflectCommunicator communicator = new QSysReflectCommunicator();
+		communicator.setTrustAllCertificates(false);
+		communicator.setProtocol("http");
+		communicator.setPort(simulator.getPort());
+		communicator.setHost("127.0.0.1");
+		communicator.setContentType("application/json");
+		communicator.setPassword("simulator-token");
+		return communicator;
+	}
+
+	/**
+	 * Restart the simulator, so the settings that only apply on start take effect, and point the adapter to its new port
+	 *
+	 * @throws Exception if the adapter fails to initialize
+	 */
+	void restartSimulator() throws Exception {
+		qSysReflectCommunicator.destroy();
+		simulator.stop();
+		simulator.start();
+		qSysReflectCommunicator.setPort(simulator.getPort());
+		qSysReflectCommunicator.init();
+	}
+
+	/**
+	 * Wait until the adapter publishes a snapshot newer than the given version
+	 *
+	 * @param communicator adapter publishing the snapshots
+	 * @param version last known snapshot version
+	 * @param timeoutMillis max time to wait
+	 * @throws InterruptedException if the wait is interrupted
+	 */
+	void awaitNextSnapshot(QSysReflectCommunicator communicator, long version, long timeoutMillis) throws InterruptedException {
+		awaitCondition(() -> communicator.getSnapshotVersion() > version, timeoutMillis);
+	}
+
+	/**
+	 * Wait until the adapter completes the given number of collection cycles since it was created, up to the size of the cycle history
+	 *
+	 * @param cycleCount number of collection cycles
+	 * @param timeoutMillis max time to wait
+	 * @throws InterruptedException if the wait is interrupted
+	 */
+	void awaitCycles(int cycleCount, long timeoutMillis) throws InterruptedException {
+		awaitCondition(() -> qSysReflectCommunicator.getCycleHistory().size() >= cycleCount, timeoutMillis);
+	}
+
+	/**
+	 * Wait until the condition holds, the assertions that follow report a condition that never held
+	 *
+	 * @param condition awaited condition
+	 * @param timeoutMillis max time to wait
+	 * @throws InterruptedException if the wait is interrupted
+	 */
+	static void awaitCondition(BooleanSupplier condition, long timeoutMillis) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + timeoutMillis;
+		while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+			Thread.sleep(200);
+		}
+	}
+}
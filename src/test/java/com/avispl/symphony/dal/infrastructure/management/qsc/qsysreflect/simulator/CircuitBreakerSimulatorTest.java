@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) 2022 AVI-SPL, Inc. All Rights Reserved.
+ */
+package com.avispl.symphony.dal.infrastructure.management.qsc.qsysreflect.simulator;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import com.avispl.symphony.api.dal.dto.monitor.ExtendedStatistics;
+import com.avispl.symphony.api.dal.dto.monitor.aggregator.AggregatedDevice;
+import com.avispl.symphony.dal.infrastructure.management.qsc.qsysreflect.utils.CircuitBreaker;
+
+/**
+ * Test {@link CircuitBreaker} of the items retrieval against a simulated system that keeps failing
+ *
+ * @author Harry
+ * @version 2.1.0
+ * @since 2.1.0
+ */
+class CircuitBreakerSimulatorTest extends AbstractSimulatorTest {
+	/**
+	 * Test retrieveMultipleStatistics while the items endpoint of one system keeps failing
+	 * Expect the circuit of that system to open, so it is requested less often than the healthy systems
+	 */
+	@Tag("Mock")
+	@Test
+	void testCircuitBreaker() throws Exception {
+		simulator.setFailingSystemIds(Collections.singleton(10000));
+		qSysReflectCommunicator.setItemsRetrievalInterval(10000);
+		qSysReflectCommunicator.setCircuitBreakerFailureThreshold(1);
+		qSysReflectCommunicator.retrieveMultipleStatistics();
+		awaitCondition(() -> simulator.getItemsRequestCount(10001) >= 4, 45000);
+		List<AggregatedDevice> aggregatedDeviceList = qSysReflectCommunicator.retrieveMultipleStatistics();
+		Assert.assertEquals((SYSTEM_COUNT - 1) * ITEMS_PER_SYSTEM + 1, aggregatedDeviceList.size());
+		Assert.assertTrue(simulator.getItemsRequestCount(10000) <= 2);
+		Assert.assertTrue(simulator.getItemsRequestCount(10001) >= 4);
+
+		ExtendedStatistics extendedStatistics = (ExtendedStatistics) qSysReflectCommunicator.getMultipleStatistics().get(0);
+		Map<String, String> stats = extendedStatistics.getStatistics();
+		Assert.assertEquals("Open", stats.get("Simulated System 0#ItemsCircuitState"));
+		Assert.assertNotEquals("0", stats.get("Simulated System 0#ItemsConsecutiveFailures"));
+		Assert.assertEquals("Closed", stats.get("Simulated System 1#ItemsCircuitState"));
+		Assert.assertEquals("0", stats.get("Simulated System 1#ItemsConsecutiveFailures"));
+	}
+}
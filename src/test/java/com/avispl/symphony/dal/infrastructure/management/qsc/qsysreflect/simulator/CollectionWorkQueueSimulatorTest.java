@@ -0,0 +1,46 @@
+/*
+ * Copyright (c) 2022 AVI-SPL, Inc. All Rights Reserved.
+ */
+package com.avispl.symphony.dal.infrastructure.management.qsc.qsysreflect.simulator;
+
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import com.avispl.symphony.api.dal.dto.monitor.ExtendedStatistics;
+import com.avispl.symphony.dal.infrastructure.management.qsc.qsysreflect.utils.CollectionWorkQueue;
+import com.avispl.symphony.dal.infrastructure.management.qsc.qsysreflect.utils.QSysReflectConstant;
+
+/**
+ * Test {@link CollectionWorkQueue} with more simulated systems than it can hold
+ *
+ * @author Harry
+ * @version 2.1.0
+ * @since 2.1.0
+ */
+class CollectionWorkQueueSimulatorTest extends AbstractSimulatorTest {
+	/**
+	 * Test retrieveMultipleStatistics with more due systems than the work queue can hold
+	 * Expect the systems that do not fit to be retrieved once the queued work is done, and the work queue statistics to be published
+	 */
+	@Tag("Mock")
+	@Test
+	void testBoundedWorkQueue() throws Exception {
+		simulator.setSystemCount(60);
+		qSysReflectCommunicator.setWorkQueueCapacity(16);
+		restartSimulator();
+		qSysReflectCommunicator.retrieveMultipleStatistics();
+		// the systems rejected by the full queue are published by later cycles
+		awaitCondition(() -> qSysReflectCommunicator.retrieveMultipleStatistics().size() == 60 * ITEMS_PER_SYSTEM, 40000);
+		Assert.assertEquals(60 * ITEMS_PER_SYSTEM, qSysReflectCommunicator.retrieveMultipleStatistics().size());
+
+		Map<String, String> stats = ((ExtendedStatistics) qSysReflectCommunicator.getMultipleStatistics().get(0)).getStatistics();
+		Assert.assertNotEquals("0", stats.get("CollectorStatistics#WorkQueueRejectedTasks"));
+		Assert.assertTrue(Integer.parseInt(stats.get("CollectorStatistics#WorkQueueDepth")) <= 16);
+		Assert.assertTrue(Integer.parseInt(stats.get("CollectorStatistics#WorkQueueActiveWorkers")) <= QSysReflectConstant.COLLECTION_WORKERS);
+		Assert.assertNotNull(stats.get("CollectorStatistics#WorkQueueWaitAverage(ms)"));
+		Assert.assertNotNull(stats.get("CollectorStatistics#WorkQueueWaitMax(ms)"));
+	}
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2022 AVI-SPL, Inc. All Rights Reserved.
+ */
+package com.avispl.symphony.dal.infrastructure.management.qsc.qsysreflect.simulator;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.Assert;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import com.avispl.symphony.api.dal.dto.monitor.aggregator.AggregatedDevice;
+import com.avispl.symphony.dal.infrastructure.management.qsc.qsysreflect.utils.DeviceIndex;
+
+/**
+ * Test {@link DeviceIndex} filtering of the devices collected from the simulated account
+ *
+ * @author Harry
+ * @version 2.1.0
+ * @since 2.1.0
+ */
+class DeviceIndexSimulatorTest extends AbstractSimulatorTest {
+	/**
+	 * Test retrieveMultipleStatistics with the system name, type and status message filters set
+	 * Expect the filtered devices to be the devices of the unfiltered fleet that match every filter
+	 */
+	@Tag("Mock")
+	@Test
+	void testIndexedFilters() throws Exception {
+		qSysReflectCommunicator.retrieveMultipleStatistics();
+		awaitNextSnapshot(qSysReflectCommunicator, 0, 30000);
+		Set<String> expectedDeviceIds = new HashSet<>();
+		for (AggregatedDevice aggregatedDevice : qSysReflectCommunicator.retrieveMultipleStatistics()) {
+			Map<String, String> properties = aggregatedDevice.getProperties();
+			boolean ownedBySystem = aggregatedDevice.getDeviceName().startsWith("Simulated System 1 ") || "SIM-CORE-1".equals(aggregatedDevice.getDeviceName());
+			boolean typeMatched = "Core".equals(properties.get("deviceType")) || "Camera".equals(properties.get("deviceType"));
+			if (ownedBySystem && typeMatched && "OK".equals(properties.get("deviceStatusMessage"))) {
+				expectedDeviceIds.add(aggregatedDevice.getDeviceId());
+			}
+		}
+		Assert.assertFalse(expectedDeviceIds.isEmpty());
+		long version = qSysReflectCommunicator.getSnapshotVersion();
+
+		qSysReflectCommunicator.destroy();
+		qSysReflectCommunicator.setFilterSystemName("Simulated System 1");
+		qSysReflectCommunicator.setFilterType("Core, Camera");
+		qSysReflectCommunicator.setFilterDeviceStatusMessage("OK");
+		qSysReflectCommunicator.init();
+		qSysReflectCommunicator.retrieveMultipleStatistics();
+		awaitNextSnapshot(qSysReflectCommunicator, version, 30000);
+		Set<String> deviceIds = new HashSet<>();
+		for (AggregatedDevice aggregatedDevice : qSysReflectCommunicator.retrieveMultipleStatistics()) {
+			deviceIds.add(aggregatedDevice.getDeviceId());
+		}
+		Assert.assertEquals(expectedDeviceIds, deviceIds);
+	}
+}
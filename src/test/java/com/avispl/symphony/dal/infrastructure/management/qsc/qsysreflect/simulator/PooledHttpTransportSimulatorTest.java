@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2022 AVI-SPL, Inc. All Rights Reserved.
+ */
+package com.avispl.symphony.dal.infrastructure.management.qsc.qsysreflect.simulator;
+
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import com.avispl.symphony.api.dal.dto.monitor.ExtendedStatistics;
+import com.avispl.symphony.dal.infrastructure.management.qsc.qsysreflect.dto.CycleRecord;
+import com.avispl.symphony.dal.infrastructure.management.qsc.qsysreflect.utils.CollectionStage;
+import com.avispl.symphony.dal.infrastructure.management.qsc.qsysreflect.utils.PooledHttpTransport;
+
+/**
+ * Test {@link PooledHttpTransport} requests to the simulated account
+ *
+ * @author Harry
+ * @version 2.1.0
+ * @since 2.1.0
+ */
+class PooledHttpTransportSimulatorTest extends AbstractSimulatorTest {
+	/**
+	 * Test retrieveMultipleStatistics through the pooled HTTP transport
+	 * Expect every request to accept gzip and most requests to be sent over a reused connection
+	 */
+	@Tag("Mock")
+	@Test
+	void testPooledHttpTransport() throws Exception {
+		qSysReflectCommunicator.setItemsRetrievalInterval(10000);
+		qSysReflectCommunicator.retrieveMultipleStatistics();
+		awaitCondition(() -> simulator.getItemsRequestCount() >= 2 * SYSTEM_COUNT, 30000);
+		// the statistics are read once the items round in flight is done
+		awaitCycles(qSysReflectCommunicator.getCycleHistory().size() + 1, 15000);
+		Assert.assertEquals(SYSTEM_COUNT * ITEMS_PER_SYSTEM, qSysReflectCommunicator.retrieveMultipleStatistics().size());
+		Assert.assertEquals(simulator.getRequestCount(), simulator.getGzipRequestCount());
+
+		Map<String, String> stats = ((ExtendedStatistics) qSysReflectCommunicator.getMultipleStatistics().get(0)).getStatistics();
+		long openedConnections = Long.parseLong(stats.get("CollectorStatistics#HttpConnectionsOpened"));
+		long reusedConnections = Long.parseLong(stats.get("CollectorStatistics#HttpConnectionsReused"));
+		Assert.assertTrue(openedConnections > 0);
+		Assert.assertTrue(openedConnections <= 16);
+		Assert.assertEquals(simulator.getRequestCount(), openedConnections + reusedConnections);
+		Assert.assertTrue(reusedConnections > openedConnections);
+	}
+
+	/**
+	 * Test retrieveMultipleStatistics with asynchronous requests, one request thread per connection and more connections than collection workers
+	 * Expect every system to be requested once, in flight at the same time, so the items retrieval takes about one response time
+	 */
+	@Tag("Mock")
+	@Test
+	void testAsyncRequests() throws Exception {
+		simulator.setLatencyMedianMillis(1000);
+		simulator.setLatencySigma(0);
+		qSysReflectCommunicator.destroy();
+		qSysReflectCommunicator.setMaxConnectionsPerRoute(SYSTEM_COUNT);
+		qSysReflectCommunicator.setMaxConnectionsTotal(SYSTEM_COUNT);
+		qSysReflectCommunicator.setDeviceMetaDataRetrievalTimeout(3600000);
+		qSysReflectCommunicator.setAsyncRequests(true);
+		restartSimulator();
+
+		qSysReflectCommunicator.retrieveMultipleStatistics();
+		awaitNextSnapshot(qSysReflectCommunicator, qSysReflectCommunicator.getSnapshotVersion(), 30000);
+		Assert.assertEquals(SYSTEM_COUNT * ITEMS_PER_SYSTEM, qSysReflectCommunicator.retrieveMultipleStatistics().size());
+		Assert.assertEquals(SYSTEM_COUNT, simulator.getItemsRequestCount());
+
+		Long itemsRetrievalMillis = null;
+		for (CycleRecord cycleRecord : qSysReflectCommunicator.getCycleHistory()) {
+			if (cycleRecord.getStageMillis().get(CollectionStage.RETRIEVE_ITEMS) != null) {
+				itemsRetrievalMillis = cycleRecord.getStageMillis().get(CollectionStage.RETRIEVE_ITEMS);
+				break;
+			}
+		}
+		Assert.assertNotNull(itemsRetrievalMillis);
+		// the 8 collection workers would take 3 response times to request the 20 systems one by one
+		Assert.assertTrue(String.valueOf(itemsRetrievalMillis), itemsRetrievalMillis < 2500);
+	}
+}
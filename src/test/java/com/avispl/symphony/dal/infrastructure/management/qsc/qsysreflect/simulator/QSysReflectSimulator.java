@@ -0,0 +1,343 @@
+/*
+ * Copyright (c) 2022 AVI-SPL, Inc. All Rights Reserved.
+ */
+package com.avispl.symphony.dal.infrastructure.management.qsc.qsysreflect.simulator;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathMatching;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.ResponseDefinitionBuilder;
+import com.github.tomakehurst.wiremock.common.FileSource;
+import com.github.tomakehurst.wiremock.extension.Parameters;
+import com.github.tomakehurst.wiremock.extension.ResponseDefinitionTransformer;
+import com.github.tomakehurst.wiremock.http.Request;
+import com.github.tomakehurst.wiremock.http.ResponseDefinition;
+
+/**
+ * Embeddable simulator of the Q-Sys Reflect public API (/api/public/v0 /systems, /cores and /systems/{id}/items).
+ * Responses are generated from a {@link SimulatedFleet} of configurable size, with log-normal latency, injected
+ * server errors, 429 throttling and item status churn. Runs on the loopback interface only.
+ *
+ * @author Harry
+ * @version 2.1.0
+ * @since 2.1.0
+ */
+public class QSysReflectSimulator {
+
+	private static final String TRANSFORMER_NAME = "qsys-reflect-simulator";
+	private static final String BASE_URL = "/api/public/v0";
+	private static final int STALLED_RESPONSE_DELAY_MILLIS = 60000;
+	private static final Pattern ITEMS_URL = Pattern.compile(BASE_URL + "/systems/(\\d+)/items");
+
+	private int systemCount = 10;
+	private int itemsPerSystem = 10;
+	private long seed = 1;
+	private double latencyMedianMillis;
+	private double latencySigma = 0.5;
+	private double errorRate;
+	private double throttleRate;
+	private double statusChurnRate;
+	private int containerThreads = 64;
+
+	private WireMockServer wireMockServer;
+	private SimulatedFleet fleet;
+
+	private final AtomicLong requestCount = new AtomicLong();
+	private final AtomicLong itemsRequestCount = new AtomicLong();
+	private final AtomicLong errorCount = new AtomicLong();
+	private final AtomicLong throttledCount = new AtomicLong();
+	private final AtomicLong gzipRequestCount = new AtomicLong();
+	private final Map<Integer, AtomicLong> systemItemsRequestCounts = new ConcurrentHashMap<>();
+	private volatile Set<Integer> failingSystemIds = Collections.emptySet();
+	private volatile Set<Integer> stalledSystemIds = Collections.emptySet();
+
+	/**
+	 * Transformer generating every response out of the simulated fleet
+	 */
+	private class FleetTransformer extends ResponseDefinitionTransformer {
+
+		@Override
+		public String getName() {
+			return TRANSFORMER_NAME;
+		}
+
+		@Override
+		public boolean applyGlobally() {
+			return false;
+		}
+
+		@Override
+		public ResponseDefinition transform(Request request, ResponseDefinition responseDefinition, FileSource files, Parameters parameters) {
+			requestCount.incrementAndGet();
+			String acceptEncoding = request.getHeader("Accept-Encoding");
+			if (acceptEncoding != null && acceptEncoding.contains("gzip")) {
+				gzipRequestCount.incrementAndGet();
+			}
+			ResponseDefinitionBuilder response = ResponseDefinitionBuilder.like(responseDefinition).but()
+					.withHeader("Content-Type", "application/json");
+			if (latencyMedianMillis > 0) {
+				response.withLogNormalRandomDelay(latencyMedianMillis, latencySigma);
+			}
+			String authorization = request.getHeader("Authorization");
+			if (authorization == null || !authorization.startsWith("Bearer ")) {
+				return response.withStatus(401).withBody("{\"message\":\"Unauthorized\"}").build();
+			}
+			if (throttleRate > 0 && fleet.nextDouble() < throttleRate) {
+				throttledCount.incrementAndGet();
+				return response.withStatus(429).withHeader("Retry-After", "1").withBody("{\"message\":\"Too Many Requests\"}").build();
+			}
+			if (errorRate > 0 && fleet.nextDouble() < errorRate) {
+				errorCount.incrementAndGet();
+				return response.withStatus(500).withBody("{\"message\":\"Internal Server Error\"}").build();
+			}
+			try {
+				String url = request.getUrl();
+				if (url.equals(BASE_URL + "/systems")) {
+					return response.withStatus(200).withBody(fleet.renderSystems()).build();
+				}
+				if (url.equals(BASE_URL + "/cores")) {
+					return response.withStatus(200).withBody(fleet.renderCores()).build();
+				}
+				Matcher matcher = ITEMS_URL.matcher(url);
+				if (matcher.matches()) {
+					itemsRequestCount.incrementAndGet();
+					int systemId = Integer.parseInt(matcher.group(1));
+					systemItemsRequestCounts.computeIfAbsent(systemId, id -> new AtomicLong()).incrementAndGet();
+					if (failingSystemIds.contains(systemId)) {
+						errorCount.incrementAndGet();
+						return response.withStatus(503).withBody("{\"message\":\"Service Unavailable\"}").build();
+					}
+					if (stalledSystemIds.contains(systemId)) {
+						response.withFixedDelay(STALLED_RESPONSE_DELAY_MILLIS);
+					}
+					SimulatedFleet.SimulatedSystem system = fleet.getSystem(systemId);
+					if (system == null) {
+						return response.withStatus(404).withBody("{\"message\":\"Not Found\"}").build();
+					}
+					fleet.churn(system, statusChurnRate);
+					return response.withStatus(200).withBody(fleet.renderItems(system)).build();
+				}
+				return response.withStatus(404).withBody("{\"message\":\"Not Found\"}").build();
+			} catch (Exception e) {
+				return response.withStatus(500).withBody("{\"message\":\"" + e.getMessage() + "\"}").build();
+			}
+		}
+	}
+
+	/**
+	 * Generate the fleet and start the simulator on a dynamic loopback port
+	 */
+	public void start() {
+		fleet = new SimulatedFleet(systemCount, itemsPerSystem, seed);
+		wireMockServer = new WireMockServer(options().dynamicPort().bindAddress("127.0.0.1")
+				.containerThreads(containerThreads).disableRequestJournal().extensions(new FleetTransformer()));
+		wireMockServer.start();
+		wireMockServer.stubFor(get(urlEqualTo(BASE_URL + "/systems")).willReturn(aResponse().withTransformers(TRANSFORMER_NAME)));
+		wireMockServer.stubFor(get(urlEqualTo(BASE_URL + "/cores")).willReturn(aResponse().withTransformers(TRANSFORMER_NAME)));
+		wireMockServer.stubFor(get(urlPathMatching(BASE_URL + "/systems/\\d+/items")).willReturn(aResponse().withTransformers(TRANSFORMER_NAME)));
+	}
+
+	/**
+	 * Stop the simulator
+	 */
+	public void stop() {
+		if (wireMockServer != null) {
+			wireMockServer.stop();
+			wireMockServer = null;
+		}
+	}
+
+	/**
+	 * Retrieves port the simulator is listening on
+	 *
+	 * @return http port
+	 */
+	public int getPort() {
+		return wireMockServer.port();
+	}
+
+	/**
+	 * Retrieves {@code {@link #fleet}}
+	 *
+	 * @return value of {@link #fleet}
+	 */
+	public SimulatedFleet getFleet() {
+		return fleet;
+	}
+
+	/**
+	 * Change the status of random items across the whole fleet, independently of incoming requests
+	 *
+	 * @param churnRate probability of each item to change its status
+	 */
+	public void churn(double churnRate) {
+		fleet.churn(churnRate);
+	}
+
+	/**
+	 * Retrieves total number of requests served
+	 *
+	 * @return number of requests
+	 */
+	public long getRequestCount() {
+		return requestCount.get();
+	}
+
+	/**
+	 * Retrieves number of /systems/{id}/items requests served
+	 *
+	 * @return number of items requests
+	 */
+	public long getItemsRequestCount() {
+		return itemsRequestCount.get();
+	}
+
+	/**
+	 * Retrieves number of injected server errors
+	 *
+	 * @return number of errors
+	 */
+	public long getErrorCount() {
+		return errorCount.get();
+	}
+
+	/**
+	 * Retrieves number of injected 429 responses
+	 *
+	 * @return number of throttled requests
+	 */
+	public long getThrottledCount() {
+		return throttledCount.get();
+	}
+
+	/**
+	 * Sets {@code systemCount}
+	 *
+	 * @param systemCount the {@code int} field
+	 */
+	public void setSystemCount(int systemCount) {
+		this.systemCount = systemCount;
+	}
+
+	/**
+	 * Sets {@code itemsPerSystem}
+	 *
+	 * @param itemsPerSystem the {@code int} field
+	 */
+	public void setItemsPerSystem(int itemsPerSystem) {
+		this.itemsPerSystem = itemsPerSystem;
+	}
+
+	/**
+	 * Sets {@code seed}
+	 *
+	 * @param seed the {@code long} field
+	 */
+	public void setSeed(long seed) {
+		this.seed = seed;
+	}
+
+	/**
+	 * Sets {@code latencyMedianMillis}, 0 disables simulated latency
+	 *
+	 * @param latencyMedianMillis the {@code double} field
+	 */
+	public void setLatencyMedianMillis(double latencyMedianMillis) {
+		this.latencyMedianMillis = latencyMedianMillis;
+	}
+
+	/**
+	 * Sets {@code latencySigma}, spread of the log-normal latency distribution
+	 *
+	 * @param latencySigma the {@code double} field
+	 */
+	public void setLatencySigma(double latencySigma) {
+		this.latencySigma = latencySigma;
+	}
+
+	/**
+	 * Sets {@code errorRate}, probability of a request to fail with 500
+	 *
+	 * @param errorRate the {@code double} field
+	 */
+	public void setErrorRate(double errorRate) {
+		this.errorRate = errorRate;
+	}
+
+	/**
+	 * Sets {@code throttleRate}, probability of a request to be rejected with 429
+	 *
+	 * @param throttleRate the {@code double} field
+	 */
+	public void setThrottleRate(double throttleRate) {
+		this.throttleRate = throttleRate;
+	}
+
+	/**
+	 * Sets {@code statusChurnRate}, probability of each item to change its status whenever its system items are requested
+	 *
+	 * @param statusChurnRate the {@code double} field
+	 */
+	public void setStatusChurnRate(double statusChurnRate) {
+		this.statusChurnRate = statusChurnRate;
+	}
+
+	/**
+	 * Retrieves number of requests that accept a gzip encoded response
+	 *
+	 * @return number of gzip requests
+	 */
+	public long getGzipRequestCount() {
+		return gzipRequestCount.get();
+	}
+
+	/**
+	 * Retrieves number of /systems/{id}/items requests received for the given system
+	 *
+	 * @param systemId system id
+	 * @return number of items requests of the system
+	 */
+	public long getItemsRequestCount(int systemId) {
+		AtomicLong count = systemItemsRequestCounts.get(systemId);
+		return count == null ? 0 : count.get();
+	}
+
+	/**
+	 * Sets {@code failingSystemIds}, systems whose /systems/{id}/items requests always fail with 503
+	 *
+	 * @param failingSystemIds the {@code Set<Integer>} field
+	 */
+	public void setFailingSystemIds(Set<Integer> failingSystemIds) {
+		this.failingSystemIds = failingSystemIds;
+	}
+
+	/**
+	 * Sets {@code stalledSystemIds}, systems whose /systems/{id}/items requests only respond after a minute
+	 *
+	 * @param stalledSystemIds the {@code Set<Integer>} field
+	 */
+	public void setStalledSystemIds(Set<Integer> stalledSystemIds) {
+		this.stalledSystemIds = stalledSystemIds;
+	}
+
+	/**
+	 * Sets {@code containerThreads}
+	 *
+	 * @param containerThreads the {@code int} field
+	 */
+	public void setContainerThreads(int containerThreads) {
+		this.containerThreads = containerThreads;
+	}
+}
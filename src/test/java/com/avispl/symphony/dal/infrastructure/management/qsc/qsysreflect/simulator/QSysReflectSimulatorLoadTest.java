@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2022 AVI-SPL, Inc. All Rights Reserved.
+ */
+package com.avispl.symphony.dal.infrastructure.management.qsc.qsysreflect.simulator;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import com.avispl.symphony.api.dal.dto.monitor.ExtendedStatistics;
+import com.avispl.symphony.api.dal.dto.monitor.aggregator.AggregatedDevice;
+import com.avispl.symphony.dal.infrastructure.management.qsc.qsysreflect.QSysReflectCommunicator;
+import com.avispl.symphony.dal.infrastructure.management.qsc.qsysreflect.dto.CycleRecord;
+import com.avispl.symphony.dal.infrastructure.management.qsc.qsysreflect.utils.CollectionStage;
+
+/**
+ * Measure {@link QSysReflectCommunicator} against a generated account served by {@link QSysReflectSimulator}.
+ * Every measurement collects data for {@link #MEASUREMENT_PHASE_MILLIS}, so these tests only run with the Load tag
+ *
+ * @author Harry
+ * @version 2.1.0
+ * @since 2.1.0
+ */
+class QSysReflectSimulatorLoadTest extends AbstractSimulatorTest {
+	private static final long MEASUREMENT_PHASE_MILLIS = 150000;
+
+	/**
+	 * Measure the mapping time and the size of the stored properties without and with the device properties projected on the firmware version
+	 * Expect the projected run to store fewer property characters, both runs are reported in the assertion message
+	 */
+	@Tag("Load")
+	@Test
+	void testRetainedDevicePropertiesSavings() throws Exception {
+		long[] fullRun = measureMapping(null);
+		long[] projectedRun = measureMapping("firmwareVersion");
+		Assert.assertTrue(String.format("Mapping: %d ms and %d property characters with every property, %d ms and %d property characters with firmwareVersion only",
+				fullRun[0], fullRun[1], projectedRun[0], projectedRun[1]), projectedRun[1] < fullRun[1]);
+	}
+
+	/**
+	 * Re-initialize the adapter with the given retained properties, collect data for {@link #MEASUREMENT_PHASE_MILLIS}
+	 * and measure the mapping stage of its cycles and the properties of the published devices
+	 *
+	 * @param retainedDeviceProperties names of the device properties to keep, null to keep every property
+	 * @return total mapping time in ms, and number of characters of the published property names and values
+	 * @throws Exception if the adapter fails to initialize
+	 */
+	private long[] measureMapping(String retainedDeviceProperties) throws Exception {
+		qSysReflectCommunicator.destroy();
+		qSysReflectCommunicator.setRetainedDeviceProperties(retainedDeviceProperties);
+		qSysReflectCommunicator.setItemsRetrievalInterval(10000);
+		qSysReflectCommunicator.init();
+		simulator.setStatusChurnRate(1.0);
+		qSysReflectCommunicator.retrieveMultipleStatistics();
+		Thread.sleep(MEASUREMENT_PHASE_MILLIS);
+		long mappingMillis = 0;
+		for (CycleRecord cycleRecord : qSysReflectCommunicator.getCycleHistory()) {
+			Long stageMillis = cycleRecord.getStageMillis().get(CollectionStage.MAPPING);
+			if (stageMillis != null) {
+				mappingMillis += stageMillis;
+			}
+		}
+		long propertyCharacters = 0;
+		for (AggregatedDevice aggregatedDevice : qSysReflectCommunicator.retrieveMultipleStatistics()) {
+			for (Map.Entry<String, String> property : aggregatedDevice.getProperties().entrySet()) {
+				propertyCharacters += property.getKey().length() + (property.getValue() == null ? 0 : property.getValue().length());
+			}
+		}
+		return new long[] { mappingMillis, propertyCharacters };
+	}
+
+	/**
+	 * Measure the items retrieval time of the collection cycles without and with hedged requests, against an account with a long latency tail
+	 * Expect requests to be duplicated within the hedging budget, and p99 not to grow with hedging beyond the run-to-run noise,
+	 * both runs are reported in the assertion messages
+	 */
+	@Tag("Load")
+	@Test
+	void testHedgedRequestsTailLatency() throws Exception {
+		simulator.setLatencyMedianMillis(200);
+		simulator.setLatencySigma(1.0);
+		long baselineP99 = measureItemsRetrievalP99(false);
+		long itemsRequestCount = simulator.getItemsRequestCount();
+		long hedgedP99 = measureItemsRetrievalP99(true);
+		Map<String, String> stats = ((ExtendedStatistics) qSysReflectCommunicator.getMultipleStatistics().get(0)).getStatistics();
+		long hedgedRequests = Long.parseLong(stats.get("CollectorStatistics#HedgedRequests"));
+		String measurements = String.format("Items retrieval p99: %d ms without hedging, %d ms with hedging (%d hedged requests, %s won)",
+				baselineP99, hedgedP99, hedgedRequests, stats.get("CollectorStatistics#HedgeWins"));
+		Assert.assertTrue(measurements, hedgedRequests * 100 <= (simulator.getItemsRequestCount() - itemsRequestCount - hedgedRequests) * 5);
+		Assert.assertTrue(measurements, hedgedRequests > 0);
+		// two runs of a lognormal latency tail differ by more than the hedging gain on some hosts, so p99 is only compared with a margin
+		Assert.assertTrue(measurements, hedgedP99 <= baselineP99 * 1.25);
+	}
+
+	/**
+	 * Re-initialize the adapter, collect data for {@link #MEASUREMENT_PHASE_MILLIS} and compute p99 of the items retrieval stage of its cycles
+	 *
+	 * @param hedgedRequests true to enable hedged requests
+	 * @return p99 of the items retrieval time in ms
+	 * @throws Exception if the adapter fails to initialize
+	 */
+	private long measureItemsRetrievalP99(boolean hedgedRequests) throws Exception {
+		qSysReflectCommunicator.destroy();
+		qSysReflectCommunicator.setMaxConnectionsPerRoute(SYSTEM_COUNT * 2);
+		qSysReflectCommunicator.setMaxConnectionsTotal(SYSTEM_COUNT * 2);
+		qSysReflectCommunicator.setItemsRetrievalInterval(10000);
+		qSysReflectCommunicator.setHedgedRequests(hedgedRequests);
+		qSysReflectCommunicator.init();
+		qSysReflectCommunicator.retrieveMultipleStatistics();
+		Thread.sleep(MEASUREMENT_PHASE_MILLIS);
+		List<Long> itemsRetrievalMillis = new ArrayList<>();
+		for (CycleRecord cycleRecord : qSysReflectCommunicator.getCycleHistory()) {
+			Long stageMillis = cycleRecord.getStageMillis().get(CollectionStage.RETRIEVE_ITEMS);
+			if (stageMillis != null) {
+				itemsRetrievalMillis.add(stageMillis);
+			}
+		}
+		Collections.sort(itemsRetrievalMillis);
+		Assert.assertFalse(itemsRetrievalMillis.isEmpty());
+		return itemsRetrievalMillis.get(Math.max(0, (int) Math.ceil(0.99 * itemsRetrievalMillis.size()) - 1));
+	}
+}
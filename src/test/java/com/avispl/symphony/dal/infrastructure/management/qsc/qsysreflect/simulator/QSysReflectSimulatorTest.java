@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2022 AVI-SPL, Inc. All Rights Reserved.
+ */
+package com.avispl.symphony.dal.infrastructure.management.qsc.qsysreflect.simulator;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.Assert;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import com.avispl.symphony.api.dal.dto.monitor.ExtendedStatistics;
+import com.avispl.symphony.api.dal.dto.monitor.aggregator.AggregatedDevice;
+import com.avispl.symphony.dal.infrastructure.management.qsc.qsysreflect.QSysReflectCommunicator;
+
+/**
+ * Test data collection of {@link QSysReflectCommunicator} against a generated account served by {@link QSysReflectSimulator}
+ *
+ * @author Harry
+ * @version 2.1.0
+ * @since 2.1.0
+ */
+class QSysReflectSimulatorTest extends AbstractSimulatorTest {
+	/**
+	 * Test retrieveMultipleStatistics against the simulated account
+	 * Expect every core and every non-core item to be reported
+	 */
+	@Tag("Mock")
+	@Test
+	void testRetrieveSimulatedFleet() throws Exception {
+		qSysReflectCommunicator.retrieveMultipleStatistics();
+		awaitNextSnapshot(qSysReflectCommunicator, 0, 30000);
+		List<AggregatedDevice> aggregatedDeviceList = qSysReflectCommunicator.retrieveMultipleStatistics();
+		Assert.assertEquals(SYSTEM_COUNT * ITEMS_PER_SYSTEM, aggregatedDeviceList.size());
+		Assert.assertEquals(SYSTEM_COUNT, simulator.getItemsRequestCount());
+
+		ExtendedStatistics extendedStatistics = (ExtendedStatistics) qSysReflectCommunicator.getMultipleStatistics().get(0);
+		Map<String, String> stats = extendedStatistics.getStatistics();
+		Assert.assertEquals("10000", stats.get("Simulated System 0#SystemId"));
+		Assert.assertEquals("SIM-CORE-0", stats.get("Simulated System 0#CoreName"));
+	}
+
+	/**
+	 * Test retrieveMultipleStatistics while the simulated account fails a share of the requests
+	 * Expect the failures to be served and the adapter to keep reporting the systems that answered
+	 */
+	@Tag("Mock")
+	@Test
+	void testRetrieveSimulatedFleetWithFaults() throws Exception {
+		simulator.setErrorRate(0.2);
+		simulator.setThrottleRate(0.1);
+		simulator.setStatusChurnRate(0.1);
+		restartSimulator();
+		long version = qSysReflectCommunicator.getSnapshotVersion();
+
+		qSysReflectCommunicator.retrieveMultipleStatistics();
+		awaitNextSnapshot(qSysReflectCommunicator, version, 30000);
+		Assert.assertTrue(simulator.getErrorCount() + simulator.getThrottledCount() > 0);
+		Assert.assertTrue(qSysReflectCommunicator.retrieveMultipleStatistics().size() <= SYSTEM_COUNT * ITEMS_PER_SYSTEM);
+	}
+
+	/**
+	 * Test filter and refresh interval changes applied to the running adapter
+	 * Expect filter changes to be published without new requests, and a shorter items interval to apply right away
+	 */
+	@Tag("Mock")
+	@Test
+	void testHotReconfiguration() throws Exception {
+		qSysReflectCommunicator.setSystemsRetrievalInterval(120000);
+		qSysReflectCommunicator.setCoresRetrievalInterval(120000);
+		qSysReflectCommunicator.setItemsRetrievalInterval(120000);
+		qSysReflectCommunicator.retrieveMultipleStatistics();
+		awaitNextSnapshot(qSysReflectCommunicator, 0, 15000);
+		Assert.assertEquals(SYSTEM_COUNT * ITEMS_PER_SYSTEM, qSysReflectCommunicator.retrieveMultipleStatistics().size());
+		long requestCount = simulator.getRequestCount();
+
+		long version = qSysReflectCommunicator.getSnapshotVersion();
+		qSysReflectCommunicator.setFilterType("Camera");
+		awaitNextSnapshot(qSysReflectCommunicator, version, 5000);
+		List<AggregatedDevice> cameras = qSysReflectCommunicator.retrieveMultipleStatistics();
+		Assert.assertFalse(cameras.isEmpty());
+		for (AggregatedDevice aggregatedDevice : cameras) {
+			Assert.assertEquals("Camera", aggregatedDevice.getProperties().get("deviceType"));
+		}
+		version = qSysReflectCommunicator.getSnapshotVersion();
+		qSysReflectCommunicator.setFilterType(null);
+		awaitNextSnapshot(qSysReflectCommunicator, version, 5000);
+		Assert.assertEquals(SYSTEM_COUNT * ITEMS_PER_SYSTEM, qSysReflectCommunicator.retrieveMultipleStatistics().size());
+		Assert.assertEquals(requestCount, simulator.getRequestCount());
+
+		qSysReflectCommunicator.setItemsRetrievalInterval(10000);
+		awaitCondition(() -> simulator.getItemsRequestCount() > SYSTEM_COUNT, 15000);
+		Assert.assertTrue(simulator.getItemsRequestCount() > SYSTEM_COUNT);
+	}
+
+	/**
+	 * Test a filter change applied through destroy and init, the way Symphony applies property changes
+	 * Expect the filtered devices to be published from the devices collected before the restart, without new requests
+	 */
+	@Tag("Mock")
+	@Test
+	void testCollectedDataKeptAcrossRestart() throws Exception {
+		qSysReflectCommunicator.setSystemsRetrievalInterval(120000);
+		qSysReflectCommunicator.setCoresRetrievalInterval(120000);
+		qSysReflectCommunicator.setItemsRetrievalInterval(120000);
+		qSysReflectCommunicator.retrieveMultipleStatistics();
+		awaitNextSnapshot(qSysReflectCommunicator, qSysReflectCommunicator.getSnapshotVersion(), 30000);
+		Assert.assertEquals(SYSTEM_COUNT * ITEMS_PER_SYSTEM, qSysReflectCommunicator.retrieveMultipleStatistics().size());
+		long requestCount = simulator.getRequestCount();
+		long version = qSysReflectCommunicator.getSnapshotVersion();
+
+		qSysReflectCommunicator.destroy();
+		qSysReflectCommunicator.setFilterType("Camera");
+		qSysReflectCommunicator.init();
+		qSysReflectCommunicator.retrieveMultipleStatistics();
+		awaitNextSnapshot(qSysReflectCommunicator, version, 10000);
+		List<AggregatedDevice> cameras = qSysReflectCommunicator.retrieveMultipleStatistics();
+		Assert.assertFalse(cameras.isEmpty());
+		for (AggregatedDevice aggregatedDevice : cameras) {
+			Assert.assertEquals("Camera", aggregatedDevice.getProperties().get("deviceType"));
+		}
+		Assert.assertEquals(requestCount, simulator.getRequestCount());
+	}
+
+	/**
+	 * Test retrieveMultipleStatistics with the device properties projected on the firmware version
+	 * Expect the same devices, carrying only the retained properties and the properties the filters rely on
+	 */
+	@Tag("Mock")
+	@Test
+	void testRetainedDeviceProperties() throws Exception {
+		qSysReflectCommunicator.destroy();
+		qSysReflectCommunicator.setRetainedDeviceProperties("firmwareVersion");
+		qSysReflectCommunicator.init();
+		qSysReflectCommunicator.retrieveMultipleStatistics();
+		awaitNextSnapshot(qSysReflectCommunicator, 0, 30000);
+		List<AggregatedDevice> aggregatedDevices = qSysReflectCommunicator.retrieveMultipleStatistics();
+		Assert.assertEquals(SYSTEM_COUNT * ITEMS_PER_SYSTEM, aggregatedDevices.size());
+		Set<String> retainedProperties = new HashSet<>(Arrays.asList("firmwareVersion", "deviceType", "deviceStatusMessage"));
+		for (AggregatedDevice aggregatedDevice : aggregatedDevices) {
+			Assert.assertNotNull(aggregatedDevice.getDeviceId());
+			Assert.assertNotNull(aggregatedDevice.getDeviceName());
+			Assert.assertTrue(aggregatedDevice.getProperties().keySet().toString(), retainedProperties.containsAll(aggregatedDevice.getProperties().keySet()));
+			Assert.assertNotNull(aggregatedDevice.getProperties().get("deviceStatusMessage"));
+		}
+	}
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2022 AVI-SPL, Inc. All Rights Reserved.
+ */
+package com.avispl.symphony.dal.infrastructure.management.qsc.qsysreflect.simulator;
+
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import com.avispl.symphony.api.dal.dto.monitor.ExtendedStatistics;
+import com.avispl.symphony.dal.infrastructure.management.qsc.qsysreflect.QSysReflectCommunicator;
+import com.avispl.symphony.dal.infrastructure.management.qsc.qsysreflect.utils.RequestCoalescer;
+
+/**
+ * Test {@link RequestCoalescer} with two adapters of the simulated account polling at the same time
+ *
+ * @author Harry
+ * @version 2.1.0
+ * @since 2.1.0
+ */
+class RequestCoalescerSimulatorTest extends AbstractSimulatorTest {
+	/**
+	 * Test retrieveMultipleStatistics with two adapters of the same account polling at the same time
+	 * Expect identical requests in flight to be sent to the API once
+	 */
+	@Tag("Mock")
+	@Test
+	void testRequestCoalescing() throws Exception {
+		simulator.setLatencyMedianMillis(1000);
+		simulator.setLatencySigma(0);
+		qSysReflectCommunicator.setDeviceMetaDataRetrievalTimeout(3600000);
+		restartSimulator();
+		QSysReflectCommunicator secondCommunicator = createCommunicator();
+		secondCommunicator.setDeviceMetaDataRetrievalTimeout(3600000);
+		secondCommunicator.init();
+		try {
+			long version = qSysReflectCommunicator.getSnapshotVersion();
+			qSysReflectCommunicator.retrieveMultipleStatistics();
+			secondCommunicator.retrieveMultipleStatistics();
+			awaitNextSnapshot(qSysReflectCommunicator, version, 40000);
+			awaitNextSnapshot(secondCommunicator, 0, 40000);
+			Assert.assertEquals(SYSTEM_COUNT * ITEMS_PER_SYSTEM, qSysReflectCommunicator.retrieveMultipleStatistics().size());
+			Assert.assertEquals(SYSTEM_COUNT * ITEMS_PER_SYSTEM, secondCommunicator.retrieveMultipleStatistics().size());
+			Assert.assertTrue(simulator.getRequestCount() < 2 * (SYSTEM_COUNT + 2));
+
+			Map<String, String> firstStats = ((ExtendedStatistics) qSysReflectCommunicator.getMultipleStatistics().get(0)).getStatistics();
+			Map<String, String> secondStats = ((ExtendedStatistics) secondCommunicator.getMultipleStatistics().get(0)).getStatistics();
+			Assert.assertTrue(Long.parseLong(firstStats.get("CollectorStatistics#CoalescedRequests"))
+					+ Long.parseLong(secondStats.get("CollectorStatistics#CoalescedRequests")) > 0);
+		} finally {
+			secondCommunicator.destroy();
+		}
+	}
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) 2022 AVI-SPL, Inc. All Rights Reserved.
+ */
+package com.avispl.symphony.dal.infrastructure.management.qsc.qsysreflect.simulator;
+
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import com.avispl.symphony.api.dal.dto.monitor.ExtendedStatistics;
+import com.avispl.symphony.dal.infrastructure.management.qsc.qsysreflect.utils.QSysReflectConstant;
+import com.avispl.symphony.dal.infrastructure.management.qsc.qsysreflect.utils.RequestHedger;
+
+/**
+ * Test {@link RequestHedger} against a simulated account with a long latency tail
+ *
+ * @author Harry
+ * @version 2.1.0
+ * @since 2.1.0
+ */
+class RequestHedgerSimulatorTest extends AbstractSimulatorTest {
+	/**
+	 * Test retrieveMultipleStatistics with hedged requests against an account with a long latency tail
+	 * Expect every device to be reported and the duplicated requests to stay within the hedging budget
+	 */
+	@Tag("Mock")
+	@Test
+	void testHedgedRequests() throws Exception {
+		simulator.setLatencyMedianMillis(50);
+		simulator.setLatencySigma(1.5);
+		qSysReflectCommunicator.setHedgedRequests(true);
+		qSysReflectCommunicator.setItemsRetrievalInterval(10000);
+		qSysReflectCommunicator.retrieveMultipleStatistics();
+		awaitCondition(() -> simulator.getItemsRequestCount() >= 5 * SYSTEM_COUNT, 60000);
+		// the statistics are read once the items round in flight is done
+		awaitCycles(qSysReflectCommunicator.getCycleHistory().size() + 1, 15000);
+		Assert.assertEquals(SYSTEM_COUNT * ITEMS_PER_SYSTEM, qSysReflectCommunicator.retrieveMultipleStatistics().size());
+
+		Map<String, String> stats = ((ExtendedStatistics) qSysReflectCommunicator.getMultipleStatistics().get(0)).getStatistics();
+		long hedgedRequests = Long.parseLong(stats.get("CollectorStatistics#HedgedRequests"));
+		long primaryRequests = simulator.getItemsRequestCount() - hedgedRequests;
+		// the budget applies to the requests counted by the hedger, some of them are still in flight or were cancelled before reaching the simulator
+		Assert.assertTrue(String.format("%d hedged requests for %d original requests", hedgedRequests, primaryRequests),
+				hedgedRequests * 100 <= (primaryRequests + QSysReflectConstant.COLLECTION_WORKERS) * 5);
+		Assert.assertNotEquals("0", stats.get("CollectorStatistics#HedgingThreshold(ms)"));
+	}
+}
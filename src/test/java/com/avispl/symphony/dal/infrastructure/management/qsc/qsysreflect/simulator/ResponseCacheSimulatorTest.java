@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2022 AVI-SPL, Inc. All Rights Reserved.
+ */
+package com.avispl.symphony.dal.infrastructure.management.qsc.qsysreflect.simulator;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import com.avispl.symphony.api.dal.dto.monitor.ExtendedStatistics;
+import com.avispl.symphony.api.dal.dto.monitor.aggregator.AggregatedDevice;
+import com.avispl.symphony.dal.infrastructure.management.qsc.qsysreflect.QSysReflectCommunicator;
+import com.avispl.symphony.dal.infrastructure.management.qsc.qsysreflect.utils.ResponseCache;
+
+/**
+ * Test {@link ResponseCache} shared by two adapters of the simulated account
+ *
+ * @author Harry
+ * @version 2.1.0
+ * @since 2.1.0
+ */
+class ResponseCacheSimulatorTest extends AbstractSimulatorTest {
+	/**
+	 * Test retrieveMultipleStatistics with a second adapter of the same account started after the first one crawled it
+	 * Expect the second adapter to be served from the shared response cache and to apply its own filter
+	 */
+	@Tag("Mock")
+	@Test
+	void testSharedResponseCache() throws Exception {
+		qSysReflectCommunicator.setResponseCacheTtl(60000);
+		qSysReflectCommunicator.setDeviceMetaDataRetrievalTimeout(3600000);
+		qSysReflectCommunicator.retrieveMultipleStatistics();
+		awaitNextSnapshot(qSysReflectCommunicator, 0, 10000);
+		long requestCount = simulator.getRequestCount();
+		Assert.assertEquals(SYSTEM_COUNT + 2, requestCount);
+
+		QSysReflectCommunicator secondCommunicator = createCommunicator();
+		secondCommunicator.setResponseCacheTtl(60000);
+		secondCommunicator.setDeviceMetaDataRetrievalTimeout(3600000);
+		secondCommunicator.setFilterType("Camera");
+		secondCommunicator.init();
+		try {
+			secondCommunicator.retrieveMultipleStatistics();
+			awaitNextSnapshot(secondCommunicator, 0, 10000);
+			List<AggregatedDevice> aggregatedDeviceList = secondCommunicator.retrieveMultipleStatistics();
+			Assert.assertFalse(aggregatedDeviceList.isEmpty());
+			for (AggregatedDevice aggregatedDevice : aggregatedDeviceList) {
+				Assert.assertEquals("Camera", aggregatedDevice.getProperties().get("deviceType"));
+			}
+			Assert.assertEquals(requestCount, simulator.getRequestCount());
+
+			Map<String, String> stats = ((ExtendedStatistics) secondCommunicator.getMultipleStatistics().get(0)).getStatistics();
+			Assert.assertEquals(String.valueOf(SYSTEM_COUNT + 2), stats.get("CollectorStatistics#ResponseCacheHits"));
+			Assert.assertEquals("100.00", stats.get("CollectorStatistics#ResponseCacheHitRate(%)"));
+		} finally {
+			secondCommunicator.destroy();
+		}
+	}
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2022 AVI-SPL, Inc. All Rights Reserved.
+ */
+package com.avispl.symphony.dal.infrastructure.management.qsc.qsysreflect.simulator;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import com.avispl.symphony.api.dal.dto.monitor.ExtendedStatistics;
+import com.avispl.symphony.api.dal.dto.monitor.aggregator.AggregatedDevice;
+import com.avispl.symphony.dal.infrastructure.management.qsc.qsysreflect.QSysReflectCommunicator;
+
+/**
+ * Test the retrieval schedule of {@link QSysReflectCommunicator}: refresh intervals, demand mode and cycle deadline
+ *
+ * @author Harry
+ * @version 2.1.0
+ * @since 2.1.0
+ */
+class RetrievalScheduleSimulatorTest extends AbstractSimulatorTest {
+	/**
+	 * Test retrieveMultipleStatistics with separate refresh intervals for the systems, cores and items endpoints
+	 * Expect systems and cores to be refreshed again while items of every system are retrieved once
+	 */
+	@Tag("Mock")
+	@Test
+	void testRetrievalIntervals() throws Exception {
+		qSysReflectCommunicator.setSystemsRetrievalInterval(10000);
+		qSysReflectCommunicator.setCoresRetrievalInterval(10000);
+		qSysReflectCommunicator.setItemsRetrievalInterval(120000);
+		qSysReflectCommunicator.retrieveMultipleStatistics();
+		awaitCondition(() -> simulator.getRequestCount() - simulator.getItemsRequestCount() >= 4, 30000);
+		Assert.assertEquals(SYSTEM_COUNT * ITEMS_PER_SYSTEM, qSysReflectCommunicator.retrieveMultipleStatistics().size());
+		Assert.assertEquals(SYSTEM_COUNT, simulator.getItemsRequestCount());
+		Assert.assertTrue(simulator.getRequestCount() - simulator.getItemsRequestCount() >= 4);
+	}
+
+	/**
+	 * Test retrieveMultipleStatistics in demand mode after the platform requests a single device
+	 * Expect only the system that owns the device to be refreshed again
+	 */
+	@Tag("Mock")
+	@Test
+	void testDemandMode() throws Exception {
+		qSysReflectCommunicator.setDemandMode(true);
+		qSysReflectCommunicator.setItemsRetrievalInterval(10000);
+		qSysReflectCommunicator.setBackgroundRetrievalInterval(3600000);
+		qSysReflectCommunicator.retrieveMultipleStatistics();
+		awaitNextSnapshot(qSysReflectCommunicator, 0, 10000);
+		Assert.assertEquals(SYSTEM_COUNT, simulator.getItemsRequestCount());
+
+		List<AggregatedDevice> aggregatedDeviceList = qSysReflectCommunicator.retrieveMultipleStatistics(Collections.singletonList("1000001"));
+		Assert.assertEquals(1, aggregatedDeviceList.size());
+		// the system that owns the demanded device is refreshed twice while the other systems are left alone
+		awaitCondition(() -> simulator.getItemsRequestCount(10000) >= 3, 30000);
+		long itemsRequestCount = simulator.getItemsRequestCount();
+		Assert.assertTrue(itemsRequestCount > SYSTEM_COUNT);
+		Assert.assertTrue(itemsRequestCount < 2 * SYSTEM_COUNT);
+
+		ExtendedStatistics extendedStatistics = (ExtendedStatistics) qSysReflectCommunicator.getMultipleStatistics().get(0);
+		Map<String, String> stats = extendedStatistics.getStatistics();
+		Assert.assertEquals("1", stats.get("CollectorStatistics#DemandedDevices"));
+		Assert.assertEquals("1", stats.get("CollectorStatistics#DemandedSystems"));
+	}
+
+	/**
+	 * Test retrieveMultipleStatistics while the items request of one system stalls past the cycle deadline
+	 * Expect the cycle to be cut at the deadline and the devices of the other systems to be published
+	 */
+	@Tag("Mock")
+	@Test
+	void testCycleDeadline() throws Exception {
+		simulator.setStalledSystemIds(Collections.singleton(10000));
+		qSysReflectCommunicator.setCycleDeadline(10000);
+		qSysReflectCommunicator.setDeviceMetaDataRetrievalTimeout(3600000);
+		qSysReflectCommunicator.retrieveMultipleStatistics();
+		awaitNextSnapshot(qSysReflectCommunicator, 0, 15000);
+		Assert.assertEquals((SYSTEM_COUNT - 1) * ITEMS_PER_SYSTEM + 1, qSysReflectCommunicator.retrieveMultipleStatistics().size());
+
+		Map<String, String> stats = ((ExtendedStatistics) qSysReflectCommunicator.getMultipleStatistics().get(0)).getStatistics();
+		Assert.assertNotEquals("0", stats.get("CollectorStatistics#DeadlineExceededCycles"));
+		Assert.assertEquals("Closed", stats.get("Simulated System 0#ItemsCircuitState"));
+	}
+}
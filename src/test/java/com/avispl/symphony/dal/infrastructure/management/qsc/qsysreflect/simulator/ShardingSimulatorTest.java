@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2022 AVI-SPL, Inc. All Rights Reserved.
+ */
+package com.avispl.symphony.dal.infrastructure.management.qsc.qsysreflect.simulator;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.Assert;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import com.avispl.symphony.api.dal.dto.monitor.ExtendedStatistics;
+import com.avispl.symphony.api.dal.dto.monitor.aggregator.AggregatedDevice;
+import com.avispl.symphony.api.dal.error.ResourceNotReachableException;
+import com.avispl.symphony.dal.infrastructure.management.qsc.qsysreflect.QSysReflectCommunicator;
+
+/**
+ * Test sharding of the simulated account between two adapters
+ *
+ * @author Harry
+ * @version 2.1.0
+ * @since 2.1.0
+ */
+class ShardingSimulatorTest extends AbstractSimulatorTest {
+	/**
+	 * Test retrieveMultipleStatistics with the account split between two adapters
+	 * Expect every device to be reported by exactly one adapter and the system statistics to be reported by both
+	 */
+	@Tag("Mock")
+	@Test
+	void testSharding() throws Exception {
+		QSysReflectCommunicator secondCommunicator = createCommunicator();
+		secondCommunicator.setShardIndex(1);
+		secondCommunicator.setShardCount(2);
+		secondCommunicator.init();
+		try {
+			qSysReflectCommunicator.destroy();
+			qSysReflectCommunicator.setShardIndex(0);
+			qSysReflectCommunicator.setShardCount(2);
+			qSysReflectCommunicator.init();
+			long version = qSysReflectCommunicator.getSnapshotVersion();
+
+			qSysReflectCommunicator.retrieveMultipleStatistics();
+			secondCommunicator.retrieveMultipleStatistics();
+			awaitNextSnapshot(qSysReflectCommunicator, version, 30000);
+			awaitNextSnapshot(secondCommunicator, 0, 30000);
+			Set<String> deviceIds = new HashSet<>();
+			List<AggregatedDevice> firstShardDevices = qSysReflectCommunicator.retrieveMultipleStatistics();
+			List<AggregatedDevice> secondShardDevices = secondCommunicator.retrieveMultipleStatistics();
+			Assert.assertFalse(firstShardDevices.isEmpty());
+			Assert.assertFalse(secondShardDevices.isEmpty());
+			for (AggregatedDevice aggregatedDevice : firstShardDevices) {
+				deviceIds.add(aggregatedDevice.getDeviceId());
+			}
+			for (AggregatedDevice aggregatedDevice : secondShardDevices) {
+				Assert.assertTrue(deviceIds.add(aggregatedDevice.getDeviceId()));
+			}
+			Assert.assertEquals(SYSTEM_COUNT * ITEMS_PER_SYSTEM, deviceIds.size());
+			Assert.assertEquals(SYSTEM_COUNT, simulator.getItemsRequestCount());
+
+			Map<String, String> firstShardStats = ((ExtendedStatistics) qSysReflectCommunicator.getMultipleStatistics().get(0)).getStatistics();
+			Map<String, String> secondShardStats = ((ExtendedStatistics) secondCommunicator.getMultipleStatistics().get(0)).getStatistics();
+			for (int i = 0; i < SYSTEM_COUNT; i++) {
+				String modelKey = "Simulated System " + i + "#Model";
+				Assert.assertNotNull(firstShardStats.get(modelKey));
+				Assert.assertEquals(firstShardStats.get(modelKey), secondShardStats.get(modelKey));
+			}
+			Assert.assertEquals(String.valueOf(SYSTEM_COUNT), String.valueOf(Integer.parseInt(firstShardStats.get("CollectorStatistics#ShardSystems"))
+					+ Integer.parseInt(secondShardStats.get("CollectorStatistics#ShardSystems"))));
+			Assert.assertEquals(String.valueOf(firstShardDevices.size()), firstShardStats.get("FleetStatistics#Devices"));
+			Assert.assertEquals(String.valueOf(secondShardDevices.size()), secondShardStats.get("FleetStatistics#Devices"));
+			Assert.assertEquals(firstShardStats.get("CollectorStatistics#ShardSystems"), firstShardStats.get("FleetStatistics#Systems"));
+			Assert.assertEquals(secondShardStats.get("CollectorStatistics#ShardSystems"), secondShardStats.get("FleetStatistics#Systems"));
+		} finally {
+			secondCommunicator.destroy();
+		}
+	}
+
+	/**
+	 * Test an adapter given a shard index out of the range of the shard count
+	 * Expect the adapter to report the misconfiguration instead of collecting another shard
+	 */
+	@Tag("Mock")
+	@Test
+	void testShardIndexOutOfRange() throws Exception {
+		qSysReflectCommunicator.destroy();
+		qSysReflectCommunicator.setShardIndex(2);
+		qSysReflectCommunicator.setShardCount(2);
+		qSysReflectCommunicator.init();
+
+		Assert.assertTrue(qSysReflectCommunicator.retrieveMultipleStatistics().isEmpty());
+		Assert.assertThrows(ResourceNotReachableException.class, () -> qSysReflectCommunicator.getMultipleStatistics());
+		awaitCondition(() -> simulator.getRequestCount() > 0, 1000);
+		Assert.assertEquals(0, simulator.getRequestCount());
+	}
+}
@@ -0,0 +1,364 @@
+/*
+ * Copyright (c) 2022 AVI-SPL, Inc. All Rights Reserved.
+ */
+package com.avispl.symphony.dal.infrastructure.management.qsc.qsysreflect.simulator;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Random;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+/**
+ * Generated Q-Sys Reflect account: systems, their cores and their items.
+ * The fleet is deterministic for a given seed, statuses can then be churned to simulate a live account.
+ *
+ * @author Harry
+ * @version 2.1.0
+ * @since 2.1.0
+ */
+public class SimulatedFleet {
+
+	private static final String[] CORE_MODELS = { "Core 110f", "Core 510i", "NV-32-H (Core Mode)", "Core 8 Flex" };
+	private static final String[][] ITEM_TYPES = {
+			{ "Camera", "PTZ-12x72" },
+			{ "Touch Screen", "TSC-116-G2" },
+			{ "AV Source", "Generic AV Source" },
+			{ "Amplifier", "CX-Q 2K4" },
+			{ "Display", "Generic Display" },
+			{ "Microphone", "MXA910" },
+			{ "Network Switch", "Generic Switch" }
+	};
+	private static final String[] ITEM_STATUSES = { "OK", "OK", "OK", "OK", "Missing", "Fault", "Unknown", "Idle: no device installed" };
+	private static final int SYSTEM_ID_BASE = 10000;
+	private static final int CORE_ID_BASE = 500000;
+	private static final int ITEM_ID_BASE = 1000000;
+
+	private final JsonFactory jsonFactory = new JsonFactory();
+	private final SimulatedSystem[] systems;
+	private final Random random;
+
+	/**
+	 * Simulated system, its core and its items
+	 */
+	static class SimulatedSystem {
+		int id;
+		String name;
+		String code;
+		int coreId;
+		String coreName;
+		String coreModel;
+		long designUptime;
+		String statusMessage;
+		int normal;
+		int warning;
+		int fault;
+		int unknown;
+		SimulatedItem[] items;
+	}
+
+	/**
+	 * Simulated item of a system
+	 */
+	static class SimulatedItem {
+		int id;
+		String name;
+		String type;
+		String model;
+		long startedAt;
+		String statusMessage;
+	}
+
+	/**
+	 * SimulatedFleet with args constructor
+	 *
+	 * @param systemCount number of systems in the account
+	 * @param itemsPerSystem number of items per system, including the core item
+	 * @param seed random seed
+	 */
+	public SimulatedFleet(int systemCount, int itemsPerSystem, long seed) {
+		this.random = new Random(seed);
+		this.systems = new SimulatedSystem[systemCount];
+		long now = System.currentTimeMillis();
+		for (int i = 0; i < systemCount; i++) {
+			SimulatedSystem system = new SimulatedSystem();
+			system.id = SYSTEM_ID_BASE + i;
+			system.name = "Simulated System " + i;
+			system.code = String.format("3-%032X", system.id);
+			system.coreId = CORE_ID_BASE + i;
+			system.coreName = "SIM-CORE-" + i;
+			system.coreModel = CORE_MODELS[i % CORE_MODELS.length];
+			system.designUptime = now - (long) random.nextInt(30 * 86400) * 1000;
+			system.items = new SimulatedItem[Math.max(1, itemsPerSystem)];
+			for (int j = 0; j < system.items.length; j++) {
+				SimulatedItem item = new SimulatedItem();
+				item.id = ITEM_ID_BASE + i * system.items.length + j;
+				if (j == 0) {
+					item.name = system.coreName;
+					item.type = "Core";
+					item.model = system.coreModel;
+				} else {
+					String[] itemType = ITEM_TYPES[(i + j) % ITEM_TYPES.length];
+					item.name = system.name + " " + itemType[0] + " " + j;
+					item.type = itemType[0];
+					item.model = itemType[1];
+				}
+				item.startedAt = now - (long) random.nextInt(30 * 86400) * 1000;
+				item.statusMessage = j == 0 ? "OK" : ITEM_STATUSES[random.nextInt(ITEM_STATUSES.length)];
+				system.items[j] = item;
+			}
+			updateSystemStatus(system);
+			systems[i] = system;
+		}
+	}
+
+	/**
+	 * Retrieves number of systems in the fleet
+	 *
+	 * @return number of systems
+	 */
+	public int getSystemCount() {
+		return systems.length;
+	}
+
+	/**
+	 * Retrieves total number of items in the fleet
+	 *
+	 * @return number of items
+	 */
+	public int getItemCount() {
+		int count = 0;
+		for (SimulatedSystem system : systems) {
+			count += system.items.length;
+		}
+		return count;
+	}
+
+	/**
+	 * Retrieves simulated system by its id
+	 *
+	 * @param systemId system id
+	 * @return simulated system, null if there is no such system
+	 */
+	SimulatedSystem getSystem(int systemId) {
+		int index = systemId - SYSTEM_ID_BASE;
+		return index >= 0 && index < systems.length ? systems[index] : null;
+	}
+
+	/**
+	 * Change the status of random items of the given system
+	 *
+	 * @param system simulated system
+	 * @param churnRate probability of each item to change its status
+	 */
+	void churn(SimulatedSystem system, double churnRate) {
+		if (churnRate <= 0) {
+			return;
+		}
+		synchronized (system) {
+			boolean changed = false;
+			for (int i = 1; i < system.items.length; i++) {
+				if (nextDouble() < churnRate) {
+					system.items[i].statusMessage = ITEM_STATUSES[nextInt(ITEM_STATUSES.length)];
+					changed = true;
+				}
+			}
+			if (changed) {
+				updateSystemStatus(system);
+			}
+		}
+	}
+
+	/**
+	 * Change the status of random items across the whole fleet
+	 *
+	 * @param churnRate probability of each item to change its status
+	 */
+	void churn(double churnRate) {
+		for (SimulatedSystem system : systems) {
+			churn(system, churnRate);
+		}
+	}
+
+	/**
+	 * Render the /systems response
+	 *
+	 * @return json body
+	 * @throws IOException if the body cannot be rendered
+	 */
+	String renderSystems() throws IOException {
+		StringWriter writer = new StringWriter();
+		try (JsonGenerator generator = jsonFactory.createGenerator(writer)) {
+			generator.writeStartArray();
+			for (SimulatedSystem system : systems) {
+				synchronized (system) {
+					generator.writeStartObject();
+					generator.writeNumberField("id", system.id);
+					generator.writeStringField("code", system.code);
+					generator.writeStringField("name", system.name);
+					generator.writeObjectFieldStart("status");
+					generator.writeNumberField("code", system.fault > 0 ? 2 : 0);
+					generator.writeStringField("message", system.statusMessage);
+					generator.writeObjectFieldStart("details");
+					generator.writeObjectFieldStart("items");
+					generator.writeNumberField("normal", system.normal);
+					generator.writeNumberField("warning", system.warning);
+					generator.writeNumberField("fault", system.fault);
+					generator.writeNumberField("unknown", system.unknown);
+					generator.writeEndObject();
+					generator.writeEndObject();
+					generator.writeEndObject();
+					generator.writeObjectFieldStart("design");
+					generator.writeNumberField("id", system.id * 10);
+					generator.writeStringField("name", system.name + " Design");
+					generator.writeStringField("platform", system.coreModel);
+					generator.writeNumberField("uptime", system.designUptime);
+					generator.writeEndObject();
+					generator.writeObjectFieldStart("core");
+					generator.writeNumberField("id", system.coreId);
+					generator.writeStringField("name", system.coreName);
+					generator.writeEndObject();
+					generator.writeEndObject();
+				}
+			}
+			generator.writeEndArray();
+		}
+		return writer.toString();
+	}
+
+	/**
+	 * Render the /cores response
+	 *
+	 * @return json body
+	 * @throws IOException if the body cannot be rendered
+	 */
+	String renderCores() throws IOException {
+		StringWriter writer = new StringWriter();
+		try (JsonGenerator generator = jsonFactory.createGenerator(writer)) {
+			generator.writeStartArray();
+			for (SimulatedSystem system : systems) {
+				synchronized (system) {
+					generator.writeStartObject();
+					generator.writeNumberField("id", system.coreId);
+					generator.writeStringField("serial", system.code);
+					generator.writeStringField("name", system.coreName);
+					generator.writeStringField("model", system.coreModel);
+					generator.writeStringField("firmware", "9.4.0-2203.003");
+					generator.writeNumberField("uptime", system.items[0].startedAt);
+					generator.writeObjectFieldStart("status");
+					generator.writeNumberField("code", 2);
+					generator.writeStringField("message", system.statusMessage);
+					generator.writeStringField("details", "");
+					generator.writeEndObject();
+					generator.writeObjectFieldStart("site");
+					generator.writeNumberField("id", system.id % 100);
+					generator.writeStringField("name", "Simulated Site " + system.id % 100);
+					generator.writeEndObject();
+					generator.writeEndObject();
+				}
+			}
+			generator.writeEndArray();
+		}
+		return writer.toString();
+	}
+
+	/**
+	 * Render the /systems/{id}/items response of the system with the given id
+	 *
+	 * @param systemId system id
+	 * @return json body, null if there is no such system
+	 * @throws IOException if the body cannot be rendered
+	 */
+	public String renderItems(int systemId) throws IOException {
+		SimulatedSystem system = getSystem(systemId);
+		return system == null ? null : renderItems(system);
+	}
+
+	/**
+	 * Render the /systems/{id}/items response
+	 *
+	 * @param system simulated system
+	 * @return json body
+	 * @throws IOException if the body cannot be rendered
+	 */
+	String renderItems(SimulatedSystem system) throws IOException {
+		StringWriter writer = new StringWriter();
+		try (JsonGenerator generator = jsonFactory.createGenerator(writer)) {
+			generator.writeStartArray();
+			synchronized (system) {
+				for (SimulatedItem item : system.items) {
+					generator.writeStartObject();
+					generator.writeNumberField("id", item.id);
+					generator.writeStringField("name", item.name);
+					generator.writeStringField("type", item.type);
+					generator.writeStringField("model", item.model);
+					generator.writeStringField("manufacturer", "QSC");
+					generator.writeStringField("location", "Default Location");
+					generator.writeNumberField("startedAt", item.startedAt);
+					generator.writeObjectFieldStart("status");
+					generator.writeNumberField("code", "OK".equals(item.statusMessage) ? 0 : 2);
+					generator.writeStringField("message", item.statusMessage);
+					generator.writeStringField("details", "");
+					generator.writeEndObject();
+					generator.writeEndObject();
+				}
+			}
+			generator.writeEndArray();
+		}
+		return writer.toString();
+	}
+
+	/**
+	 * Recompute system alert counters and status out of its items
+	 *
+	 * @param system simulated system
+	 */
+	private void updateSystemStatus(SimulatedSystem system) {
+		system.normal = 0;
+		system.warning = 0;
+		system.fault = 0;
+		system.unknown = 0;
+		for (SimulatedItem item : system.items) {
+			switch (item.statusMessage) {
+				case "OK":
+				case "Idle: no device installed":
+					system.normal++;
+					break;
+				case "Missing":
+					system.warning++;
+					break;
+				case "Fault":
+					system.fault++;
+					break;
+				default:
+					system.unknown++;
+					break;
+			}
+		}
+		system.statusMessage = system.fault > 0 ? "Fault" : "Running";
+	}
+
+	/**
+	 * Retrieves next random double, the generator is shared between request threads
+	 *
+	 * @return random value between 0 and 1
+	 */
+	double nextDouble() {
+		synchronized (random) {
+			return random.nextDouble();
+		}
+	}
+
+	/**
+	 * Retrieves next random int, the generator is shared between request threads
+	 *
+	 * @param bound upper bound (exclusive)
+	 * @return random value between 0 and bound
+	 */
+	int nextInt(int bound) {
+		synchronized (random) {
+			return random.nextInt(bound);
+		}
+	}
+}
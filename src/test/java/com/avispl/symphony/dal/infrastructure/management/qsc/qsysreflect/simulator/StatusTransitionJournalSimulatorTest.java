@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2022 AVI-SPL, Inc. All Rights Reserved.
+ */
+package com.avispl.symphony.dal.infrastructure.management.qsc.qsysreflect.simulator;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.junit.Assert;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import com.avispl.symphony.api.dal.dto.monitor.ExtendedStatistics;
+import com.avispl.symphony.dal.infrastructure.management.qsc.qsysreflect.dto.StatusTransition;
+import com.avispl.symphony.dal.infrastructure.management.qsc.qsysreflect.utils.StatusTransitionJournal;
+
+/**
+ * Test {@link StatusTransitionJournal} while the statuses of the simulated items keep changing
+ *
+ * @author Harry
+ * @version 2.1.0
+ * @since 2.1.0
+ */
+class StatusTransitionJournalSimulatorTest extends AbstractSimulatorTest {
+	/**
+	 * Test the status transition journal while item statuses keep changing
+	 * Expect the transitions to be written to disk, and to be read back after the adapter is restarted
+	 */
+	@Tag("Mock")
+	@Test
+	void testStatusTransitionJournal() throws Exception {
+		Path journalDirectory = Files.createTempDirectory("qsys-status-journal");
+		try {
+			simulator.setStatusChurnRate(0.5);
+			qSysReflectCommunicator.destroy();
+			qSysReflectCommunicator.setStatusJournalDirectory(journalDirectory.toString());
+			qSysReflectCommunicator.setItemsRetrievalInterval(10000);
+			qSysReflectCommunicator.init();
+			qSysReflectCommunicator.retrieveMultipleStatistics();
+			awaitCondition(() -> !qSysReflectCommunicator.retrieveStatusTransitions(1).isEmpty(), 35000);
+
+			List<StatusTransition> transitions = qSysReflectCommunicator.retrieveStatusTransitions(50);
+			Assert.assertFalse(transitions.isEmpty());
+			Assert.assertTrue(transitions.size() <= 50);
+			for (StatusTransition transition : transitions) {
+				Assert.assertNotEquals(transition.getPreviousStatus(), transition.getStatus());
+			}
+			Map<String, String> stats = ((ExtendedStatistics) qSysReflectCommunicator.getMultipleStatistics().get(0)).getStatistics();
+			Assert.assertNotEquals("0", stats.get("CollectorStatistics#StatusJournalRecords"));
+
+			qSysReflectCommunicator.destroy();
+			qSysReflectCommunicator.init();
+			List<StatusTransition> restoredTransitions = qSysReflectCommunicator.retrieveStatusTransitions(1);
+			Assert.assertEquals(1, restoredTransitions.size());
+			Assert.assertTrue(restoredTransitions.get(0).getTimestamp() >= transitions.get(transitions.size() - 1).getTimestamp());
+		} finally {
+			qSysReflectCommunicator.destroy();
+			try (Stream<Path> paths = Files.walk(journalDirectory)) {
+				paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+			}
+		}
+	}
+}
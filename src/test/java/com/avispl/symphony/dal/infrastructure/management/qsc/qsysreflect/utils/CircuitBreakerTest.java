@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2022 AVI-SPL, Inc. All Rights Reserved.
+ */
+package com.avispl.symphony.dal.infrastructure.management.qsc.qsysreflect.utils;
+
+import org.junit.Assert;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test {@link CircuitBreaker}
+ *
+ * @author Harry
+ * @version 2.1.0
+ * @since 2.1.0
+ */
+class CircuitBreakerTest {
+	private static final long BASE_BACKOFF = 1000;
+	private static final long MAX_BACKOFF = 3000;
+
+	/**
+	 * Test consecutive failures up to the threshold
+	 * Expect the circuit to open at the threshold and to reject requests until the randomized backoff elapses
+	 */
+	@Tag("Mock")
+	@Test
+	void testOpenAtFailureThreshold() {
+		CircuitBreaker circuitBreaker = new CircuitBreaker();
+		circuitBreaker.recordFailure(0, 2, BASE_BACKOFF, MAX_BACKOFF);
+		Assert.assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+		Assert.assertTrue(circuitBreaker.allowRequest(0));
+
+		circuitBreaker.recordFailure(0, 2, BASE_BACKOFF, MAX_BACKOFF);
+		Assert.assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+		Assert.assertEquals(2, circuitBreaker.getConsecutiveFailures());
+		Assert.assertTrue(circuitBreaker.getOpenUntil() >= BASE_BACKOFF / 2);
+		Assert.assertTrue(circuitBreaker.getOpenUntil() <= BASE_BACKOFF);
+		Assert.assertFalse(circuitBreaker.allowRequest(circuitBreaker.getOpenUntil() - 1));
+	}
+
+	/**
+	 * Test the half-open probe once the backoff elapsed
+	 * Expect a single probe to be let through, a failed probe to double the backoff up to the max, and a successful probe to close the circuit
+	 */
+	@Tag("Mock")
+	@Test
+	void testHalfOpenProbe() {
+		CircuitBreaker circuitBreaker = new CircuitBreaker();
+		circuitBreaker.recordFailure(0, 1, BASE_BACKOFF, MAX_BACKOFF);
+		long probeTimestamp = circuitBreaker.getOpenUntil();
+		Assert.assertTrue(circuitBreaker.allowRequest(probeTimestamp));
+		Assert.assertEquals(CircuitBreaker.State.HALF_OPEN, circuitBreaker.getState());
+		Assert.assertFalse(circuitBreaker.allowRequest(probeTimestamp));
+
+		circuitBreaker.recordFailure(probeTimestamp, 1, BASE_BACKOFF, MAX_BACKOFF);
+		Assert.assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+		Assert.assertTrue(circuitBreaker.getOpenUntil() - probeTimestamp >= BASE_BACKOFF);
+		for (int i = 0; i < 5; i++) {
+			probeTimestamp = circuitBreaker.getOpenUntil();
+			Assert.assertTrue(circuitBreaker.allowRequest(probeTimestamp));
+			circuitBreaker.recordFailure(probeTimestamp, 1, BASE_BACKOFF, MAX_BACKOFF);
+			Assert.assertTrue(circuitBreaker.getOpenUntil() - probeTimestamp <= MAX_BACKOFF);
+		}
+
+		Assert.assertTrue(circuitBreaker.allowRequest(circuitBreaker.getOpenUntil()));
+		circuitBreaker.recordSuccess();
+		Assert.assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+		Assert.assertEquals(0, circuitBreaker.getConsecutiveFailures());
+		circuitBreaker.recordFailure(0, 1, BASE_BACKOFF, MAX_BACKOFF);
+		Assert.assertTrue(circuitBreaker.getOpenUntil() <= BASE_BACKOFF);
+	}
+
+	/**
+	 * Test a half-open probe cancelled before it completed
+	 * Expect the circuit to open again without a longer backoff, so the next request is let through as a new probe
+	 */
+	@Tag("Mock")
+	@Test
+	void testCancelledProbe() {
+		CircuitBreaker circuitBreaker = new CircuitBreaker();
+		circuitBreaker.recordFailure(0, 1, BASE_BACKOFF, MAX_BACKOFF);
+		long openUntil = circuitBreaker.getOpenUntil();
+		Assert.assertTrue(circuitBreaker.allowRequest(openUntil));
+
+		circuitBreaker.recordCancellation();
+		Assert.assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+		Assert.assertEquals(openUntil, circuitBreaker.getOpenUntil());
+		Assert.assertTrue(circuitBreaker.allowRequest(openUntil));
+		Assert.assertEquals(CircuitBreaker.State.HALF_OPEN, circuitBreaker.getState());
+
+		CircuitBreaker closedCircuitBreaker = new CircuitBreaker();
+		closedCircuitBreaker.recordCancellation();
+		Assert.assertEquals(CircuitBreaker.State.CLOSED, closedCircuitBreaker.getState());
+	}
+}
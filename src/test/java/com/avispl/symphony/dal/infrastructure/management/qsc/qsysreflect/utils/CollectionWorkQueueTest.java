@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2022 AVI-SPL, Inc. All Rights Reserved.
+ */
+package com.avispl.symphony.dal.infrastructure.management.qsc.qsysreflect.utils;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Assert;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test {@link CollectionWorkQueue}
+ *
+ * @author Harry
+ * @version 2.1.0
+ * @since 2.1.0
+ */
+class CollectionWorkQueueTest {
+
+	/**
+	 * Test the collection work queue with its single worker busy
+	 * Expect tasks beyond the capacity to be rejected, and the queued tasks to run once the worker is free
+	 */
+	@Tag("Mock")
+	@Test
+	void testBoundedCapacity() throws Exception {
+		CollectionWorkQueue workQueue = new CollectionWorkQueue(1, 16);
+		CountDownLatch release = new CountDownLatch(1);
+		try {
+			workQueue.submit(() -> {
+				try {
+					release.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			});
+			AtomicInteger refreshCount = new AtomicInteger();
+			Future<?> refresh = null;
+			for (int i = 1; i <= 16; i++) {
+				refresh = workQueue.submit(refreshCount::incrementAndGet);
+			}
+			Assert.assertEquals(16, workQueue.getQueueDepth());
+			Assert.assertThrows(RejectedExecutionException.class, () -> workQueue.submit(refreshCount::incrementAndGet));
+			Assert.assertEquals(1, workQueue.getRejectedCount());
+
+			// the queued tasks wait at least this long for the busy worker
+			Thread.sleep(100);
+			release.countDown();
+			refresh.get(5, TimeUnit.SECONDS);
+			Assert.assertTrue(workQueue.getMaxWaitMillis() >= 100);
+			Assert.assertTrue(workQueue.getAverageWaitMillis() > 0);
+			Assert.assertEquals(16, refreshCount.get());
+		} finally {
+			workQueue.shutdownNow();
+		}
+	}
+
+	/**
+	 * Test a queued task cancelled before a worker picked it up
+	 * Expect the task not to run and the queue to keep serving the other tasks
+	 */
+	@Tag("Mock")
+	@Test
+	void testCancelledTask() throws Exception {
+		CollectionWorkQueue workQueue = new CollectionWorkQueue(1, 4);
+		CountDownLatch release = new CountDownLatch(1);
+		try {
+			workQueue.submit(() -> {
+				try {
+					release.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			});
+			AtomicInteger runCount = new AtomicInteger();
+			Future<?> cancelled = workQueue.submit(runCount::incrementAndGet);
+			Future<?> kept = workQueue.submit(runCount::incrementAndGet);
+			Assert.assertTrue(cancelled.cancel(true));
+
+			release.countDown();
+			kept.get(5, TimeUnit.SECONDS);
+			Assert.assertEquals(1, runCount.get());
+		} finally {
+			workQueue.shutdownNow();
+		}
+	}
+}
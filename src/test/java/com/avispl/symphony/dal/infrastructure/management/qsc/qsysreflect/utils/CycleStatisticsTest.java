@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2022 AVI-SPL, Inc. All Rights Reserved.
+ */
+package com.avispl.symphony.dal.infrastructure.management.qsc.qsysreflect.utils;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test {@link CycleStatistics}
+ *
+ * @author Harry
+ * @version 2.1.0
+ * @since 2.1.0
+ */
+class CycleStatisticsTest {
+
+	/**
+	 * Test the cycle durations once a slow cycle drops out of the history
+	 * Expect mean and max to be computed over the most recent cycles only, while every cycle is counted
+	 */
+	@Tag("Mock")
+	@Test
+	void testRollingStatisticWindow() throws Exception {
+		CycleStatistics cycleStatistics = new CycleStatistics(2);
+		cycleStatistics.startCycle();
+		Thread.sleep(300);
+		cycleStatistics.finishCycle(10);
+		Assert.assertTrue(cycleStatistics.getCycleStatistic().getMaxMillis() >= 300);
+
+		for (int i = 0; i < 2; i++) {
+			cycleStatistics.startCycle();
+			cycleStatistics.finishCycle(10);
+		}
+		Assert.assertTrue(cycleStatistics.getCycleStatistic().getMaxMillis() < 300);
+		Assert.assertTrue(cycleStatistics.getCycleStatistic().getMeanMillis() < 150);
+		Assert.assertEquals(2, cycleStatistics.getHistory().size());
+
+		Map<String, String> stats = new HashMap<>();
+		cycleStatistics.populateStatistics(stats, "CollectorStatistics");
+		Assert.assertEquals("3", stats.get("CollectorStatistics#" + QSysReflectCollectorMetric.CYCLES.getName()));
+	}
+}
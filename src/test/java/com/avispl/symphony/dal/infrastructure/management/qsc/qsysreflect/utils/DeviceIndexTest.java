@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2022 AVI-SPL, Inc. All Rights Reserved.
+ */
+package com.avispl.symphony.dal.infrastructure.management.qsc.qsysreflect.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import com.avispl.symphony.api.dal.dto.monitor.aggregator.AggregatedDevice;
+
+/**
+ * Test {@link DeviceIndex}
+ *
+ * @author Harry
+ * @version 2.1.0
+ * @since 2.1.0
+ */
+class DeviceIndexTest {
+
+	/**
+	 * Test selection with several criteria over two scopes
+	 * Expect the devices matching every criterion, ordered by scope rank and then by position in the scope
+	 */
+	@Tag("Mock")
+	@Test
+	void testSelect() {
+		DeviceIndex deviceIndex = new DeviceIndex();
+		deviceIndex.update("system-1", Arrays.asList(createDevice("1", "Camera", "OK"), createDevice("2", "Display", "OK"), createDevice("3", "Camera", "Fault")),
+				device -> Collections.singletonList("1"));
+		deviceIndex.update("system-2", Arrays.asList(createDevice("4", "Camera", "OK"), createDevice("5", "Camera", "OK")), device -> Collections.singletonList("2"));
+		Assert.assertEquals(5, deviceIndex.size());
+		Assert.assertEquals(4, deviceIndex.count(DeviceIndex.Attribute.TYPE, "Camera"));
+
+		Map<DeviceIndex.Attribute, Collection<String>> criteria = new EnumMap<>(DeviceIndex.Attribute.class);
+		criteria.put(DeviceIndex.Attribute.TYPE, Arrays.asList("Camera", "Microphone"));
+		criteria.put(DeviceIndex.Attribute.STATUS, Collections.singletonList("OK"));
+		Map<String, Integer> scopeRanks = new LinkedHashMap<>();
+		scopeRanks.put("system-2", 0);
+		scopeRanks.put("system-1", 1);
+		Assert.assertEquals(Arrays.asList("4", "5", "1"), deviceIds(deviceIndex.select(criteria, scopeRanks, null)));
+		Assert.assertEquals(Collections.singletonList("5"), deviceIds(deviceIndex.select(criteria, scopeRanks, device -> "5".equals(device.getDeviceId()))));
+
+		criteria.put(DeviceIndex.Attribute.SYSTEM, Collections.singletonList("1"));
+		Assert.assertEquals(Collections.singletonList("1"), deviceIds(deviceIndex.select(criteria, scopeRanks, null)));
+		Assert.assertEquals(Arrays.asList("4", "5", "1", "2", "3"), deviceIds(deviceIndex.select(Collections.emptyMap(), scopeRanks, null)));
+	}
+
+	/**
+	 * Test a scope update that changes the status of one device and drops another, then the removal of a scope
+	 * Expect the postings and counts to follow the published devices
+	 */
+	@Tag("Mock")
+	@Test
+	void testUpdateAndRetainScopes() {
+		DeviceIndex deviceIndex = new DeviceIndex();
+		AggregatedDevice camera = createDevice("1", "Camera", "OK");
+		deviceIndex.update("system-1", Arrays.asList(camera, createDevice("2", "Display", "OK")), device -> Collections.singletonList("1"));
+		deviceIndex.update("system-2", Collections.singletonList(createDevice("3", "Camera", "OK")), device -> Collections.singletonList("2"));
+
+		deviceIndex.update("system-1", Collections.singletonList(createDevice("1", "Camera", "Fault")), device -> Collections.singletonList("1"));
+		Assert.assertEquals(2, deviceIndex.size());
+		Assert.assertEquals(0, deviceIndex.count(DeviceIndex.Attribute.TYPE, "Display"));
+		Map<String, Integer> expectedStatusCounts = new HashMap<>();
+		expectedStatusCounts.put("OK", 1);
+		expectedStatusCounts.put("Fault", 1);
+		Assert.assertEquals(expectedStatusCounts, deviceIndex.countByValue(DeviceIndex.Attribute.STATUS));
+
+		deviceIndex.retainScopes(Collections.singleton("system-1"));
+		Assert.assertEquals(1, deviceIndex.size());
+		Assert.assertEquals(0, deviceIndex.count(DeviceIndex.Attribute.SYSTEM, "2"));
+		Assert.assertEquals(1, deviceIndex.count(DeviceIndex.Attribute.STATUS, "Fault"));
+
+		deviceIndex.clear();
+		Assert.assertEquals(0, deviceIndex.size());
+		Assert.assertTrue(deviceIndex.countByValue(DeviceIndex.Attribute.TYPE).isEmpty());
+	}
+
+	/**
+	 * Create an aggregated device with the given type and status message
+	 *
+	 * @param deviceId device id
+	 * @param type device type
+	 * @param status device status message
+	 * @return aggregated device
+	 */
+	private AggregatedDevice createDevice(String deviceId, String type, String status) {
+		AggregatedDevice aggregatedDevice = new AggregatedDevice();
+		aggregatedDevice.setDeviceId(deviceId);
+		aggregatedDevice.setDeviceModel("Model-" + type);
+		Map<String, String> properties = new HashMap<>();
+		properties.put(QSysReflectConstant.DEVICE_TYPE, type);
+		properties.put(QSysReflectConstant.DEVICE_STATUS_MESSAGE, status);
+		aggregatedDevice.setProperties(properties);
+		return aggregatedDevice;
+	}
+
+	/**
+	 * Retrieves ids of the given devices
+	 *
+	 * @param devices aggregated devices
+	 * @return device ids, in the order of the devices
+	 */
+	private List<String> deviceIds(List<AggregatedDevice> devices) {
+		List<String> deviceIds = new ArrayList<>();
+		for (AggregatedDevice device : devices) {
+			deviceIds.add(device.getDeviceId());
+		}
+		return deviceIds;
+	}
+}
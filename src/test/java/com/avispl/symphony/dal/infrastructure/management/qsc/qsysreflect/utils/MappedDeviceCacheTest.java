@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2022 AVI-SPL, Inc. All Rights Reserved.
+ */
+package com.avispl.symphony.dal.infrastructure.management.qsc.qsysreflect.utils;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Assert;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import com.avispl.symphony.api.dal.dto.monitor.aggregator.AggregatedDevice;
+import com.avispl.symphony.dal.aggregator.parser.AggregatedDeviceProcessor;
+import com.avispl.symphony.dal.aggregator.parser.PropertiesMappingParser;
+import com.avispl.symphony.dal.infrastructure.management.qsc.qsysreflect.QSysReflectCommunicator;
+import com.avispl.symphony.dal.infrastructure.management.qsc.qsysreflect.simulator.SimulatedFleet;
+
+/**
+ * Test {@link MappedDeviceCache}
+ *
+ * @author Harry
+ * @version 2.1.0
+ * @since 2.1.0
+ */
+class MappedDeviceCacheTest {
+
+	/**
+	 * Test mapping of a large items list in parallel chunks
+	 * Expect the same devices in the same order as the serial mapping, and unchanged records to be skipped by the next mapping
+	 */
+	@Tag("Mock")
+	@Test
+	void testParallelMapping() throws Exception {
+		JsonNode items = renderSimulatedItems(1000);
+		List<AggregatedDeviceProcessor> modelProcessors = createItemProcessors();
+		List<AggregatedDevice> serialDevices = new MappedDeviceCache().extractDevices("system-1", items, modelProcessors);
+		ForkJoinPool mappingPool = new ForkJoinPool(4);
+		try {
+			MappedDeviceCache mappedDeviceCache = new MappedDeviceCache();
+			List<AggregatedDevice> parallelDevices = mappedDeviceCache.extractDevices("system-1", items, modelProcessors, mappingPool, 256);
+			Assert.assertEquals(serialDevices.size(), parallelDevices.size());
+			for (int i = 0; i < serialDevices.size(); i++) {
+				Assert.assertEquals(serialDevices.get(i).getDeviceId(), parallelDevices.get(i).getDeviceId());
+				Assert.assertEquals(serialDevices.get(i).getProperties(), parallelDevices.get(i).getProperties());
+			}
+			Assert.assertEquals(1, mappedDeviceCache.getParallelMappedCount());
+
+			mappedDeviceCache.extractDevices("system-1", items, modelProcessors, mappingPool, 256);
+			Assert.assertEquals(items.size(), mappedDeviceCache.getSkippedCount());
+		} finally {
+			mappingPool.shutdownNow();
+		}
+	}
+
+	/**
+	 * Test scopes dropped from the cache, the way the devices of removed systems are dropped
+	 * Expect the records of a retained scope to be skipped by the next mapping, and the records of a dropped scope to be mapped again
+	 */
+	@Tag("Mock")
+	@Test
+	void testRetainScopes() throws Exception {
+		JsonNode items = renderSimulatedItems(10);
+		List<AggregatedDeviceProcessor> modelProcessors = createItemProcessors();
+		MappedDeviceCache mappedDeviceCache = new MappedDeviceCache();
+		mappedDeviceCache.extractDevices("system-1", items, modelProcessors);
+		mappedDeviceCache.extractDevices("system-2", items, modelProcessors);
+		Assert.assertEquals(2 * items.size(), mappedDeviceCache.getMappedCount());
+
+		mappedDeviceCache.retainScopes(Collections.singleton("system-1"));
+		mappedDeviceCache.extractDevices("system-1", items, modelProcessors);
+		mappedDeviceCache.extractDevices("system-2", items, modelProcessors);
+		Assert.assertEquals(items.size(), mappedDeviceCache.getSkippedCount());
+		Assert.assertEquals(3 * items.size(), mappedDeviceCache.getMappedCount());
+	}
+
+	/**
+	 * Measure the mapping time of items lists of growing size, serial and in parallel chunks
+	 * Expect both mappings to return the devices, and the parallel mapping of the largest list to beat the serial one on a multi-core host.
+	 * On a single-core host the chunks run one after the other, so only the splitting overhead is bounded.
+	 * The median times of every size are reported in the assertion message.
+	 */
+	@Tag("Load")
+	@Test
+	void testParallelMappingCrossover() throws Exception {
+		List<AggregatedDeviceProcessor> modelProcessors = createItemProcessors();
+		ForkJoinPool mappingPool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+		try {
+			StringBuilder measurements = new StringBuilder(String.format("Mapping on %d processors:", mappingPool.getParallelism()));
+			long serialMicros = 0;
+			long parallelMicros = 0;
+			for (int itemCount = 64; itemCount <= 4096; itemCount *= 2) {
+				JsonNode items = renderSimulatedItems(itemCount);
+				serialMicros = measureMappingMicros(items, modelProcessors, null);
+				parallelMicros = measureMappingMicros(items, modelProcessors, mappingPool);
+				measurements.append(String.format(" %d items %d us serial %d us parallel;", itemCount, serialMicros, parallelMicros));
+			}
+			if (mappingPool.getParallelism() > 1) {
+				Assert.assertTrue(measurements.toString(), parallelMicros < serialMicros);
+			} else {
+				Assert.assertTrue(measurements.toString(), parallelMicros <= serialMicros * 2);
+			}
+		} finally {
+			mappingPool.shutdownNow();
+		}
+	}
+
+	/**
+	 * Measure median time of mapping every record of the items list, each run on an empty cache
+	 *
+	 * @param items items list
+	 * @param modelProcessors processors of the items mapping
+	 * @param mappingPool pool mapping the items in parallel chunks, null to map them serially
+	 * @return median mapping time in microseconds
+	 */
+	private long measureMappingMicros(JsonNode items, List<AggregatedDeviceProcessor> modelProcessors, ForkJoinPool mappingPool) {
+		List<Long> samples = new ArrayList<>();
+		for (int run = 0; run < 9; run++) {
+			MappedDeviceCache mappedDeviceCache = new MappedDeviceCache();
+			long start = System.nanoTime();
+			List<AggregatedDevice> aggregatedDevices = mappedDeviceCache.extractDevices("system-1", items, modelProcessors, mappingPool, 0);
+			long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start);
+			Assert.assertFalse(aggregatedDevices.isEmpty());
+			// the first runs warm up the JIT
+			if (run >= 3) {
+				samples.add(micros);
+			}
+		}
+		Collections.sort(samples);
+		return samples.get(samples.size() / 2);
+	}
+
+	/**
+	 * Render the items list of a single simulated system
+	 *
+	 * @param itemCount number of items
+	 * @return items list
+	 * @throws IOException if the items list cannot be rendered
+	 */
+	private JsonNode renderSimulatedItems(int itemCount) throws IOException {
+		SimulatedFleet fleet = new SimulatedFleet(1, itemCount, itemCount);
+		return new ObjectMapper().readTree(fleet.renderItems(10000));
+	}
+
+	/**
+	 * Create the processors the adapter maps the items lists with
+	 *
+	 * @return model processors
+	 * @throws IOException if the mapping file cannot be loaded
+	 */
+	private List<AggregatedDeviceProcessor> createItemProcessors() throws IOException {
+		return MappedDeviceCache.createModelProcessors(
+				new PropertiesMappingParser().loadYML(QSysReflectConstant.MODEL_MAPPING_OTHER_THAN_QSYS_CORE, QSysReflectCommunicator.class));
+	}
+}
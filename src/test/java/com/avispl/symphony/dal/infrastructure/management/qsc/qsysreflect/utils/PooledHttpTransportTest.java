@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2022 AVI-SPL, Inc. All Rights Reserved.
+ */
+package com.avispl.symphony.dal.infrastructure.management.qsc.qsysreflect.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Assert;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test {@link PooledHttpTransport}
+ *
+ * @author Harry
+ * @version 2.1.0
+ * @since 2.1.0
+ */
+class PooledHttpTransportTest {
+
+	/**
+	 * Test asynchronous requests beyond the connections of the transport
+	 * Expect no more requests running at once than connections, requests beyond the queue to be rejected, and every queued request to complete
+	 */
+	@Tag("Mock")
+	@Test
+	void testBoundedAsyncRequests() throws Exception {
+		PooledHttpTransport transport = new PooledHttpTransport(2, 2, 1000, 60000, false, null, null, 4);
+		CountDownLatch release = new CountDownLatch(1);
+		AtomicInteger running = new AtomicInteger();
+		AtomicInteger maxRunning = new AtomicInteger();
+		long deadline = System.currentTimeMillis() + 10000;
+		try {
+			List<CompletableFuture<Integer>> responses = new ArrayList<>();
+			for (int i = 0; i < 6; i++) {
+				int request = i;
+				responses.add(transport.callAsync(deadline, () -> {
+					maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+					try {
+						release.await();
+					} finally {
+						running.decrementAndGet();
+					}
+					return request;
+				}));
+			}
+			Assert.assertEquals(4, transport.getQueuedRequestCount());
+			Assert.assertThrows(RejectedExecutionException.class, () -> transport.callAsync(deadline, () -> 6));
+
+			release.countDown();
+			for (int i = 0; i < responses.size(); i++) {
+				Assert.assertEquals(i, (int) responses.get(i).get(5, TimeUnit.SECONDS));
+			}
+			Assert.assertEquals(2, maxRunning.get());
+		} finally {
+			transport.close();
+		}
+	}
+
+	/**
+	 * Test asynchronous requests still queued at their deadline, and when the transport is closed
+	 * Expect a request past its deadline to time out without being sent, and the requests queued at closing to be cancelled
+	 */
+	@Tag("Mock")
+	@Test
+	void testQueuedAsyncRequests() throws Exception {
+		PooledHttpTransport transport = new PooledHttpTransport(1, 1, 1000, 60000, false, null, null, 4);
+		CountDownLatch release = new CountDownLatch(1);
+		AtomicInteger sentCount = new AtomicInteger();
+		try {
+			CompletableFuture<Integer> busy = transport.callAsync(System.currentTimeMillis() + 10000, () -> {
+				release.await();
+				return 0;
+			});
+			CompletableFuture<Integer> late = transport.callAsync(System.currentTimeMillis() + 100, sentCount::incrementAndGet);
+			Thread.sleep(200);
+			release.countDown();
+			busy.get(5, TimeUnit.SECONDS);
+			try {
+				late.get(5, TimeUnit.SECONDS);
+				Assert.fail("Request past its deadline was sent");
+			} catch (ExecutionException e) {
+				Assert.assertTrue(e.getCause() instanceof TimeoutException);
+			}
+			Assert.assertEquals(0, sentCount.get());
+
+			CountDownLatch closing = new CountDownLatch(1);
+			transport.callAsync(System.currentTimeMillis() + 10000, () -> {
+				closing.await();
+				return 0;
+			});
+			CompletableFuture<Integer> queued = transport.callAsync(System.currentTimeMillis() + 10000, sentCount::incrementAndGet);
+			transport.close();
+			Assert.assertTrue(queued.isCancelled());
+			Assert.assertEquals(0, sentCount.get());
+		} finally {
+			transport.close();
+		}
+	}
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2022 AVI-SPL, Inc. All Rights Reserved.
+ */
+package com.avispl.symphony.dal.infrastructure.management.qsc.qsysreflect.utils;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.Assert;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test {@link RequestCoalescer}
+ *
+ * @author Harry
+ * @version 2.1.0
+ * @since 2.1.0
+ */
+class RequestCoalescerTest {
+
+	/**
+	 * Test identical requests while the first one is in flight
+	 * Expect a caller with time left to share the result, and a caller past its deadline to stop waiting
+	 */
+	@Tag("Mock")
+	@Test
+	void testWaitBoundedByDeadline() throws Exception {
+		RequestCoalescer requestCoalescer = new RequestCoalescer();
+		CountDownLatch requestStarted = new CountDownLatch(1);
+		CountDownLatch releaseRequest = new CountDownLatch(1);
+		ExecutorService executorService = Executors.newFixedThreadPool(2);
+		try {
+			Future<String> original = executorService.submit(() -> requestCoalescer.execute("key", Long.MAX_VALUE, () -> {
+				requestStarted.countDown();
+				releaseRequest.await();
+				return "response";
+			}));
+			Assert.assertTrue(requestStarted.await(5, TimeUnit.SECONDS));
+			Future<String> coalesced = executorService.submit(() -> requestCoalescer.execute("key", System.currentTimeMillis() + 10000, () -> "duplicate"));
+			while (requestCoalescer.getCoalescedCount() == 0) {
+				Thread.sleep(10);
+			}
+
+			long startedAt = System.currentTimeMillis();
+			Assert.assertThrows(TimeoutException.class, () -> requestCoalescer.execute("key", System.currentTimeMillis() + 200, () -> "duplicate"));
+			Assert.assertTrue(System.currentTimeMillis() - startedAt < 5000);
+
+			releaseRequest.countDown();
+			Assert.assertEquals("response", original.get(5, TimeUnit.SECONDS));
+			Assert.assertEquals("response", coalesced.get(5, TimeUnit.SECONDS));
+			Assert.assertEquals(3, requestCoalescer.getRequestCount());
+			Assert.assertEquals(2, requestCoalescer.getCoalescedCount());
+		} finally {
+			executorService.shutdownNow();
+		}
+	}
+
+	/**
+	 * Test identical requests waiting for a request in flight that fails, before and after the deadline of its caller
+	 * Expect a failure before that deadline to be shared, and a caller with time left to send the request again
+	 * when the request in flight fails on the deadline of its caller
+	 */
+	@Tag("Mock")
+	@Test
+	void testLeaderDeadlineFailure() throws Exception {
+		RequestCoalescer requestCoalescer = new RequestCoalescer();
+		CountDownLatch requestStarted = new CountDownLatch(1);
+		CountDownLatch releaseRequest = new CountDownLatch(1);
+		ExecutorService executorService = Executors.newFixedThreadPool(2);
+		try {
+			Future<String> failing = executorService.submit(() -> requestCoalescer.execute("key", System.currentTimeMillis() + 10000, () -> {
+				requestStarted.countDown();
+				releaseRequest.await();
+				throw new IOException("failure");
+			}));
+			Assert.assertTrue(requestStarted.await(5, TimeUnit.SECONDS));
+			Future<String> sharedFailure = executorService.submit(() -> requestCoalescer.execute("key", System.currentTimeMillis() + 10000, () -> "retried"));
+			while (requestCoalescer.getCoalescedCount() == 0) {
+				Thread.sleep(10);
+			}
+			releaseRequest.countDown();
+			for (Future<String> future : Arrays.asList(failing, sharedFailure)) {
+				try {
+					future.get(5, TimeUnit.SECONDS);
+					Assert.fail("Failure of the request in flight was not shared");
+				} catch (ExecutionException e) {
+					Assert.assertTrue(e.getCause() instanceof IOException);
+				}
+			}
+
+			CountDownLatch leaderStarted = new CountDownLatch(1);
+			long leaderDeadline = System.currentTimeMillis() + 300;
+			Future<String> timedOut = executorService.submit(() -> requestCoalescer.execute("key", leaderDeadline, () -> {
+				leaderStarted.countDown();
+				Thread.sleep(Math.max(0, leaderDeadline - System.currentTimeMillis()));
+				throw new TimeoutException("deadline");
+			}));
+			Assert.assertTrue(leaderStarted.await(5, TimeUnit.SECONDS));
+			Assert.assertEquals("retried", requestCoalescer.execute("key", System.currentTimeMillis() + 10000, () -> "retried"));
+			try {
+				timedOut.get(5, TimeUnit.SECONDS);
+				Assert.fail("Request past its deadline succeeded");
+			} catch (ExecutionException e) {
+				Assert.assertTrue(e.getCause() instanceof TimeoutException);
+			}
+			Assert.assertEquals(4, requestCoalescer.getRequestCount());
+			Assert.assertEquals(1, requestCoalescer.getCoalescedCount());
+		} finally {
+			executorService.shutdownNow();
+		}
+	}
+}
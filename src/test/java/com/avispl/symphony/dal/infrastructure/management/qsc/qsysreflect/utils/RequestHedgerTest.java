@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2022 AVI-SPL, Inc. All Rights Reserved.
+ */
+package com.avispl.symphony.dal.infrastructure.management.qsc.qsysreflect.utils;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Assert;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test {@link RequestHedger}
+ *
+ * @author Harry
+ * @version 2.1.0
+ * @since 2.1.0
+ */
+class RequestHedgerTest {
+
+	/**
+	 * Test a request slower than the hedging threshold, whose duplicate responds right away
+	 * Expect the duplicate to win, and the response time of the original request, not the one of the duplicate, to be sampled
+	 */
+	@Tag("Mock")
+	@Test
+	void testPrimaryLatencySampled() throws Exception {
+		RequestHedger requestHedger = new RequestHedger();
+		ExecutorService executorService = Executors.newFixedThreadPool(4);
+		try {
+			for (int i = 0; i < QSysReflectConstant.MIN_HEDGING_SAMPLES; i++) {
+				requestHedger.execute(() -> {
+					Thread.sleep(20);
+					return "response";
+				}, executorService, 99, 100);
+			}
+			long thresholdMillis = requestHedger.getThresholdMillis(99);
+			Assert.assertTrue(thresholdMillis < 500);
+
+			AtomicInteger calls = new AtomicInteger();
+			long startedAt = System.currentTimeMillis();
+			Assert.assertEquals("duplicate", requestHedger.execute(() -> {
+				if (calls.incrementAndGet() == 1) {
+					Thread.sleep(1000);
+					return "response";
+				}
+				return "duplicate";
+			}, executorService, 99, 100));
+			Assert.assertTrue(System.currentTimeMillis() - startedAt < 1000);
+			Assert.assertEquals(1, requestHedger.getHedgedCount());
+			Assert.assertEquals(1, requestHedger.getHedgeWinCount());
+
+			// the original request is left to respond, and its response time becomes the largest sample
+			long deadline = System.currentTimeMillis() + 5000;
+			while (requestHedger.getThresholdMillis(99) < 1000 && System.currentTimeMillis() < deadline) {
+				Thread.sleep(50);
+			}
+			Assert.assertTrue(requestHedger.getThresholdMillis(99) >= 1000);
+		} finally {
+			executorService.shutdownNow();
+		}
+	}
+
+	/**
+	 * Test requests hedged on an executor with a single thread and no queue
+	 * Expect a request rejected by the busy executor to run on the calling thread, and a rejected duplicate not to be counted
+	 */
+	@Tag("Mock")
+	@Test
+	void testBoundedExecutor() throws Exception {
+		RequestHedger requestHedger = new RequestHedger();
+		ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 60, TimeUnit.SECONDS, new SynchronousQueue<>());
+		CountDownLatch release = new CountDownLatch(1);
+		try {
+			executor.execute(() -> {
+				try {
+					release.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			});
+			Thread caller = Thread.currentThread();
+			for (int i = 0; i < QSysReflectConstant.MIN_HEDGING_SAMPLES; i++) {
+				Assert.assertTrue(requestHedger.execute(() -> Thread.currentThread() == caller, executor, 99, 100));
+			}
+			release.countDown();
+			while (executor.getActiveCount() > 0) {
+				Thread.sleep(10);
+			}
+
+			Assert.assertEquals("response", requestHedger.execute(() -> {
+				Thread.sleep(requestHedger.getThresholdMillis(99) + 200);
+				return "response";
+			}, executor, 99, 100));
+			Assert.assertEquals(0, requestHedger.getHedgedCount());
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+}
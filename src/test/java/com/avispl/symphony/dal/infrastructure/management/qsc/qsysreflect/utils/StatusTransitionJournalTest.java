@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2022 AVI-SPL, Inc. All Rights Reserved.
+ */
+package com.avispl.symphony.dal.infrastructure.management.qsc.qsysreflect.utils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.Assert;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import com.avispl.symphony.dal.infrastructure.management.qsc.qsysreflect.dto.StatusTransition;
+
+/**
+ * Test {@link StatusTransitionJournal}
+ *
+ * @author Harry
+ * @version 2.1.0
+ * @since 2.1.0
+ */
+class StatusTransitionJournalTest {
+	private Path journalDirectory;
+
+	@BeforeEach
+	void init() throws Exception {
+		journalDirectory = Files.createTempDirectory("qsys-status-journal");
+	}
+
+	@AfterEach
+	void destroy() throws Exception {
+		try (Stream<Path> paths = Files.walk(journalDirectory)) {
+			paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+		}
+	}
+
+	/**
+	 * Test the statuses recorded before the journal is reopened
+	 * Expect the first status recorded after the reopening to be compared to the status recorded before it
+	 */
+	@Tag("Mock")
+	@Test
+	void testLastStatusesSurviveReopening() throws Exception {
+		StatusTransitionJournal journal = new StatusTransitionJournal(journalDirectory, QSysReflectConstant.STATUS_JOURNAL_SEGMENT_SIZE, 2);
+		Assert.assertFalse(journal.recordStatus(1000, false, "System-1", "device-1", "OK"));
+		Assert.assertFalse(journal.recordStatus(1000, true, "Systems", "1", "Running"));
+		journal.close();
+
+		journal = new StatusTransitionJournal(journalDirectory, QSysReflectConstant.STATUS_JOURNAL_SEGMENT_SIZE, 2);
+		Assert.assertEquals("OK", journal.getLastStatus("System-1", "device-1"));
+		Assert.assertFalse(journal.recordStatus(2000, true, "Systems", "1", "Running"));
+		Assert.assertTrue(journal.recordStatus(2000, false, "System-1", "device-1", "Fault"));
+		journal.close();
+		Assert.assertEquals(1, journal.getWrittenCount());
+
+		journal = new StatusTransitionJournal(journalDirectory, QSysReflectConstant.STATUS_JOURNAL_SEGMENT_SIZE, 2);
+		try {
+			List<StatusTransition> transitions = journal.readLast(10);
+			Assert.assertEquals(1, transitions.size());
+			Assert.assertEquals("device-1", transitions.get(0).getId());
+			Assert.assertEquals("OK", transitions.get(0).getPreviousStatus());
+			Assert.assertEquals("Fault", transitions.get(0).getStatus());
+			Assert.assertEquals("Fault", journal.getLastStatus("System-1", "device-1"));
+		} finally {
+			journal.close();
+		}
+	}
+
+	/**
+	 * Test the statuses of removed systems and of their devices dropped before the journal is reopened
+	 * Expect only the statuses of the kept systems and scopes to be loaded back
+	 */
+	@Tag("Mock")
+	@Test
+	void testRetainedStatuses() throws Exception {
+		StatusTransitionJournal journal = new StatusTransitionJournal(journalDirectory, QSysReflectConstant.STATUS_JOURNAL_SEGMENT_SIZE, 2);
+		journal.recordStatus(1000, true, "systems", "1", "Running");
+		journal.recordStatus(1000, true, "systems", "2", "Running");
+		journal.recordStatus(1000, false, "system-1", "device-1", "OK");
+		journal.recordStatus(1000, false, "system-2", "device-2", "OK");
+		journal.retainScopes(new HashSet<>(Arrays.asList("systems", "system-1")));
+		journal.retainIds("systems", Collections.singleton("1"));
+		journal.close();
+
+		journal = new StatusTransitionJournal(journalDirectory, QSysReflectConstant.STATUS_JOURNAL_SEGMENT_SIZE, 2);
+		try {
+			Assert.assertEquals("Running", journal.getLastStatus("systems", "1"));
+			Assert.assertEquals("OK", journal.getLastStatus("system-1", "device-1"));
+			Assert.assertNull(journal.getLastStatus("systems", "2"));
+			Assert.assertNull(journal.getLastStatus("system-2", "device-2"));
+		} finally {
+			journal.close();
+		}
+	}
+
+	/**
+	 * Test a journal reopened more times than the segments it keeps, every opening appends to a new segment
+	 * Expect the oldest segments to be deleted and the transitions of the kept segments to be read back oldest first
+	 */
+	@Tag("Mock")
+	@Test
+	void testSegmentRetention() throws Exception {
+		for (int opening = 0; opening < 5; opening++) {
+			StatusTransitionJournal journal = new StatusTransitionJournal(journalDirectory, 256, 2);
+			try {
+				for (int i = 0; i < 10; i++) {
+					Assert.assertTrue(journal.record(new StatusTransition(opening * 10 + i, false, "device-" + i, "OK", "Fault")));
+				}
+			} finally {
+				journal.close();
+			}
+			Assert.assertEquals(10, journal.getWrittenCount());
+		}
+		try (Stream<Path> segments = Files.list(journalDirectory).filter(path -> path.getFileName().toString().endsWith(".journal"))) {
+			Assert.assertEquals(2, segments.count());
+		}
+
+		StatusTransitionJournal journal = new StatusTransitionJournal(journalDirectory, 256, 2);
+		try {
+			List<StatusTransition> transitions = journal.readLast(50);
+			Assert.assertEquals(20, transitions.size());
+			for (int i = 0; i < transitions.size(); i++) {
+				Assert.assertEquals(30 + i, transitions.get(i).getTimestamp());
+			}
+			Assert.assertEquals(45, journal.readLast(5).get(0).getTimestamp());
+		} finally {
+			journal.close();
+		}
+	}
+}